@@ -0,0 +1,116 @@
+package io.swagger.codegen.benchmarks;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.CodegenOperation;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exposes the stages of {@link DefaultGenerator#generate()} one by one, so that each can be measured on
+ * its own. Files go to a {@link NullGeneratorSink}.
+ */
+public class BenchmarkGenerator extends DefaultGenerator {
+    public static final File OUTPUT_DIR = new File(System.getProperty("java.io.tmpdir"), "swagger-codegen-benchmarks");
+
+    private final NullGeneratorSink sink = new NullGeneratorSink();
+
+    /**
+     * @param language name of the generator, e.g. "java"
+     * @param spec     spec as JSON, see {@link SyntheticSpec}
+     */
+    public BenchmarkGenerator(String language, String spec) {
+        CodegenConfig config = CodegenConfigLoader.forName(language);
+        config.setOutputDir(OUTPUT_DIR.getAbsolutePath());
+        opts(new ClientOptInput()
+                .opts(new ClientOpts())
+                .swagger(SyntheticSpec.parse(spec))
+                .config(config)
+                .sink(sink));
+    }
+
+    /**
+     * Run the steps {@link #generate()} takes before processing models and operations: configure the
+     * generator and flatten inline models.
+     */
+    public void prepare() {
+        configureGeneratorProperties();
+        configureSwaggerInfo();
+        new InlineModelResolver().flatten(swagger);
+    }
+
+    public CodegenConfig getConfig() {
+        return config;
+    }
+
+    public Swagger getSwagger() {
+        return swagger;
+    }
+
+    public NullGeneratorSink getNullSink() {
+        return sink;
+    }
+
+    /**
+     * @return template data of every model by model name, as {@link #generateModels} builds it before
+     * post processing
+     */
+    public Map<String, Object> buildModelBundles() {
+        Map<String, Model> definitions = swagger.getDefinitions();
+        Map<String, Object> bundles = new TreeMap<String, Object>();
+        for (Map.Entry<String, Model> entry : definitions.entrySet()) {
+            Map<String, Model> modelMap = new HashMap<String, Model>();
+            modelMap.put(entry.getKey(), entry.getValue());
+            Map<String, Object> models = processModels(config, modelMap, definitions);
+            models.put("classname", config.toModelName(entry.getKey()));
+            models.putAll(config.additionalProperties());
+            bundles.put(entry.getKey(), models);
+        }
+        return bundles;
+    }
+
+    /**
+     * @return operations by tag, as {@link #generateApis} builds them
+     */
+    public Map<String, List<CodegenOperation>> buildOperations() {
+        return processPaths(swagger.getPaths());
+    }
+
+    /**
+     * @return the compiler templates are compiled with, partials are loaded through the template cache
+     */
+    public Mustache.Compiler getCompiler() {
+        return getTemplateCompiler();
+    }
+
+    /**
+     * @param templateName template name, e.g. "model.mustache"
+     * @return source of the template of the generator
+     */
+    public String readTemplateSource(String templateName) {
+        return readTemplate(getFullTemplateFile(config, templateName));
+    }
+
+    /**
+     * @return name of the first model template of the generator
+     */
+    public String getModelTemplateName() {
+        return config.modelTemplateFiles().keySet().iterator().next();
+    }
+
+    public Template compile(String source) {
+        return getTemplateCompiler().compile(source);
+    }
+}
@@ -0,0 +1,22 @@
+package io.swagger.codegen.benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the benchmarks with the JMH command line, writing results as JSON to {@code jmh-result.json} unless
+ * another result format or file is given, so that runs can be compared by tools.
+ */
+public class Benchmarks {
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<String>(Arrays.asList(args));
+        if (!arguments.contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        Main.main(arguments.toArray(new String[arguments.size()]));
+    }
+}
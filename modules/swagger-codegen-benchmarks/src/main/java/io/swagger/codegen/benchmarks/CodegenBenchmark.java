@@ -0,0 +1,80 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenOperation;
+import io.swagger.models.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning the models and operations of a spec into template data: {@code fromModel} for every definition,
+ * {@code fromOperation} for every operation and {@code postProcessAllModels} over all models.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodegenBenchmark {
+    @Param({"java", "typescript-angular", "python", "go"})
+    public String language;
+
+    @Param({"10", "100", "500"})
+    public int resources;
+
+    private BenchmarkGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new BenchmarkGenerator(language, SyntheticSpec.json(resources));
+        generator.prepare();
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        CodegenConfig config = generator.getConfig();
+        Map<String, Model> definitions = generator.getSwagger().getDefinitions();
+        for (Map.Entry<String, Model> entry : definitions.entrySet()) {
+            blackhole.consume(config.fromModel(entry.getKey(), entry.getValue(), definitions));
+        }
+    }
+
+    @Benchmark
+    public Map<String, List<CodegenOperation>> fromOperation() {
+        return generator.buildOperations();
+    }
+
+    @Benchmark
+    public Map<String, Object> postProcessAllModels(ModelBundles bundles) {
+        return generator.getConfig().postProcessAllModels(bundles.bundles);
+    }
+
+    /**
+     * Fresh model bundles for every call, as post processing changes them.
+     */
+    @State(Scope.Thread)
+    public static class ModelBundles {
+        Map<String, Object> bundles;
+
+        @Setup(Level.Invocation)
+        public void setUp(CodegenBenchmark benchmark) {
+            bundles = benchmark.generator.buildModelBundles();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole {@link DefaultGenerator#generate()} run, from a parsed spec to files discarded by a
+ * {@link NullGeneratorSink}. Every run starts from a freshly parsed spec and a new generator, as a run
+ * changes both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GenerateBenchmark {
+    @Param({"java", "typescript-angular", "python", "go"})
+    public String language;
+
+    @Param({"10", "100", "500"})
+    public int resources;
+
+    private String spec;
+    private DefaultGenerator generator;
+
+    @Setup
+    public void setUpSpec() {
+        spec = SyntheticSpec.json(resources);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpGenerator() {
+        Swagger swagger = SyntheticSpec.parse(spec);
+        CodegenConfig config = CodegenConfigLoader.forName(language);
+        config.setOutputDir(BenchmarkGenerator.OUTPUT_DIR.getAbsolutePath());
+        generator = new DefaultGenerator();
+        generator.opts(new ClientOptInput()
+                .opts(new ClientOpts())
+                .swagger(swagger)
+                .config(config)
+                .sink(new NullGeneratorSink()));
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        return generator.generate();
+    }
+}
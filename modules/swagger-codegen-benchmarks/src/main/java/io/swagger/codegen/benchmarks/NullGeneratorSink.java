@@ -0,0 +1,52 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.GeneratorSink;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Discards generated files, so that benchmarks measure generation rather than the file system. Only the
+ * number of files and bytes is kept.
+ */
+public class NullGeneratorSink implements GeneratorSink {
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    @Override
+    public void write(File file, byte[] contents) {
+        files.incrementAndGet();
+        bytes.addAndGet(contents.length);
+    }
+
+    @Override
+    public void write(File file, InputStream contents) throws IOException {
+        byte[] buffer = new byte[8192];
+        long length = 0;
+        int read;
+        while ((read = contents.read(buffer)) != -1) {
+            length += read;
+        }
+        files.incrementAndGet();
+        bytes.addAndGet(length);
+    }
+
+    @Override
+    public boolean exists(File file) {
+        return false;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public long getFiles() {
+        return files.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+}
@@ -0,0 +1,50 @@
+package io.swagger.codegen.benchmarks;
+
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a spec, and flattening its inline models as the generator does before anything else.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+    @Param({"10", "100", "500"})
+    public int resources;
+
+    private String spec;
+
+    @Setup
+    public void setUp() {
+        spec = SyntheticSpec.json(resources);
+    }
+
+    @Benchmark
+    public Swagger parse() {
+        return SyntheticSpec.parse(spec);
+    }
+
+    @Benchmark
+    public Swagger parseAndFlatten() {
+        Swagger swagger = SyntheticSpec.parse(spec);
+        new InlineModelResolver().flatten(swagger);
+        return swagger;
+    }
+}
@@ -0,0 +1,163 @@
+package io.swagger.codegen.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds swagger 2.0 specs of a given size, shaped like the APIs generators are used for: every resource has
+ * a model and CRUD operations. Models mix scalar, enum, array, map and reference properties, every fifth model
+ * extends the previous one and each model has an inline object property, so that the
+ * {@link io.swagger.codegen.InlineModelResolver} has work to do. Resources are grouped in tags of ten.
+ */
+public class SyntheticSpec {
+    private static final int RESOURCES_PER_TAG = 10;
+
+    private SyntheticSpec() {
+    }
+
+    /**
+     * @param resources number of models, each with five operations
+     * @return the spec as JSON
+     */
+    public static String json(int resources) {
+        Map<String, Object> spec = new LinkedHashMap<String, Object>();
+        spec.put("swagger", "2.0");
+        spec.put("info", map("title", "Synthetic API", "version", "1.0.0", "description",
+                "Synthetic API with " + resources + " resources"));
+        spec.put("host", "api.example.com");
+        spec.put("basePath", "/v1");
+        spec.put("schemes", Arrays.asList("https"));
+        spec.put("consumes", Arrays.asList("application/json"));
+        spec.put("produces", Arrays.asList("application/json"));
+        spec.put("securityDefinitions", map("api_key", map("type", "apiKey", "name", "api_key", "in", "header")));
+
+        Map<String, Object> paths = new LinkedHashMap<String, Object>();
+        Map<String, Object> definitions = new LinkedHashMap<String, Object>();
+        definitions.put("Problem", object(map(
+                "code", map("type", "integer", "format", "int32"),
+                "message", map("type", "string")), "code", "message"));
+        for (int i = 0; i < resources; i++) {
+            definitions.put(modelName(i), model(i, resources));
+            addPaths(paths, i);
+        }
+        spec.put("paths", paths);
+        spec.put("definitions", definitions);
+        try {
+            return Json.mapper().writeValueAsString(spec);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param json spec as JSON
+     * @return the parsed spec
+     */
+    public static Swagger parse(String json) {
+        return new SwaggerParser().parse(json);
+    }
+
+    private static String modelName(int i) {
+        return "Resource" + i;
+    }
+
+    private static Map<String, Object> model(int i, int resources) {
+        Map<String, Object> properties = new LinkedHashMap<String, Object>();
+        properties.put("id", map("type", "integer", "format", "int64", "readOnly", true));
+        properties.put("name", map("type", "string", "minLength", 1, "maxLength", 255, "example", "name " + i));
+        properties.put("created_at", map("type", "string", "format", "date-time"));
+        properties.put("price", map("type", "number", "format", "double", "minimum", 0));
+        properties.put("is-active", map("type", "boolean", "default", true));
+        properties.put("status", map("type", "string", "enum", Arrays.asList("available", "pending", "sold"),
+                "description", "Status of resource " + i));
+        properties.put("labels", map("type", "array", "items", map("type", "string")));
+        properties.put("attributes", map("type", "object", "additionalProperties", map("type", "string")));
+        properties.put("address", object(map(
+                "street", map("type", "string"),
+                "city", map("type", "string"),
+                "zip", map("type", "string", "pattern", "^[0-9]{5}$"))));
+        if (i > 0) {
+            properties.put("owner", ref(modelName(i - 1)));
+        }
+        properties.put("related", map("type", "array", "items", ref(modelName((i * 7 + 3) % resources))));
+
+        if (i > 0 && i % 5 == 0) {
+            return map("allOf", Arrays.asList(ref(modelName(i - 1)), object(properties, "name")),
+                    "description", "Resource " + i + " extends resource " + (i - 1));
+        }
+        Map<String, Object> model = object(properties, "name");
+        model.put("description", "Resource " + i);
+        return model;
+    }
+
+    private static void addPaths(Map<String, Object> paths, int i) {
+        String name = modelName(i);
+        String tag = "group" + (i / RESOURCES_PER_TAG);
+        Map<String, Object> idParam = map("name", "id", "in", "path", "required", true, "type", "integer",
+                "format", "int64");
+        Map<String, Object> bodyParam = map("name", "body", "in", "body", "required", true, "schema", ref(name));
+        Map<String, Object> error = map("description", "unexpected error", "schema", ref("Problem"));
+
+        Map<String, Object> collection = new LinkedHashMap<String, Object>();
+        collection.put("get", operation(tag, "list" + name, "List " + name, Arrays.<Object>asList(
+                map("name", "limit", "in", "query", "type", "integer", "format", "int32", "default", 20),
+                map("name", "offset", "in", "query", "type", "integer", "format", "int32"),
+                map("name", "sort", "in", "query", "type", "string", "enum", Arrays.asList("asc", "desc")),
+                map("name", "X-Request-ID", "in", "header", "type", "string")),
+                map("200", map("description", "a page of resources", "schema", object(map(
+                        "items", map("type", "array", "items", ref(name)),
+                        "total", map("type", "integer", "format", "int64")))),
+                        "default", error)));
+        collection.put("post", operation(tag, "create" + name, "Create " + name, Arrays.<Object>asList(bodyParam),
+                map("201", map("description", "created", "schema", ref(name)), "default", error)));
+        paths.put("/resources" + i, collection);
+
+        Map<String, Object> item = new LinkedHashMap<String, Object>();
+        item.put("get", operation(tag, "get" + name, "Get " + name, Arrays.<Object>asList(idParam),
+                map("200", map("description", "the resource", "schema", ref(name)),
+                        "404", map("description", "not found"), "default", error)));
+        item.put("put", operation(tag, "update" + name, "Update " + name, Arrays.<Object>asList(idParam, bodyParam),
+                map("200", map("description", "updated", "schema", ref(name)), "default", error)));
+        item.put("delete", operation(tag, "delete" + name, "Delete " + name, Arrays.<Object>asList(idParam),
+                map("204", map("description", "deleted"), "default", error)));
+        paths.put("/resources" + i + "/{id}", item);
+    }
+
+    private static Map<String, Object> operation(String tag, String operationId, String summary,
+                                                 List<Object> parameters, Map<String, Object> responses) {
+        Map<String, Object> operation = map("tags", Arrays.asList(tag), "operationId", operationId,
+                "summary", summary, "parameters", parameters, "responses", responses);
+        List<Object> security = new ArrayList<Object>();
+        security.add(map("api_key", new ArrayList<Object>()));
+        operation.put("security", security);
+        return operation;
+    }
+
+    private static Map<String, Object> object(Map<String, Object> properties, String... required) {
+        Map<String, Object> object = map("type", "object", "properties", properties);
+        if (required.length > 0) {
+            object.put("required", Arrays.asList(required));
+        }
+        return object;
+    }
+
+    private static Map<String, Object> ref(String name) {
+        return map("$ref", "#/definitions/" + name);
+    }
+
+    private static Map<String, Object> map(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+}
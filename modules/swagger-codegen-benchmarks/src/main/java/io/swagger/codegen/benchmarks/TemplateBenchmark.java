@@ -0,0 +1,61 @@
+package io.swagger.codegen.benchmarks;
+
+import com.samskivert.mustache.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiling the model template of a generator, and rendering it for every model of a spec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateBenchmark {
+    @Param({"java", "typescript-angular", "python", "go"})
+    public String language;
+
+    @Param({"10", "100", "500"})
+    public int resources;
+
+    private BenchmarkGenerator generator;
+    private String source;
+    private Template template;
+    private Map<String, Object> bundles;
+
+    @Setup
+    public void setUp() {
+        generator = new BenchmarkGenerator(language, SyntheticSpec.json(resources));
+        generator.prepare();
+        bundles = generator.getConfig().postProcessAllModels(generator.buildModelBundles());
+        source = generator.readTemplateSource(generator.getModelTemplateName());
+        template = generator.compile(source);
+    }
+
+    @Benchmark
+    public Template compile() {
+        return generator.compile(source);
+    }
+
+    @Benchmark
+    public void execute(Blackhole blackhole) {
+        for (Object bundle : bundles.values()) {
+            blackhole.consume(template.execute(bundle));
+        }
+    }
+}
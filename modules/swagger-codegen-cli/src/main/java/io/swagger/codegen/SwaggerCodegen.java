@@ -6,6 +6,7 @@ import io.swagger.codegen.cmd.ConfigHelp;
 import io.swagger.codegen.cmd.Generate;
 import io.swagger.codegen.cmd.Langs;
 import io.swagger.codegen.cmd.Meta;
+import io.swagger.codegen.cmd.TemplateFields;
 import io.swagger.codegen.cmd.Validate;
 import io.swagger.codegen.cmd.Version;
 
@@ -30,7 +31,7 @@ public class SwaggerCodegen {
                                         version))
                         .withDefaultCommand(Langs.class)
                         .withCommands(Generate.class, Meta.class, Langs.class, Help.class,
-                                ConfigHelp.class, Validate.class, Version.class);
+                                ConfigHelp.class, Validate.class, Version.class, TemplateFields.class);
 
         builder.build().parse(args).run();
     }
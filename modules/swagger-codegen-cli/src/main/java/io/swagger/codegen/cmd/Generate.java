@@ -12,6 +12,18 @@ import org.slf4j.LoggerFactory;
 import static io.swagger.codegen.config.CodegenConfiguratorUtils.*;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -172,6 +184,32 @@ public class Generate implements Runnable {
             description = CodegenConstants.REMOVE_OPERATION_ID_PREFIX_DESC)
     private Boolean removeOperationIdPrefix;
 
+    @Option(name = {"--parallelism"}, title = "parallelism",
+            description = "number of threads used to render model and api files (1 by default)")
+    private Integer parallelism;
+
+    @Option(name = {"--incremental"}, title = "incremental generation",
+            description = "only render files whose inputs changed since the previous run, and remove files"
+                    + " that are no longer generated (tracked in .swagger-codegen/MANIFEST)")
+    private Boolean incremental;
+
+    @Option(name = {"--write-if-changed"}, title = "write if changed",
+            description = "leave files whose content did not change untouched, keeping their modification time")
+    private Boolean writeIfChanged;
+
+    @Option(name = {"--link-static-files"}, title = "link static files",
+            description = "hard link static supporting files, e.g. the gradle wrapper jar, to the files of the"
+                    + " template directory instead of copying them. Linked files must not be edited in place")
+    private Boolean linkStaticFiles;
+
+    @Option(name = {"--timings"}, title = "timings",
+            description = "print the time, allocated bytes and counts of each generation phase as JSON when done")
+    private Boolean timings;
+
+    @Option(name = {"--watch"}, title = "watch templates",
+            description = "generate again whenever a file of the template directory changes, until interrupted")
+    private Boolean watch;
+
     @Override
     public void run() {
 
@@ -273,6 +311,26 @@ public class Generate implements Runnable {
             configurator.setRemoveOperationIdPrefix(removeOperationIdPrefix);
         }
 
+        if (parallelism != null) {
+            configurator.setParallelism(parallelism);
+        }
+
+        if (incremental != null) {
+            configurator.setIncremental(incremental);
+        }
+
+        if (writeIfChanged != null) {
+            configurator.setWriteIfChanged(writeIfChanged);
+        }
+
+        if (linkStaticFiles != null) {
+            configurator.setLinkStaticFiles(linkStaticFiles);
+        }
+
+        if (timings != null) {
+            configurator.setTimings(timings);
+        }
+
         applySystemPropertiesKvpList(systemProperties, configurator);
         applyInstantiationTypesKvpList(instantiationTypes, configurator);
         applyImportMappingsKvpList(importMappings, configurator);
@@ -280,8 +338,71 @@ public class Generate implements Runnable {
         applyAdditionalPropertiesKvpList(additionalProperties, configurator);
         applyLanguageSpecificPrimitivesCsvList(languageSpecificPrimitives, configurator);
         applyReservedWordsMappingsKvpList(reservedWordsMappings, configurator);
+        generate(configurator);
+        if (Boolean.TRUE.equals(watch)) {
+            watchTemplates(configurator);
+        }
+    }
+
+    private void generate(CodegenConfigurator configurator) {
         final ClientOptInput clientOptInput = configurator.toClientOptInput();
 
-        new DefaultGenerator().opts(clientOptInput).generate();
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(clientOptInput).generate();
+        if (Boolean.TRUE.equals(timings)) {
+            System.out.println(generator.getMetrics().toJson());
+        }
+    }
+
+    /**
+     * Generate again on every change below the template directory, with a new generator, so that templates
+     * are looked up and compiled afresh.
+     */
+    private void watchTemplates(CodegenConfigurator configurator) {
+        if (!isNotEmpty(configurator.getTemplateDir())) {
+            LOG.error("--watch needs a template directory, see -t");
+            return;
+        }
+        Path root = Paths.get(configurator.getTemplateDir());
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            register(watchService, root);
+            LOG.info("Watching " + root + " for changes, press Ctrl+C to stop");
+            while (true) {
+                WatchKey key = watchService.take();
+                // let editors finish saving, and handle the changes of several files at once
+                Thread.sleep(200);
+                for (; key != null; key = watchService.poll()) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        Path changed = ((Path) key.watchable()).resolve(String.valueOf(event.context()));
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+                            register(watchService, changed);
+                        }
+                    }
+                    key.reset();
+                }
+                LOG.info("Templates changed, generating again");
+                try {
+                    generate(configurator);
+                } catch (RuntimeException e) {
+                    // e.g. a template being edited doesn't compile yet
+                    LOG.error("Generation failed", e);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Can't watch " + root, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void register(final WatchService watchService, Path folder) throws IOException {
+        Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                return FileVisitResult.CONTINUE;
+            }
+        });
     }
 }
@@ -1,12 +1,13 @@
 package io.swagger.codegen.cmd;
 
-import ch.lambdaj.collection.LambdaIterable;
+import ch.lambdaj.function.convert.Converter;
 import io.airlift.airline.Command;
-import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigDescriptor;
+import io.swagger.codegen.CodegenConfigLoader;
+
+import java.util.List;
 
-import static ch.lambdaj.Lambda.on;
 import static ch.lambdaj.collection.LambdaCollections.with;
-import static java.util.ServiceLoader.load;
 
 /**
  * User: lanwen Date: 24.03.15 Time: 20:25
@@ -15,8 +16,13 @@ import static java.util.ServiceLoader.load;
 public class Langs implements Runnable {
     @Override
     public void run() {
-        LambdaIterable<String> langs =
-                with(load(CodegenConfig.class)).extract(on(CodegenConfig.class).getName());
+        List<String> langs = with(CodegenConfigLoader.getDescriptors())
+                .convert(new Converter<CodegenConfigDescriptor, String>() {
+                    @Override
+                    public String convert(CodegenConfigDescriptor descriptor) {
+                        return descriptor.getName();
+                    }
+                });
         System.out.printf("Available languages: %s%n", langs);
     }
 }
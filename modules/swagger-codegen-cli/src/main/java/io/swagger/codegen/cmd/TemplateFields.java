@@ -0,0 +1,53 @@
+package io.swagger.codegen.cmd;
+
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.DefaultGenerator;
+
+import java.io.File;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * Lists the names the templates of a language look up, e.g. to check whether a template still refers to a field
+ * before changing how it is computed.
+ */
+@Command(name = "template-fields", description = "List the fields referenced by the templates of chosen lang")
+public class TemplateFields implements Runnable {
+
+    @Option(name = {"-l", "--lang"}, title = "language", required = true,
+            description = "language to list the template fields of")
+    private String lang;
+
+    @Option(name = {"-t", "--template-dir"}, title = "template directory",
+            description = "folder containing the template files")
+    private String templateDir;
+
+    @Option(name = {"--library"}, title = "library", description = CodegenConstants.LIBRARY_DESC)
+    private String library;
+
+    @Override
+    public void run() {
+        CodegenConfig config = CodegenConfigLoader.forName(lang);
+        if (isNotEmpty(templateDir)) {
+            config.additionalProperties().put(CodegenConstants.TEMPLATE_DIR, new File(templateDir).getAbsolutePath());
+        }
+        if (isNotEmpty(library)) {
+            config.setLibrary(library);
+        }
+        config.processOpts();
+        // nothing is written, an existing directory only avoids a warning about a missing ignore file
+        config.setOutputDir(new File(".").getAbsolutePath());
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(new ClientOptInput().opts(new ClientOpts()).config(config));
+        for (String field : generator.getTemplateFields()) {
+            System.out.println(field);
+        }
+    }
+}
@@ -487,6 +487,32 @@ public class GenerateTest {
         };
     }
 
+    @Test
+    public void testParallelism() throws Exception {
+        setupAndRunGenericTest("--parallelism", "4");
+
+        new FullVerifications() {
+            {
+                configurator.setParallelism(4);
+                times = 1;
+            }
+        };
+    }
+
+    @Test
+    public void testTimings() throws Exception {
+        setupAndRunGenericTest("--timings");
+
+        new FullVerifications() {
+            {
+                configurator.setTimings(true);
+                times = 1;
+                generator.getMetrics().toJson();
+                times = 1;
+            }
+        };
+    }
+
     private void setupAndRunTest(String specFlag, final String spec, String langFlag,
             final String lang, String outputDirFlag, final String outputDir,
             boolean configuratorFromFile, final String configFile, String... additionalParameters) {
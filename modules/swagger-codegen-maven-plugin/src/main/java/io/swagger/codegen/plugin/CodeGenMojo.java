@@ -29,16 +29,29 @@ import static io.swagger.codegen.config.CodegenConfiguratorUtils.applyReservedWo
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import io.swagger.codegen.CliOption;
 import io.swagger.codegen.ClientOptInput;
@@ -46,6 +59,7 @@ import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
 import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.util.Json;
 
 /**
  * Goal which generates client/server code from a swagger json/yaml definition.
@@ -53,6 +67,8 @@ import io.swagger.codegen.config.CodegenConfigurator;
 @Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES)
 public class CodeGenMojo extends AbstractMojo {
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
     @Parameter(name = "verbose", required = false, defaultValue = "false")
     private boolean verbose;
 
@@ -283,12 +299,53 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "withXml", required = false)
     private Boolean withXml = false;
 
+    /**
+     * Number of threads used to render model and api files.
+     */
+    @Parameter(name = "parallelism", property = "codegen.parallelism", required = false, defaultValue = "1")
+    private int parallelism = 1;
+
+    /**
+     * Only render files whose inputs changed since the previous execution, keeping the timestamps of
+     * unchanged files, and remove files that are no longer generated.
+     */
+    @Parameter(name = "incremental", property = "codegen.incremental", required = false, defaultValue = "false")
+    private boolean incremental;
+
+    /**
+     * Leave files whose content did not change untouched, so that their timestamps do not trigger a
+     * recompilation.
+     */
+    @Parameter(name = "writeIfChanged", property = "codegen.writeIfChanged", required = false, defaultValue = "false")
+    private boolean writeIfChanged;
+
+    /**
+     * Hard link static supporting files, e.g. the gradle wrapper jar, to the files of the template
+     * directory instead of copying them. Linked files must not be edited in place.
+     */
+    @Parameter(name = "linkStaticFiles", property = "codegen.linkStaticFiles", required = false, defaultValue = "false")
+    private boolean linkStaticFiles;
+
     /**
      * Skip the execution.
      */
     @Parameter(name = "skip", property = "codegen.skip", required = false, defaultValue = "false")
     private Boolean skip;
 
+    /**
+     * Skip the generation if its inputs did not change since the previous execution: the spec and the
+     * local files it references, the templates, the options, the plugin and its dependencies. Output
+     * that was deleted or edited since is generated again, and a spec read from a URL is always generated.
+     */
+    @Parameter(name = "skipIfUpToDate", property = "codegen.skipIfUpToDate", required = false, defaultValue = "true")
+    private boolean skipIfUpToDate = true;
+
+    /**
+     * Folder holding the fingerprints of the inputs of the previous executions.
+     */
+    @Parameter(name = "fingerprintDirectory", defaultValue = "${project.build.directory}/swagger-codegen")
+    private File fingerprintDirectory;
+
     /**
      * Add the output directory to the project as a source root, so that the generated java types
      * are compiled and included in the project artifact.
@@ -311,6 +368,14 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(readonly = true, required = true, defaultValue = "${project}")
     private MavenProject project;
 
+    @Parameter(readonly = true, defaultValue = "${mojoExecution}")
+    private MojoExecution mojoExecution;
+
+    @Parameter(readonly = true, defaultValue = "${plugin}")
+    private PluginDescriptor pluginDescriptor;
+
+    @Component
+    private BuildContext buildContext;
 
 
     @Override
@@ -360,6 +425,13 @@ public class CodeGenMojo extends AbstractMojo {
 
         configurator.setLang(language);
 
+        configurator.setParallelism(parallelism);
+
+        configurator.setIncremental(incremental);
+
+        configurator.setWriteIfChanged(writeIfChanged);
+        configurator.setLinkStaticFiles(linkStaticFiles);
+
         configurator.setOutputDir(output.getAbsolutePath());
 
         if (isNotEmpty(auth)) {
@@ -406,30 +478,26 @@ public class CodeGenMojo extends AbstractMojo {
             configurator.setTemplateDir(templateDirectory.getAbsolutePath());
         }
 
-        // Set generation options
+        // Set generation options. These are passed to this run only, so that several
+        // executions can run in one JVM, and system properties are not consulted.
+        configurator.setSystemPropertiesFallback(false);
         if (null != generateApis && generateApis) {
-            System.setProperty(CodegenConstants.APIS, "");
-        } else {
-            System.clearProperty(CodegenConstants.APIS);
+            configurator.addSystemProperty(CodegenConstants.APIS, "");
         }
 
         if (null != generateModels && generateModels) {
-            System.setProperty(CodegenConstants.MODELS, modelsToGenerate);
-        } else {
-            System.clearProperty(CodegenConstants.MODELS);
+            configurator.addSystemProperty(CodegenConstants.MODELS, modelsToGenerate);
         }
 
         if (null != generateSupportingFiles && generateSupportingFiles) {
-            System.setProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesToGenerate);
-        } else {
-            System.clearProperty(CodegenConstants.SUPPORTING_FILES);
+            configurator.addSystemProperty(CodegenConstants.SUPPORTING_FILES, supportingFilesToGenerate);
         }
 
-        System.setProperty(CodegenConstants.MODEL_TESTS, generateModelTests.toString());
-        System.setProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.toString());
-        System.setProperty(CodegenConstants.API_TESTS, generateApiTests.toString());
-        System.setProperty(CodegenConstants.API_DOCS, generateApiDocumentation.toString());
-        System.setProperty(CodegenConstants.WITH_XML, withXml.toString());
+        configurator.addSystemProperty(CodegenConstants.MODEL_TESTS, generateModelTests.toString());
+        configurator.addSystemProperty(CodegenConstants.MODEL_DOCS, generateModelDocumentation.toString());
+        configurator.addSystemProperty(CodegenConstants.API_TESTS, generateApiTests.toString());
+        configurator.addSystemProperty(CodegenConstants.API_DOCS, generateApiDocumentation.toString());
+        configurator.addSystemProperty(CodegenConstants.WITH_XML, withXml.toString());
 
         if (configOptions != null) {
             // Retained for backwards-compataibility with configOptions -> instantiation-types
@@ -512,6 +580,28 @@ public class CodeGenMojo extends AbstractMojo {
             }
         }
 
+        File fingerprintFile = null;
+        String options = null;
+        if (skipIfUpToDate && !configHelp) {
+            fingerprintFile = new File(fingerprintDirectory, executionId() + ".sha256");
+            options = options(configurator);
+            String fingerprint = fingerprint(options);
+            if (fingerprint != null && fingerprint.equals(readFingerprint(fingerprintFile))) {
+                getLog().info("Code generation is skipped, its inputs did not change since the previous execution.");
+                addCompileSourceRootIfConfigured();
+                return;
+            }
+            // a failed generation must not leave the fingerprint of the previous one behind
+            if (fingerprintFile.exists() && !fingerprintFile.delete()) {
+                throw new MojoExecutionException("Can't delete " + fingerprintFile);
+            }
+        }
+
+        File specFile = new File(inputSpec);
+        if (specFile.isFile()) {
+            buildContext.removeMessages(specFile);
+        }
+
         final ClientOptInput input = configurator.toClientOptInput();
         final CodegenConfig config = input.getConfig();
 
@@ -540,13 +630,105 @@ public class CodeGenMojo extends AbstractMojo {
             // I find it annoying to jump through hoops to get basic diagnostic information,
             // so let's log it in any case:
             getLog().error(e);
+            if (specFile.isFile()) {
+                buildContext.addMessage(specFile, 0, 0, "Code generation failed: " + e.getMessage(),
+                        BuildContext.SEVERITY_ERROR, e);
+            }
             throw new MojoExecutionException(
                     "Code generation failed. See above for the full exception.");
         }
+        buildContext.refresh(output);
+
+        if (options != null) {
+            // taken again, as the generation changed the output
+            String fingerprint = fingerprint(options);
+            if (fingerprint != null) {
+                writeFingerprint(fingerprintFile, fingerprint);
+            }
+        }
 
         addCompileSourceRootIfConfigured();
     }
 
+    private String executionId() {
+        return mojoExecution == null ? "default" : mojoExecution.getExecutionId();
+    }
+
+    /**
+     * @return the options of the generation, as resolved by the configurator
+     */
+    private static String options(CodegenConfigurator configurator) throws MojoExecutionException {
+        try {
+            return Json.mapper().writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                    .writeValueAsString(configurator);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Can't fingerprint the options of the code generation", e);
+        }
+    }
+
+    /**
+     * @return fingerprint of the inputs of the generation, or null if they can't all be fingerprinted
+     */
+    private String fingerprint(String options) throws MojoExecutionException {
+        try {
+            GenerationFingerprint fingerprint = new GenerationFingerprint()
+                    .add("pluginVersion", pluginDescriptor == null ? null : pluginDescriptor.getVersion())
+                    .add("options", options)
+                    .addMap("configOptions", configOptions)
+                    .addSpec(inputSpec)
+                    .addDirectory("templateDirectory", templateDirectory)
+                    .addFile(".swagger-codegen-ignore", isNotEmpty(ignoreFileOverride)
+                            ? new File(ignoreFileOverride) : new File(output, ".swagger-codegen-ignore"));
+            if (pluginDescriptor != null) {
+                // snapshots are rebuilt under the same version, and dependencies may hold custom
+                // languages and templates
+                Artifact plugin = pluginDescriptor.getPluginArtifact();
+                if (plugin != null) {
+                    fingerprint.addArtifact(plugin.getId(), plugin.getFile());
+                }
+                List<Artifact> artifacts = new ArrayList<Artifact>(pluginDescriptor.getArtifacts());
+                Collections.sort(artifacts, new Comparator<Artifact>() {
+                    @Override
+                    public int compare(Artifact a, Artifact b) {
+                        return a.getId().compareTo(b.getId());
+                    }
+                });
+                for (Artifact artifact : artifacts) {
+                    fingerprint.addArtifact(artifact.getId(), artifact.getFile());
+                }
+            }
+            // deleted or edited output is generated again
+            fingerprint.addDirectoryState("output", output, fingerprintDirectory);
+            if (!fingerprint.isComplete()) {
+                getLog().debug("The spec is read from a URL, code generation can't be skipped.");
+                return null;
+            }
+            return fingerprint.toHex();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Can't fingerprint the inputs of the code generation", e);
+        }
+    }
+
+    private static String readFingerprint(File file) throws MojoExecutionException {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            return new String(Files.readAllBytes(file.toPath()), UTF_8).trim();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Can't read " + file, e);
+        }
+    }
+
+    private static void writeFingerprint(File file, String fingerprint) throws MojoExecutionException {
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            Files.write(file.toPath(), fingerprint.getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Can't write " + file, e);
+        }
+    }
+
     private void addCompileSourceRootIfConfigured() {
         if (addCompileSourceRoot) {
             final Object sourceFolderObject =
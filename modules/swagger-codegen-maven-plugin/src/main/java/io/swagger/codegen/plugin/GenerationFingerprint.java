@@ -0,0 +1,273 @@
+package io.swagger.codegen.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SHA-256 digest of the inputs of a code generation: the spec and the local files it references with
+ * {@code $ref}, templates, options, the plugin and its dependencies. An execution whose inputs have the
+ * same fingerprint as the previous one would generate the same files. The state of the output folder is
+ * part of the fingerprint too, so that deleted or edited output is generated again.
+ */
+final class GenerationFingerprint {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    // "$ref": "pet.json#/definitions/Pet" in json, $ref: 'pet.yaml' in yaml
+    private static final Pattern REF = Pattern.compile("\\$ref[\"']?\\s*:\\s*[\"']?([^\"'#\\s,}]*)");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest digest;
+    private final Set<File> specFiles = new HashSet<File>();
+    private boolean complete = true;
+
+    GenerationFingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @param name name of the value
+     * @param value value, may be null
+     * @return this fingerprint
+     */
+    GenerationFingerprint add(String name, Object value) {
+        string(name);
+        string(value == null ? null : value.toString());
+        return this;
+    }
+
+    /**
+     * Adds the entries of a map in key order.
+     *
+     * @param name name of the map
+     * @param map map, may be null
+     * @return this fingerprint
+     */
+    GenerationFingerprint addMap(String name, Map<?, ?> map) {
+        string(name);
+        if (map == null) {
+            string(null);
+            return this;
+        }
+        Map<String, String> sorted = new TreeMap<String, String>();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            sorted.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+        }
+        string(Integer.toString(sorted.size()));
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            string(entry.getKey());
+            string(entry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Adds the content of a file, or a marker if there is no such file.
+     *
+     * @param name name of the file
+     * @param file file, may be null
+     * @return this fingerprint
+     * @throws IOException if the file can't be read
+     */
+    GenerationFingerprint addFile(String name, File file) throws IOException {
+        string(name);
+        if (file == null || !file.isFile()) {
+            string(null);
+        } else {
+            bytes(Files.readAllBytes(file.toPath()));
+        }
+        return this;
+    }
+
+    /**
+     * Adds the relative paths and contents of the files below a directory.
+     *
+     * @param name name of the directory
+     * @param directory directory, may be null
+     * @return this fingerprint
+     * @throws IOException if a file can't be read
+     */
+    GenerationFingerprint addDirectory(String name, File directory) throws IOException {
+        string(name);
+        if (directory == null || !directory.isDirectory()) {
+            string(null);
+        } else {
+            addDirectoryContent("", directory);
+        }
+        return this;
+    }
+
+    private void addDirectoryContent(String prefix, File directory) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            throw new IOException("Can't list " + directory);
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            String path = prefix + file.getName();
+            if (file.isDirectory()) {
+                addDirectoryContent(path + "/", file);
+            } else {
+                string(path);
+                bytes(Files.readAllBytes(file.toPath()));
+            }
+        }
+    }
+
+    /**
+     * Adds a jar or other artifact by its coordinates, size and modification time, without reading it.
+     *
+     * @param coordinates coordinates of the artifact
+     * @param file        file of the artifact, may be null if it isn't resolved
+     * @return this fingerprint
+     */
+    GenerationFingerprint addArtifact(String coordinates, File file) {
+        string(coordinates);
+        addState(file);
+        return this;
+    }
+
+    /**
+     * Adds the relative paths, sizes and modification times of the files below a directory, without
+     * reading them.
+     *
+     * @param name      name of the directory
+     * @param directory directory, may be null
+     * @param excluded  directory below it to leave out, e.g. the one holding the fingerprints, may be null
+     * @return this fingerprint
+     * @throws IOException if a directory can't be listed
+     */
+    GenerationFingerprint addDirectoryState(String name, File directory, File excluded) throws IOException {
+        string(name);
+        if (directory == null || !directory.isDirectory()) {
+            string(null);
+        } else {
+            addDirectoryStateOf("", directory, excluded == null ? null : excluded.getAbsoluteFile());
+        }
+        return this;
+    }
+
+    private void addDirectoryStateOf(String prefix, File directory, File excluded) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            throw new IOException("Can't list " + directory);
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            String path = prefix + file.getName();
+            if (file.isDirectory()) {
+                if (!file.getAbsoluteFile().equals(excluded)) {
+                    addDirectoryStateOf(path + "/", file, excluded);
+                }
+            } else {
+                string(path);
+                addState(file);
+            }
+        }
+    }
+
+    private void addState(File file) {
+        if (file == null || !file.isFile()) {
+            string(null);
+        } else {
+            string(file.length() + "@" + file.lastModified());
+        }
+    }
+
+    /**
+     * Adds the content of a spec and, recursively, of the local files it references. A spec read from a
+     * URL, or referencing one, makes the fingerprint incomplete, as its content may change at any time.
+     *
+     * @param inputSpec location of the spec, as URL or file
+     * @return this fingerprint
+     * @throws IOException if a file can't be read
+     */
+    GenerationFingerprint addSpec(String inputSpec) throws IOException {
+        string("inputSpec");
+        File file = new File(inputSpec);
+        if (file.isFile()) {
+            addSpecFile(file.getCanonicalFile());
+        } else {
+            complete = false;
+        }
+        return this;
+    }
+
+    private void addSpecFile(File file) throws IOException {
+        if (!specFiles.add(file)) {
+            return;
+        }
+        byte[] content = Files.readAllBytes(file.toPath());
+        string(file.getPath());
+        bytes(content);
+
+        Matcher matcher = REF.matcher(new String(content, UTF_8));
+        while (matcher.find()) {
+            String ref = matcher.group(1);
+            if (ref.isEmpty()) {
+                // reference within the same file
+                continue;
+            }
+            if (ref.contains("://")) {
+                complete = false;
+                continue;
+            }
+            File referenced = new File(file.getParentFile(), ref);
+            if (referenced.isFile()) {
+                addSpecFile(referenced.getCanonicalFile());
+            } else {
+                // e.g. a model name, which the parser looks up among the definitions
+                string(ref);
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} if an input can't be fingerprinted, e.g. a remote spec
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * @return hex encoded digest of the inputs added so far
+     */
+    String toHex() {
+        byte[] bytes = digest.digest();
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[2 * i + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private void string(String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+        } else {
+            bytes(value.getBytes(UTF_8));
+        }
+    }
+
+    private void bytes(byte[] value) {
+        // length prefixed, so that consecutive values can't be confused
+        digest.update((byte) 1);
+        digest.update(Integer.toString(value.length).getBytes(UTF_8));
+        digest.update((byte) ':');
+        digest.update(value);
+    }
+}
@@ -0,0 +1,119 @@
+package io.swagger.codegen.plugin;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GenerationFingerprintTest {
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File folder;
+
+    public GenerationFingerprintTest() throws IOException {
+        folder = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(folder);
+    }
+
+    @Test
+    public void testReferencedFilesArePartOfTheFingerprint() throws IOException {
+        File spec = write("spec.yaml", "definitions:\n  Pet:\n    $ref: 'models/pet.yaml#/Pet'\n"
+                + "  Tag:\n    $ref: '#/definitions/Pet'\n");
+        File pet = write("models/pet.yaml", "Pet:\n  $ref: \"category.yaml\"\n");
+        File category = write("models/category.yaml", "type: object\n");
+
+        String fingerprint = specFingerprint(spec);
+        assertEquals(fingerprint, specFingerprint(spec));
+
+        write(category.getPath(), "type: string\n");
+        String changedCategory = specFingerprint(spec);
+        assertDiffers(fingerprint, changedCategory);
+
+        write(pet.getPath(), "Pet:\n  type: object\n");
+        assertDiffers(changedCategory, specFingerprint(spec));
+    }
+
+    @Test
+    public void testUrlSpecsAreIncomplete() throws IOException {
+        assertFalse(new GenerationFingerprint().addSpec("http://petstore.swagger.io/v2/swagger.json").isComplete());
+
+        File spec = write("spec.json", "{\"$ref\": \"http://petstore.swagger.io/v2/pet.json\"}");
+        assertFalse(new GenerationFingerprint().addSpec(spec.getPath()).isComplete());
+
+        File local = write("local.json", "{\"$ref\": \"#/definitions/Pet\"}");
+        assertTrue(new GenerationFingerprint().addSpec(local.getPath()).isComplete());
+    }
+
+    @Test
+    public void testOptionsArePartOfTheFingerprint() {
+        String fingerprint = new GenerationFingerprint().add("options", "{\"lang\":\"java\"}")
+                .addMap("configOptions", Collections.singletonMap("dateLibrary", "java8")).toHex();
+
+        assertEquals(fingerprint, new GenerationFingerprint().add("options", "{\"lang\":\"java\"}")
+                .addMap("configOptions", Collections.singletonMap("dateLibrary", "java8")).toHex());
+        assertDiffers(fingerprint, new GenerationFingerprint().add("options", "{\"lang\":\"ruby\"}")
+                .addMap("configOptions", Collections.singletonMap("dateLibrary", "java8")).toHex());
+        assertDiffers(fingerprint, new GenerationFingerprint().add("options", "{\"lang\":\"java\"}")
+                .addMap("configOptions", Collections.singletonMap("dateLibrary", "joda")).toHex());
+        assertDiffers(fingerprint, new GenerationFingerprint().add("options", "{\"lang\":\"java\"}")
+                .addMap("configOptions", null).toHex());
+    }
+
+    @Test
+    public void testArtifactsAndOutputArePartOfTheFingerprint() throws IOException {
+        File jar = write("repo/languages-1.0.jar", "jar");
+        File output = new File(folder, "output");
+        File fingerprints = new File(output, "fingerprints");
+        File generated = write("output/src/Pet.java", "class Pet {}");
+
+        String fingerprint = stateFingerprint(jar, output, fingerprints);
+        write("output/fingerprints/default.sha256", fingerprint);
+        assertEquals(fingerprint, stateFingerprint(jar, output, fingerprints));
+
+        assertTrue(jar.setLastModified(jar.lastModified() - 10000));
+        String upgraded = stateFingerprint(jar, output, fingerprints);
+        assertDiffers(fingerprint, upgraded);
+
+        write(generated.getPath(), "class Pet { int id; }");
+        String edited = stateFingerprint(jar, output, fingerprints);
+        assertDiffers(upgraded, edited);
+
+        assertTrue(generated.delete());
+        assertDiffers(edited, stateFingerprint(jar, output, fingerprints));
+    }
+
+    private static void assertDiffers(String expected, String actual) {
+        assertFalse("both are " + actual, expected.equals(actual));
+    }
+
+    private static String specFingerprint(File spec) throws IOException {
+        GenerationFingerprint fingerprint = new GenerationFingerprint().addSpec(spec.getPath());
+        assertTrue(fingerprint.isComplete());
+        return fingerprint.toHex();
+    }
+
+    private static String stateFingerprint(File jar, File output, File excluded) throws IOException {
+        return new GenerationFingerprint().addArtifact("io.swagger:languages:jar:1.0", jar)
+                .addDirectoryState("output", output, excluded).toHex();
+    }
+
+    private File write(String path, String content) throws IOException {
+        File file = new File(path).isAbsolute() ? new File(path) : new File(folder, path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return file;
+    }
+}
@@ -1,39 +1,41 @@
 package io.swagger.codegen;
 
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.Writer;
 import java.util.Scanner;
-import java.util.regex.Pattern;
 
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public abstract class AbstractGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGenerator.class);
 
-    @SuppressWarnings("static-method")
+    private GeneratorSink sink = new FileGeneratorSink();
+    private volatile TemplateIndex templateIndex;
+
+    public GeneratorSink getSink() {
+        return sink;
+    }
+
+    /**
+     * @param sink where generated files are written to, the file system by default
+     */
+    public void setSink(GeneratorSink sink) {
+        this.sink = sink;
+    }
+
     public File writeToFile(String filename, String contents) throws IOException {
+        return writeToFile(filename, contents.getBytes("UTF-8"));
+    }
+
+    public File writeToFile(String filename, byte[] contents) throws IOException {
         LOGGER.info("writing file " + filename);
         File output = new File(filename);
-
-        if (output.getParent() != null && !new File(output.getParent()).exists()) {
-            File parent = new File(output.getParent());
-            parent.mkdirs();
-        }
-        Writer out = new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(output), "UTF-8"));
-
-        out.write(contents);
-        out.close();
+        sink.write(output, contents);
         return output;
     }
 
@@ -64,10 +66,6 @@ public abstract class AbstractGenerator {
         throw new RuntimeException("can't load template " + name);
     }
 
-    private String buildLibraryFilePath(String dir, String library, String file) {
-        return dir + File.separator + "libraries" + File.separator + library + File.separator + file;
-    }
-
     /**
      * Get the template file path with template dir prepended, and use the
      * library template if exists.
@@ -81,34 +79,21 @@ public abstract class AbstractGenerator {
         //2nd it will check for the file in the specified <template folder> folder
         //3rd it will check if there's an <embedded template>/libraries/<library> folder containing the file
         //4th and last it will assume the file is in <embedded template> folder.
+        return getTemplateIndex(config).resolve(templateFile);
+    }
 
-        //check the supplied template library folder for the file
-        final String library = config.getLibrary();
-        if (StringUtils.isNotEmpty(library)) {
-            //look for the file in the library subfolder of the supplied template
-            final String libTemplateFile = buildLibraryFilePath(config.templateDir(), library, templateFile);
-            if (new File(libTemplateFile).exists()) {
-                return libTemplateFile;
-            }
-        }
-
-        //check the supplied template main folder for the file
-        final String template = config.templateDir() + File.separator + templateFile;
-        if (new File(template).exists()) {
-            return template;
-        }
-
-        //try the embedded template library folder next
-        if (StringUtils.isNotEmpty(library)) {
-            final String embeddedLibTemplateFile = buildLibraryFilePath(config.embeddedTemplateDir(), library, templateFile);
-            if (embeddedTemplateExists(embeddedLibTemplateFile)) {
-                // Fall back to the template file embedded/packaged in the JAR file library folder...
-                return embeddedLibTemplateFile;
-            }
+    /**
+     * @param config Codegen config
+     * @return the index the templates of the config are resolved with, listing the template folders once for
+     * each template dir, library and embedded template dir of the config
+     */
+    public TemplateIndex getTemplateIndex(CodegenConfig config) {
+        TemplateIndex index = templateIndex;
+        if (index == null || !index.isFor(config)) {
+            index = new TemplateIndex(config, this.getClass().getClassLoader());
+            templateIndex = index;
         }
-            
-        // Fall back to the template file embedded/packaged in the JAR file...
-        return config.embeddedTemplateDir() + File.separator + templateFile;
+        return index;
     }
 
     public String readResourceContents(String resourceFilePath) {
@@ -128,7 +113,7 @@ public abstract class AbstractGenerator {
     @SuppressWarnings("static-method")
     public String getCPResourcePath(String name) {
         if (!"/".equals(File.separator)) {
-            return name.replaceAll(Pattern.quote(File.separator), "/");
+            return name.replace(File.separator, "/");
         }
         return name;
     }
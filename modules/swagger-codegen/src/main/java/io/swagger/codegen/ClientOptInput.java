@@ -12,6 +12,13 @@ public class ClientOptInput {
     private ClientOpts opts;
     private Swagger swagger;
     private List<AuthorizationValue> auths;
+    private int parallelism = 1;
+    private boolean incremental;
+    private boolean writeIfChanged;
+    private boolean linkStaticFiles;
+    private GeneratorProperties generatorProperties = new GeneratorProperties();
+    private GeneratorSink sink;
+    private GenerationMetrics metrics;
 
     public ClientOptInput swagger(Swagger swagger) {
         this.setSwagger(swagger);
@@ -28,6 +35,41 @@ public class ClientOptInput {
         return this;
     }
 
+    public ClientOptInput parallelism(int parallelism) {
+        this.setParallelism(parallelism);
+        return this;
+    }
+
+    public ClientOptInput incremental(boolean incremental) {
+        this.setIncremental(incremental);
+        return this;
+    }
+
+    public ClientOptInput writeIfChanged(boolean writeIfChanged) {
+        this.setWriteIfChanged(writeIfChanged);
+        return this;
+    }
+
+    public ClientOptInput linkStaticFiles(boolean linkStaticFiles) {
+        this.setLinkStaticFiles(linkStaticFiles);
+        return this;
+    }
+
+    public ClientOptInput generatorProperties(GeneratorProperties generatorProperties) {
+        this.setGeneratorProperties(generatorProperties);
+        return this;
+    }
+
+    public ClientOptInput sink(GeneratorSink sink) {
+        this.setSink(sink);
+        return this;
+    }
+
+    public ClientOptInput metrics(GenerationMetrics metrics) {
+        this.setMetrics(metrics);
+        return this;
+    }
+
     @Deprecated
     public ClientOptInput auth(String urlEncodedAuthString) {
         this.setAuth(urlEncodedAuthString);
@@ -65,6 +107,80 @@ public class ClientOptInput {
         this.opts = opts;
     }
 
+    /**
+     * @return number of threads used to render model and API files, 1 renders on the calling thread
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return true to only render files whose inputs changed since the previous run
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * @return true to leave files whose content did not change untouched, when no sink is set
+     */
+    public boolean isWriteIfChanged() {
+        return writeIfChanged;
+    }
+
+    public void setWriteIfChanged(boolean writeIfChanged) {
+        this.writeIfChanged = writeIfChanged;
+    }
+
+    public boolean isLinkStaticFiles() {
+        return linkStaticFiles;
+    }
+
+    public void setLinkStaticFiles(boolean linkStaticFiles) {
+        this.linkStaticFiles = linkStaticFiles;
+    }
+
+    /**
+     * @return switches of this run (models, apis, supportingFiles, debug flags...) read by the generator
+     */
+    public GeneratorProperties getGeneratorProperties() {
+        return generatorProperties;
+    }
+
+    public void setGeneratorProperties(GeneratorProperties generatorProperties) {
+        this.generatorProperties = generatorProperties;
+    }
+
+    /**
+     * @return where generated files are written to, null for the file system
+     */
+    public GeneratorSink getSink() {
+        return sink;
+    }
+
+    public void setSink(GeneratorSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * @return where timings and counts of the run are recorded, null for a new {@link GenerationMetrics}
+     */
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(GenerationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @ApiModelProperty(dataType = "Object")
     public Swagger getSwagger() {
         return swagger;
@@ -1,10 +1,7 @@
 package io.swagger.codegen;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.ServiceLoader;
 
 import org.apache.commons.cli.BasicParser;
 import org.apache.commons.cli.CommandLine;
@@ -28,13 +25,13 @@ public class Codegen extends DefaultGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Codegen.class);
 
-    static Map<String, CodegenConfig> configs = new HashMap<String, CodegenConfig>();
     static String configString;
     static String debugInfoOptions = "\nThe following additional debug options are available for all codegen targets:" +
             "\n -DdebugSwagger prints the swagger specification as interpreted by the codegen" +
             "\n -DdebugModels prints models passed to the template engine" +
             "\n -DdebugOperations prints operations passed to the template engine" +
-            "\n -DdebugSupportingFiles prints additional data passed to the template engine";
+            "\n -DdebugSupportingFiles prints additional data passed to the template engine" +
+            "\n -DdebugTemplates prints the templates used and the folders they were found in";
 
     @SuppressWarnings("deprecation")
     public static void main(String[] args) {
@@ -121,10 +118,9 @@ public class Codegen extends DefaultGenerator {
     }
 
     public static List<CodegenConfig> getExtensions() {
-        ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class);
         List<CodegenConfig> output = new ArrayList<CodegenConfig>();
-        for (CodegenConfig aLoader : loader) {
-            output.add(aLoader);
+        for (CodegenConfigDescriptor descriptor : CodegenConfigLoader.getDescriptors()) {
+            output.add(descriptor.newInstance());
         }
         return output;
     }
@@ -135,8 +131,9 @@ public class Codegen extends DefaultGenerator {
     }
 
     public static CodegenConfig getConfig(String name) {
-        if (configs.containsKey(name)) {
-            return configs.get(name);
+        CodegenConfigDescriptor descriptor = CodegenConfigLoader.getDescriptor(name);
+        if (descriptor != null) {
+            return descriptor.newInstance();
         } else {
             // see if it's a class
             try {
@@ -151,16 +148,14 @@ public class Codegen extends DefaultGenerator {
     }
 
     static {
-        List<CodegenConfig> extensions = getExtensions();
         StringBuilder sb = new StringBuilder();
 
-        for (CodegenConfig config : extensions) {
+        for (CodegenConfigDescriptor descriptor : CodegenConfigLoader.getDescriptors()) {
             if (sb.toString().length() != 0) {
                 sb.append(", ");
             }
-            sb.append(config.getName());
-            configs.put(config.getName(), config);
-            configString = sb.toString();
+            sb.append(descriptor.getName());
         }
+        configString = sb.toString();
     }
 }
@@ -214,6 +214,13 @@ public interface CodegenConfig {
 
     String getIgnoreFilePathOverride();
 
+    /**
+     * Names looked up by the templates, so that template data no template refers to is only computed on demand.
+     *
+     * @param templateFields referenced names, or null if unknown
+     */
+    void setTemplateFields(Set<String> templateFields);
+
     String toBooleanGetter(String name);
 
     String toSetter(String name);
@@ -0,0 +1,87 @@
+package io.swagger.codegen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Describes an available {@link CodegenConfig} without keeping an instance of it around.
+ *
+ * Name, tag and class name come from the config index, so listing languages does not instantiate
+ * anything. Help and cli options are only known to the config itself; they are read from a single
+ * instance the first time they are asked for and cached afterwards.
+ */
+public class CodegenConfigDescriptor {
+    private final String name;
+    private final CodegenType tag;
+    private final String className;
+
+    private String help;
+    private List<CliOption> cliOptions;
+    private volatile boolean described;
+
+    public CodegenConfigDescriptor(String name, CodegenType tag, String className) {
+        this.name = name;
+        this.tag = tag;
+        this.className = className;
+    }
+
+    static CodegenConfigDescriptor of(CodegenConfig config) {
+        CodegenConfigDescriptor descriptor = new CodegenConfigDescriptor(config.getName(), config.getTag(),
+                config.getClass().getName());
+        descriptor.describe(config);
+        return descriptor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CodegenType getTag() {
+        return tag;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return the help text of the config
+     */
+    public String getHelp() {
+        if (!described) {
+            describe(newInstance());
+        }
+        return help;
+    }
+
+    /**
+     * @return the cli options of a newly created config, unmodifiable
+     */
+    public List<CliOption> getCliOptions() {
+        if (!described) {
+            describe(newInstance());
+        }
+        return cliOptions;
+    }
+
+    /**
+     * @return a new instance of the described config
+     */
+    public CodegenConfig newInstance() {
+        return CodegenConfigLoader.newInstance(className);
+    }
+
+    private void describe(CodegenConfig config) {
+        this.help = config.getHelp();
+        this.cliOptions = config.cliOptions() == null
+                ? Collections.<CliOption>emptyList()
+                : Collections.unmodifiableList(new ArrayList<CliOption>(config.cliOptions()));
+        this.described = true;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + tag + ", " + className + ")";
+    }
+}
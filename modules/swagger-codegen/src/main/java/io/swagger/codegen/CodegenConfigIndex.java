@@ -0,0 +1,50 @@
+package io.swagger.codegen;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Writes the index read by {@link CodegenConfigLoader}, see {@link CodegenConfigLoader#INDEX_RESOURCE}.
+ * The build runs it after compiling, with the classes directory as the only argument, so the index always
+ * matches {@link CodegenConfigLoader#SERVICES_RESOURCE}.
+ */
+public final class CodegenConfigIndex {
+    private static final String[] HEADER = {
+            "# name type class, one line per config listed in " + CodegenConfigLoader.SERVICES_RESOURCE,
+            "# Generated by " + CodegenConfigIndex.class.getName() + " during the build, don't edit."
+    };
+
+    private CodegenConfigIndex() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: " + CodegenConfigIndex.class.getName() + " <classes directory>");
+        }
+        List<String> lines = new ArrayList<String>();
+        for (String header : HEADER) {
+            lines.add(header);
+        }
+        lines.addAll(lines(Thread.currentThread().getContextClassLoader()));
+        FileUtils.writeLines(new File(args[0], CodegenConfigLoader.INDEX_RESOURCE), "UTF-8", lines, "\n");
+    }
+
+    /**
+     * @param classLoader class loader to read the registered configs from
+     * @return the index lines of the registered configs, in registration order
+     */
+    static List<String> lines(ClassLoader classLoader) {
+        List<String> lines = new ArrayList<String>();
+        for (String className : new LinkedHashSet<String>(
+                CodegenConfigLoader.readLines(classLoader, CodegenConfigLoader.SERVICES_RESOURCE))) {
+            CodegenConfig config = CodegenConfigLoader.newInstance(className);
+            lines.add(String.format("%-28s %-14s %s", config.getName(), config.getTag(), className));
+        }
+        return lines;
+    }
+}
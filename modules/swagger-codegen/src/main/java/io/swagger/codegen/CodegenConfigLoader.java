@@ -1,10 +1,39 @@
 package io.swagger.codegen;
 
-import java.util.ServiceLoader;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import static java.util.ServiceLoader.load;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 public class CodegenConfigLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodegenConfigLoader.class);
+
+    /**
+     * Service provider file listing the available configs, as read by {@link java.util.ServiceLoader}.
+     */
+    public static final String SERVICES_RESOURCE = "META-INF/services/" + CodegenConfig.class.getName();
+
+    /**
+     * Index of the configs listed in {@link #SERVICES_RESOURCE}, one {@code name type class} line per config,
+     * so that a config can be found by name without instantiating every other one. The build writes it with
+     * {@link CodegenConfigIndex}. Configs that are registered but not indexed (e.g. custom generators on the
+     * classpath) are instantiated once to read their name and type.
+     */
+    public static final String INDEX_RESOURCE = "META-INF/swagger-codegen/" + CodegenConfig.class.getName() + ".index";
+
+    private static Map<String, CodegenConfigDescriptor> descriptors;
+
     /**
      * Tries to load config class with SPI first, then with class name directly from classpath
      *
@@ -12,23 +41,107 @@ public class CodegenConfigLoader {
      * @return config class
      */
     public static CodegenConfig forName(String name) {
-        ServiceLoader<CodegenConfig> loader = load(CodegenConfig.class);
-
-        StringBuilder availableConfigs = new StringBuilder();
-
-        for (CodegenConfig config : loader) {
-            if (config.getName().equals(name)) {
-                return config;
-            }
-
-            availableConfigs.append(config.getName()).append("\n");
+        CodegenConfigDescriptor descriptor = getDescriptor(name);
+        if (descriptor != null) {
+            return descriptor.newInstance();
         }
 
         // else try to load directly
         try {
             return (CodegenConfig) Class.forName(name).newInstance();
         } catch (Exception e) {
+            StringBuilder availableConfigs = new StringBuilder();
+            for (String configName : index().keySet()) {
+                availableConfigs.append(configName).append("\n");
+            }
             throw new RuntimeException("Can't load config class with name ".concat(name) + " Available: " + availableConfigs.toString(), e);
         }
     }
+
+    /**
+     * @param name name of config
+     * @return the descriptor of the config registered with this name, or null
+     */
+    public static CodegenConfigDescriptor getDescriptor(String name) {
+        return index().get(name);
+    }
+
+    /**
+     * @return descriptors of all registered configs, in registration order
+     */
+    public static List<CodegenConfigDescriptor> getDescriptors() {
+        return new ArrayList<CodegenConfigDescriptor>(index().values());
+    }
+
+    static CodegenConfig newInstance(String className) {
+        try {
+            return (CodegenConfig) Class.forName(className, true, classLoader()).newInstance();
+        } catch (Exception e) {
+            throw new RuntimeException("Can't instantiate config class " + className, e);
+        }
+    }
+
+    private static synchronized Map<String, CodegenConfigDescriptor> index() {
+        if (descriptors == null) {
+            descriptors = Collections.unmodifiableMap(buildIndex(classLoader()));
+        }
+        return descriptors;
+    }
+
+    static Map<String, CodegenConfigDescriptor> buildIndex(ClassLoader classLoader) {
+        Map<String, CodegenConfigDescriptor> indexed = new HashMap<String, CodegenConfigDescriptor>();
+        for (String line : readLines(classLoader, INDEX_RESOURCE)) {
+            String[] columns = line.split("\\s+");
+            if (columns.length != 3) {
+                throw new RuntimeException("Invalid line in " + INDEX_RESOURCE + ": " + line);
+            }
+            indexed.put(columns[2], new CodegenConfigDescriptor(columns[0], CodegenType.valueOf(columns[1]), columns[2]));
+        }
+
+        Map<String, CodegenConfigDescriptor> byName = new LinkedHashMap<String, CodegenConfigDescriptor>();
+        for (String className : new LinkedHashSet<String>(readLines(classLoader, SERVICES_RESOURCE))) {
+            CodegenConfigDescriptor descriptor = indexed.get(className);
+            if (descriptor == null) {
+                LOGGER.debug("config " + className + " is not indexed, instantiating it to read its name");
+                descriptor = CodegenConfigDescriptor.of(newInstance(className));
+            }
+            // first registration wins, as with ServiceLoader
+            if (!byName.containsKey(descriptor.getName())) {
+                byName.put(descriptor.getName(), descriptor);
+            }
+        }
+        return byName;
+    }
+
+    static List<String> readLines(ClassLoader classLoader, String resource) {
+        List<String> lines = new ArrayList<String>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(resource);
+            while (urls.hasMoreElements()) {
+                InputStream in = urls.nextElement().openStream();
+                try {
+                    for (String line : IOUtils.readLines(in, "UTF-8")) {
+                        int comment = line.indexOf('#');
+                        if (comment >= 0) {
+                            line = line.substring(0, comment);
+                        }
+                        line = line.trim();
+                        if (!line.isEmpty()) {
+                            lines.add(line);
+                        }
+                    }
+                } finally {
+                    IOUtils.closeQuietly(in);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Can't read " + resource, e);
+        }
+        return lines;
+    }
+
+    private static ClassLoader classLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : CodegenConfigLoader.class.getClassLoader();
+    }
 }
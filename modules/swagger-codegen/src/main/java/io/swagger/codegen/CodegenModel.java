@@ -7,7 +7,9 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.Objects;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.models.ExternalDocs;
+import io.swagger.util.Json;
 
 public class CodegenModel {
     public String parent, parentSchema;
@@ -48,6 +50,9 @@ public class CodegenModel {
     //The type of the value from additional properties. Used in map like objects.
     public String additionalPropertiesType;
 
+    // The swagger model behind modelJson, pretty printed on first use
+    private Object modelJsonSource;
+
     {
         // By default these are the same collections. Where the code generator supports inheritance, composed models
         // store the complete closure of owned and inherited properties in allVars and allMandatory.
@@ -55,6 +60,32 @@ public class CodegenModel {
         allMandatory = mandatory;
     }
 
+    /**
+     * Templates look up {@code modelJson} through this accessor, so that generators whose templates don't render it
+     * never pretty print the model.
+     *
+     * @return the model as pretty printed JSON
+     */
+    public String getModelJson() {
+        if (modelJson == null && modelJsonSource != null) {
+            modelJson = Json.pretty(modelJsonSource);
+        }
+        return modelJson;
+    }
+
+    /**
+     * @param modelJsonSource the swagger model to pretty print as {@code modelJson} on first use
+     */
+    public void setModelJsonSource(Object modelJsonSource) {
+        this.modelJsonSource = modelJsonSource;
+        this.modelJson = null;
+    }
+
+    @JsonIgnore
+    public Object getModelJsonSource() {
+        return modelJsonSource;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", name, classname);
@@ -87,7 +118,7 @@ public class CodegenModel {
             return false;
         if (classVarName != null ? !classVarName.equals(that.classVarName) : that.classVarName != null)
             return false;
-        if (modelJson != null ? !modelJson.equals(that.modelJson) : that.modelJson != null)
+        if (getModelJson() != null ? !getModelJson().equals(that.getModelJson()) : that.getModelJson() != null)
             return false;
         if (dataType != null ? !dataType.equals(that.dataType) : that.dataType != null)
             return false;
@@ -155,7 +186,7 @@ public class CodegenModel {
         result = 31 * result + (title != null ? title.hashCode() : 0);
         result = 31 * result + (description != null ? description.hashCode() : 0);
         result = 31 * result + (classVarName != null ? classVarName.hashCode() : 0);
-        result = 31 * result + (modelJson != null ? modelJson.hashCode() : 0);
+        result = 31 * result + (getModelJson() != null ? getModelJson().hashCode() : 0);
         result = 31 * result + (dataType != null ? dataType.hashCode() : 0);
         result = 31 * result + (xmlPrefix != null ? xmlPrefix.hashCode() : 0);
         result = 31 * result + (xmlNamespace != null ? xmlNamespace.hashCode() : 0);
@@ -4,7 +4,9 @@ import io.swagger.models.ExternalDocs;
 import io.swagger.models.Tag;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -184,6 +186,154 @@ public class CodegenOperation {
         return isRestfulIndex() || isRestfulShow() || isRestfulCreate() || isRestfulUpdate() || isRestfulDestroy();
     }
 
+    /**
+     * Copy this operation, e.g. to add it to another tag. Parameters, responses, auth methods, content types
+     * and examples are copied as well, so that a generator can change the copy (in addOperationToGroup or
+     * postProcessOperations) without changing this operation. A parameter found in several lists (like
+     * bodyParam and allParams) is copied once. Objects of the spec (tags, external docs, vendor extensions
+     * of the operation, responses and auth methods) are shared.
+     *
+     * @return the copy
+     */
+    public CodegenOperation copy() {
+        CodegenOperation output = CodegenModelFactory.newInstance(CodegenModelType.OPERATION);
+        Map<CodegenParameter, CodegenParameter> parameters = new IdentityHashMap<CodegenParameter, CodegenParameter>();
+        Map<CodegenProperty, CodegenProperty> properties = new IdentityHashMap<CodegenProperty, CodegenProperty>();
+        for (CodegenProperty header : responseHeaders) {
+            output.responseHeaders.add(copy(header, properties));
+        }
+        output.hasAuthMethods = this.hasAuthMethods;
+        output.hasConsumes = this.hasConsumes;
+        output.hasProduces = this.hasProduces;
+        output.hasParams = this.hasParams;
+        output.hasOptionalParams = this.hasOptionalParams;
+        output.hasRequiredParams = this.hasRequiredParams;
+        output.returnTypeIsPrimitive = this.returnTypeIsPrimitive;
+        output.returnSimpleType = this.returnSimpleType;
+        output.subresourceOperation = this.subresourceOperation;
+        output.isMapContainer = this.isMapContainer;
+        output.isListContainer = this.isListContainer;
+        output.isMultipart = this.isMultipart;
+        output.hasMore = this.hasMore;
+        output.isResponseBinary = this.isResponseBinary;
+        output.isResponseFile = this.isResponseFile;
+        output.hasReference = this.hasReference;
+        output.isRestfulIndex = this.isRestfulIndex;
+        output.isRestfulShow = this.isRestfulShow;
+        output.isRestfulCreate = this.isRestfulCreate;
+        output.isRestfulUpdate = this.isRestfulUpdate;
+        output.isRestfulDestroy = this.isRestfulDestroy;
+        output.isRestful = this.isRestful;
+        output.isDeprecated = this.isDeprecated;
+        output.path = this.path;
+        output.testPath = this.testPath;
+        output.operationId = this.operationId;
+        output.returnType = this.returnType;
+        output.httpMethod = this.httpMethod;
+        output.returnBaseType = this.returnBaseType;
+        output.returnContainer = this.returnContainer;
+        output.summary = this.summary;
+        output.unescapedNotes = this.unescapedNotes;
+        output.notes = this.notes;
+        output.baseName = this.baseName;
+        output.defaultResponse = this.defaultResponse;
+        output.discriminator = this.discriminator;
+        output.consumes = copyMaps(this.consumes);
+        output.produces = copyMaps(this.produces);
+        output.prioritizedContentTypes = copyMaps(this.prioritizedContentTypes);
+        output.bodyParam = copy(this.bodyParam, parameters, properties);
+        output.allParams = copy(this.allParams, parameters, properties);
+        output.bodyParams = copy(this.bodyParams, parameters, properties);
+        output.pathParams = copy(this.pathParams, parameters, properties);
+        output.queryParams = copy(this.queryParams, parameters, properties);
+        output.headerParams = copy(this.headerParams, parameters, properties);
+        output.formParams = copy(this.formParams, parameters, properties);
+        output.requiredParams = copy(this.requiredParams, parameters, properties);
+        if (this.authMethods != null) {
+            output.authMethods = new ArrayList<CodegenSecurity>(this.authMethods.size());
+            for (CodegenSecurity authMethod : this.authMethods) {
+                output.authMethods.add(authMethod.copy());
+            }
+        }
+        if (this.tags != null) {
+            output.tags = new ArrayList<Tag>(this.tags);
+        }
+        if (this.responses != null) {
+            output.responses = new ArrayList<CodegenResponse>(this.responses.size());
+            for (CodegenResponse response : this.responses) {
+                output.responses.add(response.copy());
+            }
+        }
+        if (this.imports != null) {
+            output.imports = new HashSet<String>(this.imports);
+        }
+        output.examples = copyMaps(this.examples);
+        output.requestBodyExamples = copyMaps(this.requestBodyExamples);
+        output.externalDocs = this.externalDocs;
+        output.vendorExtensions = this.vendorExtensions;
+        output.nickname = this.nickname;
+        output.operationIdOriginal = this.operationIdOriginal;
+        output.operationIdLowerCase = this.operationIdLowerCase;
+        output.operationIdCamelCase = this.operationIdCamelCase;
+        output.operationIdSnakeCase = this.operationIdSnakeCase;
+        return output;
+    }
+
+    private static List<CodegenParameter> copy(List<CodegenParameter> list,
+                                               Map<CodegenParameter, CodegenParameter> parameters,
+                                               Map<CodegenProperty, CodegenProperty> properties) {
+        if (list == null) {
+            return null;
+        }
+        List<CodegenParameter> output = new ArrayList<CodegenParameter>(list.size());
+        for (CodegenParameter parameter : list) {
+            output.add(copy(parameter, parameters, properties));
+        }
+        return output;
+    }
+
+    private static CodegenParameter copy(CodegenParameter parameter,
+                                         Map<CodegenParameter, CodegenParameter> parameters,
+                                         Map<CodegenProperty, CodegenProperty> properties) {
+        if (parameter == null) {
+            return null;
+        }
+        CodegenParameter output = parameters.get(parameter);
+        if (output == null) {
+            // CodegenParameter.copy() derives isConstEnumParam on the copied parameter, keep it as it was
+            boolean constEnumParam = parameter.isConstEnumParam;
+            output = parameter.copy();
+            parameter.isConstEnumParam = constEnumParam;
+            output.isConstEnumParam = constEnumParam;
+            output.items = copy(parameter.items, properties);
+            parameters.put(parameter, output);
+        }
+        return output;
+    }
+
+    private static CodegenProperty copy(CodegenProperty property, Map<CodegenProperty, CodegenProperty> properties) {
+        if (property == null) {
+            return null;
+        }
+        CodegenProperty output = properties.get(property);
+        if (output == null) {
+            output = property.clone();
+            properties.put(property, output);
+        }
+        return output;
+    }
+
+    private static <V> List<Map<String, V>> copyMaps(List<Map<String, V>> list) {
+        if (list == null) {
+            return null;
+        }
+        List<Map<String, V>> output = new ArrayList<Map<String, V>>(list.size());
+        for (Map<String, V> map : list) {
+            output.add(map == null ? null : new HashMap<String, V>(map));
+        }
+        return output;
+    }
+
     /**
      * Get the substring except baseName from path
      *
@@ -1,5 +1,7 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -15,6 +17,8 @@ public class CodegenParameter {
     public String example; // example value (x-example)
     public String testExample;
     public String jsonSchema;
+    // The swagger parameter behind jsonSchema, pretty printed on first use
+    private Object jsonSchemaSource;
     public boolean isString, isNumeric, isInteger, isLong, isNumber, isFloat, isDouble, isByteArray, isBinary, isBoolean, isDate, isDateTime, isUuid;
     public boolean isListContainer, isMapContainer;
     public boolean isFile, notFile;
@@ -77,6 +81,27 @@ public class CodegenParameter {
      */
     public Number multipleOf;
     
+    /**
+     * Templates look up {@code jsonSchema} through this accessor, so that generators whose templates don't render it
+     * never pretty print the parameter.
+     *
+     * @return the parameter as pretty printed JSON
+     */
+    public String getJsonSchema() {
+        if (jsonSchema == null && jsonSchemaSource != null) {
+            jsonSchema = Json.pretty(jsonSchemaSource);
+        }
+        return jsonSchema;
+    }
+
+    /**
+     * @param jsonSchemaSource the swagger parameter to pretty print as {@code jsonSchema} on first use
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchemaSource = jsonSchemaSource;
+        this.jsonSchema = null;
+    }
+
     public CodegenParameter copy() {
         CodegenParameter output = new CodegenParameter();
         output.isFile = this.isFile;
@@ -115,6 +140,7 @@ public class CodegenParameter {
         output.uniqueItems = this.uniqueItems;
         output.multipleOf = this.multipleOf;
         output.jsonSchema = this.jsonSchema;
+        output.jsonSchemaSource = this.jsonSchemaSource;
         output.defaultValue = this.defaultValue;
         output.example = this.example;
         output.testExample = this.testExample;
@@ -211,7 +237,7 @@ public class CodegenParameter {
             return false;
         if (example != null ? !example.equals(that.example) : that.example != null)
             return false;
-        if (jsonSchema != null ? !jsonSchema.equals(that.jsonSchema) : that.jsonSchema != null)
+        if (getJsonSchema() != null ? !getJsonSchema().equals(that.getJsonSchema()) : that.getJsonSchema() != null)
             return false;
         if (isString != that.isString)
             return false;
@@ -308,7 +334,7 @@ public class CodegenParameter {
         result = 31 * result + (baseType != null ? baseType.hashCode() : 0);
         result = 31 * result + (defaultValue != null ? defaultValue.hashCode() : 0);
         result = 31 * result + (example != null ? example.hashCode() : 0);
-        result = 31 * result + (jsonSchema != null ? jsonSchema.hashCode() : 0);
+        result = 31 * result + (getJsonSchema() != null ? getJsonSchema().hashCode() : 0);
         result = 31 * result + (isString ? 13:31);
         result = 31 * result + (isNumeric ? 13:31);
         result = 31 * result + (isInteger ? 13:31);
@@ -1,5 +1,7 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -32,6 +34,8 @@ public class CodegenProperty implements Cloneable {
     public String example;
 
     public String jsonSchema;
+    // The swagger property behind jsonSchema, pretty printed on first use
+    private Object jsonSchemaSource;
     public String minimum;
     public String maximum;
     public boolean exclusiveMinimum;
@@ -64,6 +68,27 @@ public class CodegenProperty implements Cloneable {
     public boolean isXmlWrapped = false;
 
 
+    /**
+     * Templates look up {@code jsonSchema} through this accessor, so that generators whose templates don't render it
+     * never pretty print the property.
+     *
+     * @return the property as pretty printed JSON
+     */
+    public String getJsonSchema() {
+        if (jsonSchema == null && jsonSchemaSource != null) {
+            jsonSchema = Json.pretty(jsonSchemaSource);
+        }
+        return jsonSchema;
+    }
+
+    /**
+     * @param jsonSchemaSource the swagger property to pretty print as {@code jsonSchema} on first use
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchemaSource = jsonSchemaSource;
+        this.jsonSchema = null;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", baseName, datatype);
@@ -100,7 +125,7 @@ public class CodegenProperty implements Cloneable {
         result = prime * result + ((isPrimitiveType  ? 13:31));
         result = prime * result + ((isReadOnly  ? 13:31));
         result = prime * result + ((items == null) ? 0 : items.hashCode());
-        result = prime * result + ((jsonSchema == null) ? 0 : jsonSchema.hashCode());
+        result = prime * result + ((getJsonSchema() == null) ? 0 : getJsonSchema().hashCode());
         result = prime * result + ((max == null) ? 0 : max.hashCode());
         result = prime * result + ((maxLength == null) ? 0 : maxLength.hashCode());
         result = prime * result + ((maximum == null) ? 0 : maximum.hashCode());
@@ -211,7 +236,7 @@ public class CodegenProperty implements Cloneable {
         if ((this.example == null) ? (other.example != null) : !this.example.equals(other.example)) {
             return false;
         }
-        if ((this.jsonSchema == null) ? (other.jsonSchema != null) : !this.jsonSchema.equals(other.jsonSchema)) {
+        if ((this.getJsonSchema() == null) ? (other.getJsonSchema() != null) : !this.getJsonSchema().equals(other.getJsonSchema())) {
             return false;
         }
         if (this.minimum != other.minimum && (this.minimum == null || !this.minimum.equals(other.minimum))) {
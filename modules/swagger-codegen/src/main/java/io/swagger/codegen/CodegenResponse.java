@@ -1,6 +1,9 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
+
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,8 +24,78 @@ public class CodegenResponse {
     public boolean isFile = false;
     public Object schema;
     public String jsonSchema;
+    // The swagger response behind jsonSchema, pretty printed on first use
+    private Object jsonSchemaSource;
     public Map<String, Object> vendorExtensions;
 
+    /**
+     * Templates look up {@code jsonSchema} through this accessor, so that generators whose templates don't render it
+     * never pretty print the response.
+     *
+     * @return the response as pretty printed JSON
+     */
+    public String getJsonSchema() {
+        if (jsonSchema == null && jsonSchemaSource != null) {
+            jsonSchema = Json.pretty(jsonSchemaSource);
+        }
+        return jsonSchema;
+    }
+
+    /**
+     * @param jsonSchemaSource the swagger response to pretty print as {@code jsonSchema} on first use
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchemaSource = jsonSchemaSource;
+        this.jsonSchema = null;
+    }
+
+    /**
+     * @return a copy of this response, with copies of its headers and examples
+     */
+    public CodegenResponse copy() {
+        CodegenResponse output = new CodegenResponse();
+        for (CodegenProperty header : this.headers) {
+            output.headers.add(header.clone());
+        }
+        output.code = this.code;
+        output.message = this.message;
+        output.hasMore = this.hasMore;
+        if (this.examples != null) {
+            output.examples = new ArrayList<Map<String, Object>>(this.examples.size());
+            for (Map<String, Object> example : this.examples) {
+                output.examples.add(new HashMap<String, Object>(example));
+            }
+        }
+        output.dataType = this.dataType;
+        output.baseType = this.baseType;
+        output.containerType = this.containerType;
+        output.hasHeaders = this.hasHeaders;
+        output.isString = this.isString;
+        output.isNumeric = this.isNumeric;
+        output.isInteger = this.isInteger;
+        output.isLong = this.isLong;
+        output.isNumber = this.isNumber;
+        output.isFloat = this.isFloat;
+        output.isDouble = this.isDouble;
+        output.isByteArray = this.isByteArray;
+        output.isBoolean = this.isBoolean;
+        output.isDate = this.isDate;
+        output.isDateTime = this.isDateTime;
+        output.isUuid = this.isUuid;
+        output.isDefault = this.isDefault;
+        output.simpleType = this.simpleType;
+        output.primitiveType = this.primitiveType;
+        output.isMapContainer = this.isMapContainer;
+        output.isListContainer = this.isListContainer;
+        output.isBinary = this.isBinary;
+        output.isFile = this.isFile;
+        output.schema = this.schema;
+        output.jsonSchema = this.jsonSchema;
+        output.jsonSchemaSource = this.jsonSchemaSource;
+        output.vendorExtensions = this.vendorExtensions;
+        return output;
+    }
+
     public boolean isWildcard() {
         return "0".equals(code) || "default".equals(code);
     }
@@ -75,7 +148,7 @@ public class CodegenResponse {
             return false;
         if (vendorExtensions != null ? !vendorExtensions.equals(that.vendorExtensions) : that.vendorExtensions != null)
             return false;
-        return jsonSchema != null ? jsonSchema.equals(that.jsonSchema) : that.jsonSchema == null;
+        return getJsonSchema() != null ? getJsonSchema().equals(that.getJsonSchema()) : that.getJsonSchema() == null;
     }
 
     @Override
@@ -97,7 +170,7 @@ public class CodegenResponse {
         result = 31 * result + (isBinary ? 13:31);
         result = 31 * result + (isFile ? 13:31);
         result = 31 * result + (schema != null ? schema.hashCode() : 0);
-        result = 31 * result + (jsonSchema != null ? jsonSchema.hashCode() : 0);
+        result = 31 * result + (getJsonSchema() != null ? getJsonSchema().hashCode() : 0);
         result = 31 * result + (vendorExtensions != null ? vendorExtensions.hashCode() : 0);
         return result;
     }
@@ -1,5 +1,7 @@
 package io.swagger.codegen;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -16,6 +18,37 @@ public class CodegenSecurity {
     public List<Map<String, Object>> scopes;
     public Boolean isCode, isPassword, isApplication, isImplicit;
 
+    /**
+     * @return a copy of this auth method, with copies of its scopes; vendor extensions of the spec are shared
+     */
+    public CodegenSecurity copy() {
+        CodegenSecurity output = new CodegenSecurity();
+        output.name = this.name;
+        output.type = this.type;
+        output.hasMore = this.hasMore;
+        output.isBasic = this.isBasic;
+        output.isOAuth = this.isOAuth;
+        output.isApiKey = this.isApiKey;
+        output.vendorExtensions = this.vendorExtensions;
+        output.keyParamName = this.keyParamName;
+        output.isKeyInQuery = this.isKeyInQuery;
+        output.isKeyInHeader = this.isKeyInHeader;
+        output.flow = this.flow;
+        output.authorizationUrl = this.authorizationUrl;
+        output.tokenUrl = this.tokenUrl;
+        if (this.scopes != null) {
+            output.scopes = new ArrayList<Map<String, Object>>(this.scopes.size());
+            for (Map<String, Object> scope : this.scopes) {
+                output.scopes.add(new HashMap<String, Object>(scope));
+            }
+        }
+        output.isCode = this.isCode;
+        output.isPassword = this.isPassword;
+        output.isApplication = this.isApplication;
+        output.isImplicit = this.isImplicit;
+        return output;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", name, type);
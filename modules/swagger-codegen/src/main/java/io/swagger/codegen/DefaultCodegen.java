@@ -19,6 +19,7 @@ import com.google.common.collect.Lists;
 import com.samskivert.mustache.Mustache.Compiler;
 
 import io.swagger.codegen.examples.ExampleGenerator;
+import io.swagger.codegen.utils.NamingUtils;
 import io.swagger.models.ArrayModel;
 import io.swagger.models.ComposedModel;
 import io.swagger.models.Model;
@@ -66,6 +67,8 @@ import io.swagger.util.Json;
 public class DefaultCodegen {
     protected static final Logger LOGGER = LoggerFactory.getLogger(DefaultCodegen.class);
 
+    private static final Pattern STARTS_WITH_DIGIT = Pattern.compile("\\d.*");
+
     protected String inputSpec;
     protected String outputFolder = "";
     protected Set<String> defaultIncludes = new HashSet<String>();
@@ -111,6 +114,18 @@ public class DefaultCodegen {
     protected Map<String, String> typeAliases = null;
 
     protected String ignoreFilePathOverride;
+    // names looked up by the templates, null if unknown
+    protected Set<String> templateFields;
+
+    private ExampleGenerator exampleGenerator;
+    // operation ids of the groups of the operations last passed to addOperationToGroup, by group identity
+    private Map<String, List<CodegenOperation>> operationIdIndexesOperations;
+    private final Map<List<CodegenOperation>, OperationIdIndex> operationIdIndexes =
+            new IdentityHashMap<List<CodegenOperation>, OperationIdIndex>();
+    private Map<String, Model> exampleDefinitions;
+    // graph of the models last passed to getModelGraph
+    private Map<String, Object> modelGraphObjs;
+    private ModelGraph modelGraph;
 
     public List<CliOption> cliOptions() {
         return cliOptions;
@@ -168,54 +183,51 @@ public class DefaultCodegen {
     @SuppressWarnings({ "static-method", "unchecked" })
     public Map<String, Object> postProcessAllModels(Map<String, Object> objs) {
         if (supportsInheritance) {
-            // Index all CodegenModels by model name.
-            Map<String, CodegenModel> allModels = new HashMap<String, CodegenModel>();
-            for (Entry<String, Object> entry : objs.entrySet()) {
-                String modelName = toModelName(entry.getKey());
-                Map<String, Object> inner = (Map<String, Object>) entry.getValue();
-                List<Map<String, Object>> models = (List<Map<String, Object>>) inner.get("models");
-                for (Map<String, Object> mo : models) {
-                    CodegenModel cm = (CodegenModel) mo.get("model");
-                    allModels.put(modelName, cm);
-                }
-            }
+            ModelGraph graph = getModelGraph(objs);
             // Fix up all parent and interface CodegenModel references.
-            for (CodegenModel cm : allModels.values()) {
+            for (CodegenModel cm : graph.getModels()) {
                 if (cm.parent != null) {
-                    cm.parentModel = allModels.get(cm.parent);
+                    cm.parentModel = graph.getParent(cm);
                 }
                 if (cm.interfaces != null && !cm.interfaces.isEmpty()) {
-                    cm.interfaceModels = new ArrayList<CodegenModel>(cm.interfaces.size());
-                    for (String intf : cm.interfaces) {
-                        CodegenModel intfModel = allModels.get(intf);
-                        if (intfModel != null) {
-                            cm.interfaceModels.add(intfModel);
-                        }
-                    }
+                    cm.interfaceModels = new ArrayList<CodegenModel>(graph.getInterfaces(cm));
                 }
             }
             // Let parent know about all its children
-            for (String name : allModels.keySet()) {
-                CodegenModel cm = allModels.get(name);
-                CodegenModel parent = allModels.get(cm.parent);
-                // if a discriminator exists on the parent, don't add this child to the inheritance hierarchy
-                // TODO Determine what to do if the parent discriminator name == the grandparent discriminator name
-                while (parent != null) {
+            for (CodegenModel parent : graph.getModels()) {
+                List<CodegenModel> children = graph.getChildren(parent);
+                if (!children.isEmpty()) {
                     if (parent.children == null) {
                         parent.children = new ArrayList<CodegenModel>();
                     }
-                    parent.children.add(cm);
-                    if (parent.discriminator == null) {
-                        parent = allModels.get(parent.parent);
-                    } else {
-                        parent = null;
-                    }
+                    parent.children.addAll(children);
                 }
             }
         }
         return objs;
     }
 
+    /**
+     * Returns the inheritance graph of the models passed to {@link #postProcessAllModels(Map)}. The graph is
+     * built on the first call for a map of models and shared by all later calls for the same map, so
+     * that overrides of postProcessAllModels don't have to index the models again.
+     *
+     * @param objs the models by definition name
+     * @return the graph of the models
+     */
+    protected ModelGraph getModelGraph(Map<String, Object> objs) {
+        if (modelGraph == null || modelGraphObjs != objs) {
+            modelGraph = ModelGraph.of(objs, new Function<String, String>() {
+                @Override
+                public String apply(String name) {
+                    return toModelName(name);
+                }
+            });
+            modelGraphObjs = objs;
+        }
+        return modelGraph;
+    }
+
     // override with any special post-processing
     @SuppressWarnings("static-method")
     public Map<String, Object> postProcessModels(Map<String, Object> objs) {
@@ -1329,7 +1341,10 @@ public class DefaultCodegen {
         m.classname = toModelName(name);
         m.classVarName = toVarName(name);
         m.classFilename = toModelFilename(name);
-        m.modelJson = Json.pretty(model);
+        m.setModelJsonSource(model);
+        if (isTemplateField("modelJson")) {
+            m.getModelJson();
+        }
         m.externalDocs = model.getExternalDocs();
         m.vendorExtensions = model.getVendorExtensions();
         m.isAlias = typeAliases.containsKey(name);
@@ -1585,7 +1600,10 @@ public class DefaultCodegen {
         }
         property.defaultValue = toDefaultValue(p);
         property.defaultValueWithParam = toDefaultValueWithParam(name, p);
-        property.jsonSchema = Json.pretty(p);
+        property.setJsonSchemaSource(p);
+        if (isTemplateField("jsonSchema")) {
+            property.getJsonSchema();
+        }
         if (p.getReadOnly() != null) {
             property.isReadOnly = p.getReadOnly();
         }
@@ -2363,7 +2381,10 @@ public class DefaultCodegen {
         r.message = escapeText(response.getDescription());
         r.schema = response.getSchema();
         r.examples = toExamples(response.getExamples());
-        r.jsonSchema = Json.pretty(response);
+        r.setJsonSchemaSource(response);
+        if (isTemplateField("jsonSchema")) {
+            r.getJsonSchema();
+        }
         r.vendorExtensions = response.getVendorExtensions();
         addHeaders(response, r.headers);
         r.hasHeaders = !r.headers.isEmpty();
@@ -2455,7 +2476,10 @@ public class DefaultCodegen {
         if (param.getRequired()) {
             p.required = param.getRequired();
         }
-        p.jsonSchema = Json.pretty(param);
+        p.setJsonSchemaSource(param);
+        if (isTemplateField("jsonSchema")) {
+            p.getJsonSchema();
+        }
 
         if (System.getProperty("debugParser") != null) {
             LOGGER.info("working on Parameter " + param.getName());
@@ -3021,15 +3045,23 @@ public class DefaultCodegen {
             opList = new ArrayList<CodegenOperation>();
             operations.put(tag, opList);
         }
-        // check for operationId uniqueness
-
+        if (operations != operationIdIndexesOperations) {
+            // the groups of other operations are no longer filled, don't keep them
+            operationIdIndexes.clear();
+            operationIdIndexesOperations = operations;
+        }
+        // check for operationId uniqueness, against the operations after the one each name clashed with
+        OperationIdIndex index = operationIdIndexes.get(opList);
+        if (index == null) {
+            index = new OperationIdIndex();
+            operationIdIndexes.put(opList, index);
+        }
+        index.update(opList);
         String uniqueName = co.operationId;
         int counter = 0;
-        for(CodegenOperation op : opList) {
-            if(uniqueName.equals(op.operationId)) {
-                uniqueName = co.operationId + "_" + counter;
-                counter ++;
-            }
+        for (int i = index.indexOf(uniqueName, 0); i >= 0; i = index.indexOf(uniqueName, i + 1)) {
+            uniqueName = co.operationId + "_" + counter;
+            counter ++;
         }
         if(!co.operationId.equals(uniqueName)) {
             LOGGER.warn("generated unique operationId `" + uniqueName + "`");
@@ -3042,6 +3074,45 @@ public class DefaultCodegen {
         co.baseName = tag;
     }
 
+    /**
+     * Positions of the operation ids in a group of operations, which operations are only appended to.
+     */
+    private static class OperationIdIndex {
+        private final Map<String, List<Integer>> positions = new HashMap<String, List<Integer>>();
+        private int size;
+
+        void update(List<CodegenOperation> opList) {
+            if (opList.size() < size) {
+                positions.clear();
+                size = 0;
+            }
+            for (; size < opList.size(); size++) {
+                String operationId = opList.get(size).operationId;
+                List<Integer> list = positions.get(operationId);
+                if (list == null) {
+                    list = new ArrayList<Integer>();
+                    positions.put(operationId, list);
+                }
+                list.add(size);
+            }
+        }
+
+        /**
+         * @return the first position at or after {@code from} of the operation id, or -1
+         */
+        int indexOf(String operationId, int from) {
+            List<Integer> list = positions.get(operationId);
+            if (list == null) {
+                return -1;
+            }
+            int i = Collections.binarySearch(list, from);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            return i < list.size() ? list.get(i) : -1;
+        }
+    }
+
     private void addParentContainer(CodegenModel m, String name, Property property) {
         final CodegenProperty tmp = fromProperty(name, property);
         addImport(m, tmp.complexType);
@@ -3066,21 +3137,7 @@ public class DefaultCodegen {
      * @return The underscored version of the word
      */
     public static String underscore(String word) {
-        String firstPattern = "([A-Z]+)([A-Z][a-z])";
-        String secondPattern = "([a-z\\d])([A-Z])";
-        String replacementPattern = "$1_$2";
-        // Replace package separator with slash.
-        word = word.replaceAll("\\.", "/"); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-        // Replace $ with two underscores for inner classes.
-        word = word.replaceAll("\\$", "__");
-        // Replace capital letter with _ plus lowercase letter.
-        word = word.replaceAll(firstPattern, replacementPattern);
-        word = word.replaceAll(secondPattern, replacementPattern);
-        word = word.replace('-', '_');
-        // replace space with underscore
-        word = word.replace(' ', '_');
-        word = word.toLowerCase();
-        return word;
+        return NamingUtils.underscore(word);
     }
 
     /**
@@ -3105,15 +3162,7 @@ public class DefaultCodegen {
      * @return The next name for the base name
      */
     private static String generateNextName(String name) {
-        Pattern pattern = Pattern.compile("\\d+\\z");
-        Matcher matcher = pattern.matcher(name);
-        if (matcher.find()) {
-            String numStr = matcher.group();
-            int num = Integer.parseInt(numStr) + 1;
-            return name.substring(0, name.length() - numStr.length()) + num;
-        } else {
-            return name + "2";
-        }
+        return NamingUtils.generateNextName(name);
     }
 
     protected void addImport(CodegenModel m, String type) {
@@ -3307,66 +3356,7 @@ public class DefaultCodegen {
      * @return camelized string
      */
     public static String camelize(String word, boolean lowercaseFirstLetter) {
-        // Replace all slashes with dots (package separator)
-        Pattern p = Pattern.compile("\\/(.?)");
-        Matcher m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst("." + m.group(1)/*.toUpperCase()*/); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-            m = p.matcher(word);
-        }
-
-        // case out dots
-        String[] parts = word.split("\\.");
-        StringBuilder f = new StringBuilder();
-        for (String z : parts) {
-            if (z.length() > 0) {
-                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
-            }
-        }
-        word = f.toString();
-
-        m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1)/*.toUpperCase()*/);
-            m = p.matcher(word);
-        }
-
-        // Uppercase the class name.
-        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
-        m = p.matcher(word);
-        if (m.find()) {
-            String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
-            rep = rep.replaceAll("\\$", "\\\\\\$");
-            word = m.replaceAll(rep);
-        }
-
-        // Remove all underscores (underscore_case to camelCase)
-        p = Pattern.compile("(_)(.)");
-        m = p.matcher(word);
-        while (m.find()) {
-            String original = m.group(2);
-            String upperCase = original.toUpperCase();
-            if (original.equals(upperCase)) {
-                word = word.replaceFirst("_", "");
-            } else {
-                word = m.replaceFirst(upperCase);
-            }
-            m = p.matcher(word);
-        }
-
-        // Remove all hyphens (hyphen-case to camelCase)
-        p = Pattern.compile("(-)(.)");
-        m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst(m.group(2).toUpperCase());
-            m = p.matcher(word);
-        }
-
-        if (lowercaseFirstLetter && word.length() > 0) {
-            word = word.substring(0, 1).toLowerCase() + word.substring(1);
-        }
-
-        return word;
+        return NamingUtils.camelize(word, lowercaseFirstLetter);
     }
 
     public String apiFilename(String templateName, String tag) {
@@ -3555,52 +3545,13 @@ public class DefaultCodegen {
      */
     @SuppressWarnings("static-method")
     public String sanitizeName(String name) {
-        // NOTE: performance wise, we should have written with 2 replaceAll to replace desired
-        // character with _ or empty character. Below aims to spell out different cases we've
-        // encountered so far and hopefully make it easier for others to add more special
-        // cases in the future.
-
         // better error handling when map/array type is invalid
         if (name == null) {
             LOGGER.error("String to be sanitized is null. Default to ERROR_UNKNOWN");
             return "ERROR_UNKNOWN";
         }
 
-        // if the name is just '$', map it to 'value' for the time being.
-        if ("$".equals(name)) {
-            return "value";
-        }
-
-        // input[] => input
-        name = name.replaceAll("\\[\\]", ""); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-
-        // input[a][b] => input_a_b
-        name = name.replaceAll("\\[", "_");
-        name = name.replaceAll("\\]", "");
-
-        // input(a)(b) => input_a_b
-        name = name.replaceAll("\\(", "_");
-        name = name.replaceAll("\\)", "");
-
-        // input.name => input_name
-        name = name.replaceAll("\\.", "_");
-
-        // input-name => input_name
-        name = name.replaceAll("-", "_");
-
-        // input name and age => input_name_and_age
-        name = name.replaceAll(" ", "_");
-
-        // remove everything else other than word, number and _
-        // $php_variable => php_variable
-        if (allowUnicodeIdentifiers) { //could be converted to a single line with ?: operator
-            name = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
-        }
-        else {
-            name = name.replaceAll("\\W", "");
-        }
-
-        return name;
+        return NamingUtils.sanitizeName(name, allowUnicodeIdentifiers);
     }
 
     /**
@@ -3613,7 +3564,7 @@ public class DefaultCodegen {
         tag = camelize(sanitizeName(tag));
 
         // tag starts with numbers
-        if (tag.matches("^\\d.*")) {
+        if (STARTS_WITH_DIGIT.matcher(tag).matches()) {
             tag = "Class" + tag;
         }
 
@@ -3822,6 +3773,24 @@ public class DefaultCodegen {
         this.ignoreFilePathOverride = ignoreFileOverride;
     }
 
+    /**
+     * Sets the names looked up by the templates. JSON renderings of the spec (modelJson, jsonSchema) no template
+     * refers to are deferred until asked for, the others are rendered right away as the spec may change later.
+     *
+     * @param templateFields referenced names, or null if unknown
+     */
+    public void setTemplateFields(Set<String> templateFields) {
+        this.templateFields = templateFields;
+    }
+
+    /**
+     * @param name name of a template field
+     * @return true unless the templates are known and none refers to the field
+     */
+    protected boolean isTemplateField(String name) {
+        return templateFields == null || templateFields.contains(name);
+    }
+
     public boolean convertPropertyToBoolean(String propertyKey) {
         boolean booleanValue = false;
         if (additionalProperties.containsKey(propertyKey)) {
@@ -3834,10 +3803,25 @@ public class DefaultCodegen {
     protected List<Map<String, String>> getExamples(Map<String, Model> definitions, Map<String, Object> examples, List<String> mediaTypes, Object object) {
         if (object instanceof Property) {
             Property responseProperty = (Property) object;
-            return new ExampleGenerator(definitions).generate(examples, mediaTypes, responseProperty);
+            return getExampleGenerator(definitions).generate(examples, mediaTypes, responseProperty);
         }
         // this must be a model name instead
-        return new ExampleGenerator(definitions).generate(examples, mediaTypes, object.toString());
+        return getExampleGenerator(definitions).generate(examples, mediaTypes, object.toString());
+    }
+
+    /**
+     * Get the example generator of the given model definitions. It is shared by all operations of a
+     * generation, so that the example of a model used by many operations is only built once.
+     *
+     * @param definitions a map of Swagger models
+     * @return the example generator
+     */
+    protected ExampleGenerator getExampleGenerator(Map<String, Model> definitions) {
+        if (exampleGenerator == null || exampleDefinitions != definitions) {
+            exampleGenerator = new ExampleGenerator(definitions);
+            exampleDefinitions = definitions;
+        }
+        return exampleGenerator;
     }
 
     public void writePropertyBack(String propertyKey, boolean value) {
@@ -10,7 +10,7 @@ import io.swagger.models.auth.OAuth2Definition;
 import io.swagger.models.auth.SecuritySchemeDefinition;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.util.Json;
-import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
@@ -18,9 +18,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class DefaultGenerator extends AbstractGenerator implements Generator {
+    private static final Pattern PARTIAL = Pattern.compile("\\{\\{>\\s*([^\\s}]+)\\s*}}");
+
     protected final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
     protected CodegenConfig config;
     protected ClientOptInput opts;
@@ -37,14 +50,47 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected String basePath;
     protected String basePathWithoutHost;
     protected String contextPath;
+    protected TemplateCache templateCache = new TemplateCache();
+    private Mustache.Compiler templateCompiler;
+    private String templateScope;
+    protected int parallelism = 1;
+    protected GeneratorProperties generatorProperties = new GeneratorProperties();
+    private ExecutorService renderExecutor;
+    private final List<Future<File>> pendingRenders = new ArrayList<Future<File>>();
     private Map<String, String> generatorPropertyDefaults = new HashMap<>();
+    protected boolean incremental;
+    private GenerationManifest manifest;
+    private String runDigest;
+    private final Map<Object, String> dataDigests = new IdentityHashMap<Object, String>();
+    private final Map<String, String> templateDigests = new HashMap<String, String>();
+    private final AtomicInteger skippedFiles = new AtomicInteger();
+    protected GenerationMetrics metrics = new GenerationMetrics();
+    private Set<String> templateFields;
+    private Map<String, Object> globalContext;
 
     @Override
     public Generator opts(ClientOptInput opts) {
         this.opts = opts;
         this.swagger = opts.getSwagger();
         this.config = opts.getConfig();
+        this.templateFields = null;
+        // compiled for the previous config, whose compiler settings and templates may differ
+        this.templateCompiler = null;
+        this.templateScope = null;
         this.config.additionalProperties().putAll(opts.getOpts().getProperties());
+        this.parallelism = Math.max(1, opts.getParallelism());
+        this.incremental = opts.isIncremental();
+        if (opts.getGeneratorProperties() != null) {
+            this.generatorProperties = opts.getGeneratorProperties();
+        }
+        if (opts.getMetrics() != null) {
+            this.metrics = opts.getMetrics();
+        }
+        if (opts.getSink() != null) {
+            setSink(opts.getSink());
+        } else if (opts.isWriteIfChanged() || opts.isLinkStaticFiles()) {
+            setSink(new FileGeneratorSink(opts.isWriteIfChanged(), opts.isLinkStaticFiles()));
+        }
 
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
         if (ignoreFileLocation != null) {
@@ -74,8 +120,8 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     }
 
     /**
-     * Set generator properties otherwise pulled from system properties.
-     * Useful for running tests in parallel without relying on System.properties.
+     * Set generator property defaults, used when a switch is neither set on the run's
+     * {@link GeneratorProperties} nor as a system property.
      * @param key The system property key
      * @param value The system property value
      */
@@ -84,6 +130,105 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         this.generatorPropertyDefaults.put(key, value);
     }
 
+    /**
+     * Share a template cache between generators, e.g. when generating several clients in one JVM.
+     * @param templateCache The cache holding compiled templates and partials
+     */
+    public void setTemplateCache(TemplateCache templateCache) {
+        this.templateCache = templateCache;
+    }
+
+    public TemplateCache getTemplateCache() {
+        return templateCache;
+    }
+
+    /**
+     * Set the number of threads used to render and write model and API files.
+     * With the default of 1 everything is rendered on the calling thread.
+     * @param parallelism Number of rendering threads
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Only render files whose inputs changed since the previous run, see {@link GenerationManifest}.
+     * Files generated before but no longer part of the output are removed.
+     * @param incremental true to generate incrementally
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * @return number of files left out of the runs of this generator: existing files that must not be
+     * overwritten, files excluded by .swagger-codegen-ignore and, when generating incrementally, files
+     * whose inputs did not change
+     */
+    public int getSkippedFiles() {
+        return skippedFiles.get();
+    }
+
+    /**
+     * @return timings and counts of the generation, see {@link GenerationMetrics}
+     */
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Names looked up by the templates of the generator: its model, api, documentation, test and supporting file
+     * templates and the partials they include. Template data that is costly to compute, such as
+     * {@link CodegenModel#getModelJson()}, is only computed up front when a template refers to it.
+     *
+     * @return the referenced names, sorted
+     */
+    public Set<String> getTemplateFields() {
+        if (templateFields == null) {
+            List<String> templateFiles = new ArrayList<String>();
+            for (Map<String, String> templates : Arrays.asList(config.modelTemplateFiles(), config.apiTemplateFiles(),
+                    config.modelDocTemplateFiles(), config.apiDocTemplateFiles(), config.modelTestTemplateFiles(),
+                    config.apiTestTemplateFiles())) {
+                for (String templateName : templates.keySet()) {
+                    templateFiles.add(getFullTemplateFile(config, templateName));
+                }
+            }
+            for (SupportingFile support : config.supportingFiles()) {
+                if (!support.templateFile.endsWith("mustache")) {
+                    continue;
+                }
+                if (support instanceof GlobalSupportingFile) {
+                    templateFiles.add(config.getCommonTemplateDir() + File.separator + support.templateFile);
+                } else {
+                    templateFiles.add(getFullTemplateFile(config, support.templateFile));
+                }
+            }
+
+            Set<String> fields = new TreeSet<String>();
+            Set<String> seen = new HashSet<String>();
+            while (!templateFiles.isEmpty()) {
+                String templateFile = templateFiles.remove(templateFiles.size() - 1);
+                if (!seen.add(templateFile)) {
+                    continue;
+                }
+                String source;
+                try {
+                    source = readPartial(templateFile);
+                } catch (RuntimeException e) {
+                    // missing templates fail when they are rendered
+                    continue;
+                }
+                List<String> partials = new ArrayList<String>();
+                TemplateNames.scan(source, fields, partials);
+                for (String partial : partials) {
+                    templateFiles.add(getFullTemplateFile(config, partial + ".mustache"));
+                }
+            }
+            templateFields = Collections.unmodifiableSet(fields);
+        }
+        return templateFields;
+    }
+
     protected Boolean getGeneratorPropertyDefaultSwitch(final String key, final Boolean defaultValue) {
         String result = null;
         if (this.generatorPropertyDefaults.containsKey(key)) {
@@ -125,9 +270,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     protected void configureGeneratorProperties() {
         // allows generating only models by specifying a CSV of models to generate, or empty for all
         // NOTE: Boolean.TRUE is required below rather than `true` because of JVM boxing constraints and type inference.
-        isGenerateApis = System.getProperty(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
-        isGenerateModels = System.getProperty(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
-        isGenerateSupportingFiles = System.getProperty(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
+        isGenerateApis = generatorProperties.get(CodegenConstants.APIS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.APIS, null);
+        isGenerateModels = generatorProperties.get(CodegenConstants.MODELS) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODELS, null);
+        isGenerateSupportingFiles = generatorProperties.get(CodegenConstants.SUPPORTING_FILES) != null ? Boolean.TRUE : getGeneratorPropertyDefaultSwitch(CodegenConstants.SUPPORTING_FILES, null);
 
         if (isGenerateApis == null && isGenerateModels == null && isGenerateSupportingFiles == null) {
             // no specifics are set, generate everything
@@ -145,10 +290,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
         // model/api tests and documentation options rely on parent generate options (api or model) and no other options.
         // They default to true in all scenarios and can only be marked false explicitly
-        isGenerateModelTests = System.getProperty(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
-        isGenerateModelDocumentation = System.getProperty(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
-        isGenerateApiTests = System.getProperty(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
-        isGenerateApiDocumentation = System.getProperty(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(System.getProperty(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
+        isGenerateModelTests = generatorProperties.get(CodegenConstants.MODEL_TESTS) != null ? Boolean.valueOf(generatorProperties.get(CodegenConstants.MODEL_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_TESTS, true);
+        isGenerateModelDocumentation = generatorProperties.get(CodegenConstants.MODEL_DOCS) != null ? Boolean.valueOf(generatorProperties.get(CodegenConstants.MODEL_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.MODEL_DOCS, true);
+        isGenerateApiTests = generatorProperties.get(CodegenConstants.API_TESTS) != null ? Boolean.valueOf(generatorProperties.get(CodegenConstants.API_TESTS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_TESTS, true);
+        isGenerateApiDocumentation = generatorProperties.get(CodegenConstants.API_DOCS) != null ? Boolean.valueOf(generatorProperties.get(CodegenConstants.API_DOCS)) : getGeneratorPropertyDefaultSwitch(CodegenConstants.API_DOCS, true);
 
 
         // Additional properties added for tests to exclude references in project related files
@@ -164,10 +309,11 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if(!isGenerateApiTests && !isGenerateModelTests) {
             config.additionalProperties().put(CodegenConstants.EXCLUDE_TESTS, true);
         }
-        if (System.getProperty("debugSwagger") != null) {
+        if (generatorProperties.get("debugSwagger") != null) {
             Json.prettyPrint(swagger);
         }
         config.processOpts();
+        config.setTemplateFields(getTemplateFields());
         config.preprocessSwagger(swagger);
         config.additionalProperties().put("generatorVersion", ImplementationVersion.read());
         config.additionalProperties().put("generatedDate", DateTime.now().toString());
@@ -250,8 +396,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             String suffix = config.modelTestTemplateFiles().get(templateName);
             String filename = config.modelTestFileFolder() + File.separator + config.toModelTestFilename(modelName) + suffix;
             // do not overwrite test file that already exists
-            if (new File(filename).exists()) {
+            if (getSink().exists(new File(filename))) {
                 LOGGER.info("File exists. Skipped overwriting " + filename);
+                skipFile(filename);
                 continue;
             }
             File written = processTemplateToFile(models, templateName, filename);
@@ -267,6 +414,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             String filename = config.modelDocFileFolder() + File.separator + config.toModelDocFilename(modelName) + suffix;
             if (!config.shouldOverwrite(filename)) {
                 LOGGER.info("Skipped overwriting " + filename);
+                skipFile(filename);
                 continue;
             }
             File written = processTemplateToFile(models, templateName, filename);
@@ -287,7 +435,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
 
-        String modelNames = System.getProperty("models");
+        String modelNames = generatorProperties.get("models");
         Set<String> modelsToGenerate = null;
         if (modelNames != null && !modelNames.isEmpty()) {
             modelsToGenerate = new HashSet<String>(Arrays.asList(modelNames.split(",")));
@@ -304,56 +452,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             modelKeys = updatedKeys;
         }
 
-        // store all processed models
-        Map<String, Object> allProcessedModels = new TreeMap<String, Object>(new Comparator<String>() {
-            @Override
-            public int compare(String o1, String o2) {
-                Model model1 = definitions.get(o1);
-                Model model2 = definitions.get(o2);
-
-                int model1InheritanceDepth = getInheritanceDepth(model1);
-                int model2InheritanceDepth = getInheritanceDepth(model2);
-
-                if (model1InheritanceDepth == model2InheritanceDepth) {
-                    return ObjectUtils.compare(config.toModelName(o1), config.toModelName(o2));
-                } else if (model1InheritanceDepth > model2InheritanceDepth) {
-                    return 1;
-                } else {
-                    return -1;
-                }
-            }
-
-            private int getInheritanceDepth(Model model) {
-                int inheritanceDepth = 0;
-                Model parent = getParent(model);
-
-                while (parent != null) {
-                    inheritanceDepth++;
-                    parent = getParent(parent);
-                }
-
-                return inheritanceDepth;
-            }
-
-            private Model getParent(Model model) {
-                if (model instanceof ComposedModel) {
-                    Model parent = ((ComposedModel) model).getParent();
-                    if (parent == null) {
-                        // check for interfaces
-                        List<RefModel> interfaces = ((ComposedModel) model).getInterfaces();
-                        if (interfaces.size() > 0) {
-                            RefModel interf = interfaces.get(0);
-                            return definitions.get(interf.getSimpleRef());
-                        }
-                    }
-                    if (parent != null) {
-                        return definitions.get(parent.getReference());
-                    }
-                }
-
-                return null;
-            }
-        });
+        // store all processed models, parents before their children
+        InheritanceOrder inheritanceOrder = new InheritanceOrder(config, definitions);
+        for (String name : modelKeys) {
+            // fails early on inheritance cycles
+            inheritanceOrder.getInheritanceDepth(definitions.get(name));
+        }
+        Map<String, Object> allProcessedModels = new TreeMap<String, Object>(inheritanceOrder);
 
         // process models only
         for (String name : modelKeys) {
@@ -363,15 +468,16 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     LOGGER.info("Model " + name + " not imported due to import mapping");
                     continue;
                 }
+                GenerationMetrics.Timer timer = metrics.start(GenerationMetrics.PROCESS_MODELS);
                 Model model = definitions.get(name);
                 Map<String, Model> modelMap = new HashMap<String, Model>();
                 modelMap.put(name, model);
                 Map<String, Object> models = processModels(config, modelMap, definitions);
                 if (models != null) {
                     models.put("classname", config.toModelName(name));
-                    models.putAll(config.additionalProperties());
-                    allProcessedModels.put(name, models);
+                    allProcessedModels.put(name, LayeredMap.over(getGlobalContext(), models));
                 }
+                metrics.addModel(name, timer.stop());
             } catch (Exception e) {
                 String message = "Could not process model '" + name + "'" + ". Please make sure that your schema is correct!";
                 LOGGER.error(message, e);
@@ -380,9 +486,12 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         }
 
         // post process all processed models
+        GenerationMetrics.Timer timer = metrics.start(GenerationMetrics.POST_PROCESS_ALL_MODELS);
         allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        timer.stop();
 
         // generate files based on processed models
+        timer = metrics.start(GenerationMetrics.RENDER_MODELS);
         for (String modelName : allProcessedModels.keySet()) {
             Map<String, Object> models = (Map<String, Object>) allProcessedModels.get(modelName);
             models.put("modelPackage", config.modelPackage());
@@ -407,6 +516,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     String filename = config.modelFileFolder() + File.separator + config.toModelFilename(modelName) + suffix;
                     if (!config.shouldOverwrite(filename)) {
                         LOGGER.info("Skipped overwriting " + filename);
+                        skipFile(filename);
                         continue;
                     }
                     File written = processTemplateToFile(models, templateName, filename);
@@ -425,20 +535,132 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 throw new RuntimeException("Could not generate model '" + modelName + "'", e);
             }
         }
-        if (System.getProperty("debugModels") != null) {
+        awaitRendering();
+        timer.stop();
+        if (generatorProperties.get("debugModels") != null) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
         }
 
     }
 
+    /**
+     * Orders definition names by inheritance depth, then by model name. The depth of a model is the length of its
+     * chain of parents, or of first interfaces for composed models without a parent. Depths and model names are
+     * computed once per definition, walking each chain only up to the first model whose depth is known, so that
+     * ordering is linear in the number of definitions rather than in comparisons times depth.
+     */
+    static class InheritanceOrder implements Comparator<String> {
+        private final CodegenConfig config;
+        private final Map<String, Model> definitions;
+        private final Map<Model, Integer> depths = new IdentityHashMap<Model, Integer>();
+        private final Map<String, String> modelNames = new HashMap<String, String>();
+
+        InheritanceOrder(CodegenConfig config, Map<String, Model> definitions) {
+            this.config = config;
+            this.definitions = definitions;
+        }
+
+        @Override
+        public int compare(String o1, String o2) {
+            int depth1 = getInheritanceDepth(definitions.get(o1));
+            int depth2 = getInheritanceDepth(definitions.get(o2));
+            if (depth1 != depth2) {
+                return depth1 > depth2 ? 1 : -1;
+            }
+            return ObjectUtils.compare(getModelName(o1), getModelName(o2));
+        }
+
+        private String getModelName(String name) {
+            String modelName = modelNames.get(name);
+            if (modelName == null) {
+                modelName = config.toModelName(name);
+                modelNames.put(name, modelName);
+            }
+            return modelName;
+        }
+
+        /**
+         * @param model a definition, may be null
+         * @return number of ancestors of the model
+         * @throws IllegalArgumentException if the model inherits from itself
+         */
+        int getInheritanceDepth(Model model) {
+            if (model == null) {
+                return 0;
+            }
+            Integer depth = depths.get(model);
+            if (depth != null) {
+                return depth;
+            }
+            // walk up to the root or to a model of known depth, then number the chain on the way back
+            List<Model> chain = new ArrayList<Model>();
+            Map<Model, Boolean> onChain = new IdentityHashMap<Model, Boolean>();
+            Model current = model;
+            int base = -1;
+            while (current != null) {
+                Integer known = depths.get(current);
+                if (known != null) {
+                    base = known;
+                    break;
+                }
+                if (onChain.put(current, Boolean.TRUE) != null) {
+                    throw new IllegalArgumentException("Inheritance cycle between models: " + describeCycle(chain, current));
+                }
+                chain.add(current);
+                current = getParent(current);
+            }
+            for (int i = chain.size() - 1; i >= 0; i--) {
+                depths.put(chain.get(i), ++base);
+            }
+            return depths.get(model);
+        }
+
+        private Model getParent(Model model) {
+            if (model instanceof ComposedModel) {
+                Model parent = ((ComposedModel) model).getParent();
+                if (parent == null) {
+                    // check for interfaces
+                    List<RefModel> interfaces = ((ComposedModel) model).getInterfaces();
+                    if (interfaces != null && interfaces.size() > 0) {
+                        RefModel interf = interfaces.get(0);
+                        return definitions.get(interf.getSimpleRef());
+                    }
+                }
+                if (parent != null) {
+                    return definitions.get(parent.getReference());
+                }
+            }
+
+            return null;
+        }
+
+        private String describeCycle(List<Model> chain, Model repeated) {
+            Map<Model, String> names = new IdentityHashMap<Model, String>();
+            for (Map.Entry<String, Model> entry : definitions.entrySet()) {
+                names.put(entry.getValue(), entry.getKey());
+            }
+            int start = 0;
+            while (chain.get(start) != repeated) {
+                start++;
+            }
+            StringBuilder cycle = new StringBuilder();
+            for (Model model : chain.subList(start, chain.size())) {
+                cycle.append(names.get(model)).append(" -> ");
+            }
+            return cycle.append(names.get(repeated)).toString();
+        }
+    }
+
     protected void generateApis(List<File> files, List<Object> allOperations, List<Object> allModels) {
         if (!isGenerateApis) {
             return;
         }
+        GenerationMetrics.Timer timer = metrics.start(GenerationMetrics.PROCESS_PATHS);
         Map<String, List<CodegenOperation>> paths = processPaths(swagger.getPaths());
+        timer.stop();
         Set<String> apisToGenerate = null;
-        String apiNames = System.getProperty("apis");
+        String apiNames = generatorProperties.get("apis");
         if (apiNames != null && !apiNames.isEmpty()) {
             apisToGenerate = new HashSet<String>(Arrays.asList(apiNames.split(",")));
         }
@@ -451,24 +673,29 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
             paths = updatedPaths;
         }
+        // when rendering in parallel, all bundles are built before any file is rendered so that
+        // post-processing of one tag never races with the rendering of another
+        Map<String, Map<String, Object>> deferred = new LinkedHashMap<String, Map<String, Object>>();
         for (String tag : paths.keySet()) {
             try {
+                timer = metrics.start(GenerationMetrics.PROCESS_OPERATIONS);
                 List<CodegenOperation> ops = paths.get(tag);
+                metrics.addOperations(ops.size());
                 Collections.sort(ops, new Comparator<CodegenOperation>() {
                     @Override
                     public int compare(CodegenOperation one, CodegenOperation another) {
                         return ObjectUtils.compare(one.operationId, another.operationId);
                     }
                 });
-                Map<String, Object> operation = processOperations(config, tag, ops, allModels);
-
-                operation.put("basePath", basePath);
-                operation.put("basePathWithoutHost", basePathWithoutHost);
-                operation.put("contextPath", contextPath);
-                operation.put("baseName", tag);
-                operation.put("apiPackage", config.apiPackage());
-                operation.put("modelPackage", config.modelPackage());
-                operation.putAll(config.additionalProperties());
+                Map<String, Object> processed = processOperations(config, tag, ops, allModels);
+
+                processed.put("basePath", basePath);
+                processed.put("basePathWithoutHost", basePathWithoutHost);
+                processed.put("contextPath", contextPath);
+                processed.put("baseName", tag);
+                processed.put("apiPackage", config.apiPackage());
+                processed.put("modelPackage", config.modelPackage());
+                LayeredMap operation = LayeredMap.over(getGlobalContext(), processed);
                 operation.put("classname", config.toApiName(tag));
                 operation.put("classVarName", config.toApiVarName(tag));
                 operation.put("importPath", config.toApiImport(tag));
@@ -488,70 +715,92 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 processMimeTypes(swagger.getConsumes(), operation, "consumes");
                 processMimeTypes(swagger.getProduces(), operation, "produces");
 
-                allOperations.add(new HashMap<String, Object>(operation));
-                for (int i = 0; i < allOperations.size(); i++) {
-                    Map<String, Object> oo = (Map<String, Object>) allOperations.get(i);
-                    if (i < (allOperations.size() - 1)) {
-                        oo.put("hasMore", "true");
-                    }
-                }
+                allOperations.add(operation.copy());
 
-                for (String templateName : config.apiTemplateFiles().keySet()) {
-                    String filename = config.apiFilename(templateName, tag);
-                    if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
-                        LOGGER.info("Skipped overwriting " + filename);
-                        continue;
-                    }
+                timer.stop();
 
-                    File written = processTemplateToFile(operation, templateName, filename);
-                    if (written != null) {
-                        files.add(written);
-                    }
+                if (isParallel()) {
+                    deferred.put(tag, operation);
+                } else {
+                    timer = metrics.start(GenerationMetrics.RENDER_APIS);
+                    generateApiFiles(files, tag, operation);
+                    timer.stop();
                 }
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
+            }
+        }
+        // only supporting files see allOperations, so the flags are set once all apis were added
+        for (int i = 0; i < allOperations.size() - 1; i++) {
+            ((Map<String, Object>) allOperations.get(i)).put("hasMore", "true");
+        }
+        timer = metrics.start(GenerationMetrics.RENDER_APIS);
+        for (Map.Entry<String, Map<String, Object>> entry : deferred.entrySet()) {
+            try {
+                generateApiFiles(files, entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                throw new RuntimeException("Could not generate api file for '" + entry.getKey() + "'", e);
+            }
+        }
+        awaitRendering();
+        timer.stop();
+        if (generatorProperties.get("debugOperations") != null) {
+            LOGGER.info("############ Operation info ############");
+            Json.prettyPrint(allOperations);
+        }
 
-                if(isGenerateApiTests) {
-                    // to generate api test files
-                    for (String templateName : config.apiTestTemplateFiles().keySet()) {
-                        String filename = config.apiTestFilename(templateName, tag);
-                        // do not overwrite test file that already exists
-                        if (new File(filename).exists()) {
-                            LOGGER.info("File exists. Skipped overwriting " + filename);
-                            continue;
-                        }
+    }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
-                    }
+    protected void generateApiFiles(List<File> files, String tag, Map<String, Object> operation) throws IOException {
+        for (String templateName : config.apiTemplateFiles().keySet()) {
+            String filename = config.apiFilename(templateName, tag);
+            if (!config.shouldOverwrite(filename) && getSink().exists(new File(filename))) {
+                LOGGER.info("Skipped overwriting " + filename);
+                skipFile(filename);
+                continue;
+            }
+
+            File written = processTemplateToFile(operation, templateName, filename);
+            if (written != null) {
+                files.add(written);
+            }
+        }
+
+        if(isGenerateApiTests) {
+            // to generate api test files
+            for (String templateName : config.apiTestTemplateFiles().keySet()) {
+                String filename = config.apiTestFilename(templateName, tag);
+                // do not overwrite test file that already exists
+                if (getSink().exists(new File(filename))) {
+                    LOGGER.info("File exists. Skipped overwriting " + filename);
+                    skipFile(filename);
+                    continue;
                 }
 
+                File written = processTemplateToFile(operation, templateName, filename);
+                if (written != null) {
+                    files.add(written);
+                }
+            }
+        }
 
-                if(isGenerateApiDocumentation) {
-                    // to generate api documentation files
-                    for (String templateName : config.apiDocTemplateFiles().keySet()) {
-                        String filename = config.apiDocFilename(templateName, tag);
-                        if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
-                            LOGGER.info("Skipped overwriting " + filename);
-                            continue;
-                        }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
-                    }
+        if(isGenerateApiDocumentation) {
+            // to generate api documentation files
+            for (String templateName : config.apiDocTemplateFiles().keySet()) {
+                String filename = config.apiDocFilename(templateName, tag);
+                if (!config.shouldOverwrite(filename) && getSink().exists(new File(filename))) {
+                    LOGGER.info("Skipped overwriting " + filename);
+                    skipFile(filename);
+                    continue;
                 }
 
-            } catch (Exception e) {
-                throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
+                File written = processTemplateToFile(operation, templateName, filename);
+                if (written != null) {
+                    files.add(written);
+                }
             }
         }
-        if (System.getProperty("debugOperations") != null) {
-            LOGGER.info("############ Operation info ############");
-            Json.prettyPrint(allOperations);
-        }
-
     }
 
     protected void generateSupportingFiles(List<File> files, Map<String, Object> bundle) {
@@ -559,7 +808,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             return;
         }
         Set<String> supportingFilesToGenerate = null;
-        String supportingFiles = System.getProperty(CodegenConstants.SUPPORTING_FILES);
+        String supportingFiles = generatorProperties.get(CodegenConstants.SUPPORTING_FILES);
         if (supportingFiles != null && !supportingFiles.isEmpty()) {
             supportingFilesToGenerate = new HashSet<String>(Arrays.asList(supportingFiles.split(",")));
         }
@@ -570,13 +819,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 if (StringUtils.isNotEmpty(support.folder)) {
                     outputFolder += File.separator + support.folder;
                 }
-                File of = new File(outputFolder);
-                if (!of.isDirectory()) {
-                    of.mkdirs();
-                }
                 String outputFilename = outputFolder + File.separator + support.destinationFilename.replace('/', File.separatorChar);
                 if (!config.shouldOverwrite(outputFilename)) {
                     LOGGER.info("Skipped overwriting " + outputFilename);
+                    skipFile(outputFilename);
                     continue;
                 }
                 String templateFile;
@@ -595,45 +841,45 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
                 if (ignoreProcessor.allowsFile(new File(outputFilename))) {
                     if (templateFile.endsWith("mustache")) {
-                        String template = readTemplate(templateFile);
-                        Mustache.Compiler compiler = Mustache.compiler();
-                        compiler = config.processCompiler(compiler);
-                        Template tmpl = compiler
-                                .withLoader(new Mustache.TemplateLoader() {
-                                    @Override
-                                    public Reader getTemplate(String name) {
-                                        return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                                    }
-                                })
-                                .defaultValue("")
-                                .compile(template);
-
-                        writeToFile(outputFilename, tmpl.execute(bundle));
-                        files.add(new File(outputFilename));
-                    } else {
-                        InputStream in = null;
+                        Template tmpl = compileTemplate(templateFile);
 
-                        try {
-                            in = new FileInputStream(templateFile);
-                        } catch (Exception e) {
-                            // continue
-                        }
-                        if (in == null) {
-                            in = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(templateFile));
-                        }
+                        files.add(renderToFile(tmpl, templateFile, bundle, outputFilename, false));
+                    } else {
                         File outputFile = new File(outputFilename);
-                        OutputStream out = new FileOutputStream(outputFile, false);
-                        if (in != null) {
+                        File sourceFile = getStaticFile(templateFile);
+                        if (sourceFile != null && getSink() instanceof FileGeneratorSink) {
                             LOGGER.info("writing file " + outputFile);
-                            IOUtils.copy(in, out);
-                            out.close();
+                            ((FileGeneratorSink) getSink()).copy(sourceFile, outputFile);
+                            metrics.addFile(sourceFile.length());
                         } else {
-                            LOGGER.error("can't open " + templateFile + " for input");
+                            InputStream in = null;
+
+                            try {
+                                in = new FileInputStream(templateFile);
+                            } catch (Exception e) {
+                                // continue
+                            }
+                            if (in == null) {
+                                in = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(templateFile));
+                            }
+                            if (in != null) {
+                                LOGGER.info("writing file " + outputFile);
+                                CountingInputStream counting = new CountingInputStream(in);
+                                try {
+                                    getSink().write(outputFile, counting);
+                                } finally {
+                                    counting.close();
+                                }
+                                metrics.addFile(counting.getByteCount());
+                            } else {
+                                LOGGER.error("can't open " + templateFile + " for input");
+                            }
                         }
                         files.add(outputFile);
                     }
                 } else {
                     LOGGER.info("Skipped generation of " + outputFilename + " due to rule in .swagger-codegen-ignore");
+                    skippedFiles.incrementAndGet();
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate supporting file '" + support + "'", e);
@@ -645,7 +891,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         final String swaggerCodegenIgnore = ".swagger-codegen-ignore";
         String ignoreFileNameTarget = config.outputFolder() + File.separator + swaggerCodegenIgnore;
         File ignoreFile = new File(ignoreFileNameTarget);
-        if (isGenerateSwaggerMetadata && !ignoreFile.exists()) {
+        if (isGenerateSwaggerMetadata && !getSink().exists(ignoreFile)) {
             String ignoreFileNameSource = File.separator + config.getCommonTemplateDir() + File.separator + swaggerCodegenIgnore;
             String ignoreFileContents = readResourceContents(ignoreFileNameSource);
             try {
@@ -687,10 +933,59 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
     }
 
+    /**
+     * Bundles share an unmodifiable snapshot of the additional properties rather than each holding a copy of
+     * them. A new snapshot is only taken when the config changed its additional properties since the last one,
+     * e.g. while post-processing models, so each bundle still sees the values of the time it was built.
+     *
+     * @return the additional properties of the config
+     */
+    protected Map<String, Object> getGlobalContext() {
+        Map<String, Object> properties = config.additionalProperties();
+        if (globalContext == null || !isSnapshot(globalContext, properties)) {
+            globalContext = Collections.unmodifiableMap(new HashMap<String, Object>(properties));
+        }
+        return globalContext;
+    }
+
+    private static boolean isSnapshot(Map<String, Object> snapshot, Map<String, Object> properties) {
+        if (snapshot.size() != properties.size()) {
+            return false;
+        }
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            Object value = entry.getValue();
+            if (snapshot.get(entry.getKey()) != value || (value == null && !snapshot.containsKey(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param templateFile path of a static supporting file
+     * @return the file on the file system or in a class path folder, or null if it can only be read as a
+     * stream, e.g. from a jar
+     */
+    private File getStaticFile(String templateFile) {
+        File file = new File(templateFile);
+        if (file.isFile()) {
+            return file;
+        }
+        URL resource = this.getClass().getClassLoader().getResource(getCPResourcePath(templateFile));
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            file = new File(resource.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+        return file.isFile() ? file : null;
+    }
+
     protected Map<String, Object> buildSupportFileBundle(List<Object> allOperations, List<Object> allModels) {
 
-        Map<String, Object> bundle = new HashMap<String, Object>();
-        bundle.putAll(config.additionalProperties());
+        Map<String, Object> bundle = new LayeredMap(getGlobalContext());
         bundle.put("apiPackage", config.apiPackage());
 
         Map<String, Object> apis = new HashMap<String, Object>();
@@ -725,7 +1020,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
         config.postProcessSupportingFileData(bundle);
 
-        if (System.getProperty("debugSupportingFiles") != null) {
+        if (generatorProperties.get("debugSupportingFiles") != null) {
             LOGGER.info("############ Supporting file info ############");
             Json.prettyPrint(bundle);
         }
@@ -738,25 +1033,75 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (swagger == null || config == null) {
             throw new RuntimeException("missing swagger input or config!");
         }
+        GenerationMetrics.Timer timer = metrics.start(GenerationMetrics.CONFIGURE);
         configureGeneratorProperties();
         configureSwaggerInfo();
+        loadManifest();
+        timer.stop();
 
         // resolve inline models
+        timer = metrics.start(GenerationMetrics.INLINE_MODELS);
         InlineModelResolver inlineModelResolver = new InlineModelResolver();
         inlineModelResolver.flatten(swagger);
+        timer.stop();
 
         List<File> files = new ArrayList<File>();
-        // models
         List<Object> allModels = new ArrayList<Object>();
-        generateModels(files, allModels);
-        // apis
         List<Object> allOperations = new ArrayList<Object>();
-        generateApis(files, allOperations, allModels);
+        if (isParallel()) {
+            // compile templates up front, the compiler is not created lazily from rendering threads
+            getTemplateCompiler();
+            renderExecutor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "swagger-codegen-render-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        try {
+            // models
+            generateModels(files, allModels);
+            // apis
+            generateApis(files, allOperations, allModels);
+        } finally {
+            if (renderExecutor != null) {
+                renderExecutor.shutdownNow();
+                renderExecutor = null;
+                pendingRenders.clear();
+            }
+        }
 
         // supporting files
+        timer = metrics.start(GenerationMetrics.SUPPORTING_FILE_BUNDLE);
         Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
+        timer.stop();
+        timer = metrics.start(GenerationMetrics.RENDER_SUPPORTING_FILES);
         generateSupportingFiles(files, bundle);
+        timer.stop();
+        if (generatorProperties.get("debugTemplates") != null) {
+            LOGGER.info("############ Template info ############");
+            TemplateIndex templateIndex = getTemplateIndex(config);
+            for (Map.Entry<String, TemplateIndex.Layer> entry : templateIndex.getResolvedLayers().entrySet()) {
+                LOGGER.info(entry.getKey() + ": " + entry.getValue() + " " + templateIndex.resolve(entry.getKey()));
+            }
+        }
+        timer = metrics.start(GenerationMetrics.FINISH);
+        saveManifest();
         config.processSwagger(swagger);
+        timer.stop();
+        metrics.addSkippedFiles(skippedFiles.get());
+        metrics.finish();
+        LOGGER.info("Template cache: " + templateCache);
+        if (getSink() instanceof FileGeneratorSink) {
+            FileGeneratorSink sink = (FileGeneratorSink) getSink();
+            LOGGER.info(String.format("Files: %d written, %d unchanged, %d linked, %d skipped", sink.getWritten(),
+                    sink.getUnchanged(), sink.getLinked(), skippedFiles.get()));
+        }
+        LOGGER.info("Generation metrics: " + metrics);
         return files;
     }
 
@@ -764,25 +1109,227 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
         if (ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
             String templateFile = getFullTemplateFile(config, templateName);
-            String template = readTemplate(templateFile);
+            Template tmpl = compileTemplate(templateFile);
+            return renderToFile(tmpl, templateFile, templateData, adjustedOutputFilename, true);
+        }
+
+        LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .swagger-codegen-ignore");
+        skippedFiles.incrementAndGet();
+        return null;
+    }
+
+    protected boolean isParallel() {
+        return parallelism > 1;
+    }
+
+    /**
+     * Render a template to a file, on the render executor when rendering in parallel. When generating
+     * incrementally, the file is left untouched if its inputs did not change since the previous run.
+     * Component files are rendered per model or API tag, the others are supporting files.
+     */
+    private File renderToFile(final Template tmpl, final String templateFile, final Map<String, Object> templateData,
+                              final String outputFilename, final boolean component) throws IOException {
+        File output = new File(outputFilename);
+        final String inputHash = manifest == null ? null : inputHash(templateFile, templateData);
+        if (inputHash != null && manifest.isUpToDate(output, inputHash)) {
+            LOGGER.info("Skipped unchanged " + outputFilename);
+            skippedFiles.incrementAndGet();
+            return output;
+        }
+        if (renderExecutor == null) {
+            return writeRendered(tmpl, templateFile, templateData, outputFilename, inputHash, component);
+        }
+        pendingRenders.add(renderExecutor.submit(new Callable<File>() {
+            @Override
+            public File call() throws Exception {
+                return writeRendered(tmpl, templateFile, templateData, outputFilename, inputHash, component);
+            }
+        }));
+        return output;
+    }
+
+    private File writeRendered(Template tmpl, String templateFile, Map<String, Object> templateData,
+                               String outputFilename, String inputHash, boolean component) throws IOException {
+        long allocatedAtStart = metrics.allocatedBytes();
+        long start = System.nanoTime();
+        byte[] contents = tmpl.execute(templateData).getBytes("UTF-8");
+        long rendered = System.nanoTime();
+        long allocated = metrics.allocatedBytes() - allocatedAtStart;
+        File written = writeToFile(outputFilename, contents);
+        metrics.addTemplate(templateFile, outputFilename, rendered - start, System.nanoTime() - rendered, allocated);
+        if (inputHash != null) {
+            manifest.record(written, inputHash, contents, component);
+        }
+        return written;
+    }
+
+    @Override
+    public File writeToFile(String filename, byte[] contents) throws IOException {
+        File written = super.writeToFile(filename, contents);
+        metrics.addFile(contents.length);
+        return written;
+    }
+
+    private void loadManifest() {
+        if (!incremental) {
+            return;
+        }
+        if (!(getSink() instanceof FileGeneratorSink)) {
+            LOGGER.warn("Incremental generation needs a file system output, generating all files");
+            return;
+        }
+        manifest = GenerationManifest.load(new File(config.outputFolder()));
+        runDigest = InputDigest.ofStrings(ImplementationVersion.read(), config.getClass().getName());
+    }
+
+    private void saveManifest() {
+        if (manifest == null) {
+            return;
+        }
+        try {
+            int removed = 0;
+            if (isCompleteRun()) {
+                removed = manifest.prune(ignoreProcessor).size();
+            } else {
+                // only part of the output was generated, the rest is still current
+                manifest.retainPrevious();
+            }
+            writeToFile(manifest.getFile().getPath(), manifest.toString());
+            LOGGER.info(String.format("Incremental generation: %d files rendered, %d unchanged, %d removed",
+                    manifest.getWritten(), manifest.getUnchanged(), removed));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write " + GenerationManifest.FILENAME, e);
+        } finally {
+            manifest = null;
+            dataDigests.clear();
+            templateDigests.clear();
+        }
+    }
+
+    /**
+     * @return true if models, apis and supporting files were all generated without a selection
+     */
+    private boolean isCompleteRun() {
+        return isGenerateModels && isGenerateApis && isGenerateSupportingFiles
+                && StringUtils.isEmpty(generatorProperties.get(CodegenConstants.MODELS))
+                && StringUtils.isEmpty(generatorProperties.get(CodegenConstants.APIS))
+                && StringUtils.isEmpty(generatorProperties.get(CodegenConstants.SUPPORTING_FILES));
+    }
+
+    /**
+     * Count a file left out of this run, keeping its manifest entry when generating incrementally.
+     */
+    private void skipFile(String filename) {
+        skippedFiles.incrementAndGet();
+        if (manifest != null) {
+            manifest.keep(new File(filename));
+        }
+    }
+
+    /**
+     * Hash everything a rendered file depends on: the template data, the template and its partials and the
+     * generator. The data digest is computed once per bundle, as a bundle is rendered with several templates.
+     */
+    private String inputHash(String templateFile, Map<String, Object> templateData) {
+        String dataDigest = dataDigests.get(templateData);
+        if (dataDigest == null) {
+            dataDigest = InputDigest.of(templateData);
+            dataDigests.put(templateData, dataDigest);
+        }
+        return InputDigest.ofStrings(runDigest, templateDigest(templateFile), dataDigest);
+    }
+
+    private String templateDigest(String templateFile) {
+        String digest = templateDigests.get(templateFile);
+        if (digest == null) {
+            List<String> sources = new ArrayList<String>();
+            sources.add(templateFile);
+            sources.add(readTemplate(templateFile));
+            collectPartials(sources.get(1), new HashSet<String>(), sources);
+            digest = InputDigest.ofStrings(sources.toArray(new String[sources.size()]));
+            templateDigests.put(templateFile, digest);
+        }
+        return digest;
+    }
+
+    private void collectPartials(String source, Set<String> seen, List<String> sources) {
+        Matcher matcher = PARTIAL.matcher(source);
+        while (matcher.find()) {
+            String partialFile = getFullTemplateFile(config, matcher.group(1) + ".mustache");
+            if (!seen.add(partialFile)) {
+                continue;
+            }
+            sources.add(partialFile);
+            String partial;
+            try {
+                partial = readPartial(partialFile);
+            } catch (RuntimeException e) {
+                // only fails rendering if the partial is actually used
+                sources.add("");
+                continue;
+            }
+            sources.add(partial);
+            collectPartials(partial, seen, sources);
+        }
+    }
+
+    /**
+     * Wait for all files submitted to the render executor. Does nothing when rendering sequentially.
+     */
+    protected void awaitRendering() {
+        try {
+            for (Future<File> render : pendingRenders) {
+                render.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while rendering files", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Could not generate file", e.getCause());
+        } finally {
+            pendingRenders.clear();
+        }
+    }
+
+    /**
+     * Get the compiled template for the given (resolved) template file, compiling it only on first use.
+     *
+     * @param templateFile Full template file path, see {@link #getFullTemplateFile(CodegenConfig, String)}
+     * @return the compiled template
+     */
+    protected Template compileTemplate(String templateFile) {
+        Mustache.Compiler compiler = getTemplateCompiler();
+        String key = TemplateCache.templateKey(templateScope, templateFile);
+        Template tmpl = templateCache.getTemplate(key);
+        if (tmpl == null) {
+            tmpl = templateCache.putTemplate(key, compiler.compile(readTemplate(templateFile)));
+        }
+        return tmpl;
+    }
+
+    protected Mustache.Compiler getTemplateCompiler() {
+        if (templateCompiler == null) {
             Mustache.Compiler compiler = Mustache.compiler();
             compiler = config.processCompiler(compiler);
-            Template tmpl = compiler
+            templateCompiler = compiler
                     .withLoader(new Mustache.TemplateLoader() {
                         @Override
                         public Reader getTemplate(String name) {
-                            return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
+                            return new StringReader(readPartial(getFullTemplateFile(config, name + ".mustache")));
                         }
                     })
-                    .defaultValue("")
-                    .compile(template);
-
-            writeToFile(adjustedOutputFilename, tmpl.execute(templateData));
-            return new File(adjustedOutputFilename);
+                    .defaultValue("");
+            templateScope = TemplateCache.scopeKey(templateCompiler, config);
         }
+        return templateCompiler;
+    }
 
-        LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .swagger-codegen-ignore");
-        return null;
+    private String readPartial(String templateFile) {
+        String source = templateCache.getPartial(templateFile);
+        if (source == null) {
+            source = templateCache.putPartial(templateFile, readTemplate(templateFile));
+        }
+        return source;
     }
 
     protected static void processMimeTypes(List<String> mimeTypeList, Map<String, Object> operation, String source) {
@@ -827,7 +1374,7 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (operation == null) {
             return;
         }
-        if (System.getProperty("debugOperations") != null) {
+        if (generatorProperties.get("debugOperations") != null) {
             LOGGER.info("processOperation: resourcePath= " + resourcePath + "\t;" + httpMethod + " " + operation + "\n");
         }
         List<Tag> tags = new ArrayList<Tag>();
@@ -883,50 +1430,30 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
         }
 
-        for (Tag tag : tags) {
+        // the operation is converted once, tags but the last get their own copy of it
+        CodegenOperation converted = null;
+        List<CodegenSecurity> authMethods = null;
+        for (int i = 0; i < tags.size(); i++) {
+            Tag tag = tags.get(i);
             try {
-                CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, swagger.getDefinitions(), swagger);
-                codegenOperation.tags = new ArrayList<Tag>(tags);
+                if (converted == null) {
+                    converted = config.fromOperation(resourcePath, httpMethod, operation, swagger.getDefinitions(), swagger);
+                    converted.tags = new ArrayList<Tag>(tags);
+                    authMethods = fromSecurity(operation);
+                }
+                boolean last = i == tags.size() - 1;
+                CodegenOperation codegenOperation = last ? converted : converted.copy();
                 config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
 
-                List<Map<String, List<String>>> securities = operation.getSecurity();
-                if (securities == null && swagger.getSecurity() != null) {
-                    securities = new ArrayList<Map<String, List<String>>>();
-                    for (SecurityRequirement sr : swagger.getSecurity()) {
-                        securities.add(sr.getRequirements());
-                    }
-                }
-                if (securities == null || swagger.getSecurityDefinitions() == null) {
-                    continue;
-                }
-                Map<String, SecuritySchemeDefinition> authMethods = new HashMap<String, SecuritySchemeDefinition>();
-                for (Map<String, List<String>> security : securities) {
-                    for (String securityName : security.keySet()) {
-                        SecuritySchemeDefinition securityDefinition = swagger.getSecurityDefinitions().get(securityName);
-                        if (securityDefinition == null) {
-                            continue;
-                        }
-                        if (securityDefinition instanceof OAuth2Definition) {
-                            OAuth2Definition oauth2Definition = (OAuth2Definition) securityDefinition;
-                            OAuth2Definition oauth2Operation = new OAuth2Definition();
-                            oauth2Operation.setType(oauth2Definition.getType());
-                            oauth2Operation.setAuthorizationUrl(oauth2Definition.getAuthorizationUrl());
-                            oauth2Operation.setFlow(oauth2Definition.getFlow());
-                            oauth2Operation.setTokenUrl(oauth2Definition.getTokenUrl());
-                            oauth2Operation.setScopes(new HashMap<String, String>());
-                            for (String scope : security.get(securityName)) {
-                                if (oauth2Definition.getScopes().containsKey(scope)) {
-                                    oauth2Operation.addScope(scope, oauth2Definition.getScopes().get(scope));
-                                }
-                            }
-                            authMethods.put(securityName, oauth2Operation);
-                        } else {
-                            authMethods.put(securityName, securityDefinition);
+                if (authMethods != null) {
+                    if (last) {
+                        codegenOperation.authMethods = authMethods;
+                    } else {
+                        codegenOperation.authMethods = new ArrayList<CodegenSecurity>(authMethods.size());
+                        for (CodegenSecurity authMethod : authMethods) {
+                            codegenOperation.authMethods.add(authMethod.copy());
                         }
                     }
-                }
-                if (!authMethods.isEmpty()) {
-                    codegenOperation.authMethods = config.fromSecurity(authMethods);
                     codegenOperation.hasAuthMethods = true;
                 }
             } catch (Exception ex) {
@@ -942,6 +1469,53 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
     }
 
+    /**
+     * @param operation operation
+     * @return the auth methods of the operation, or of the spec when the operation has no security, null if none
+     */
+    private List<CodegenSecurity> fromSecurity(Operation operation) {
+        List<Map<String, List<String>>> securities = operation.getSecurity();
+        if (securities == null && swagger.getSecurity() != null) {
+            securities = new ArrayList<Map<String, List<String>>>();
+            for (SecurityRequirement sr : swagger.getSecurity()) {
+                securities.add(sr.getRequirements());
+            }
+        }
+        if (securities == null || swagger.getSecurityDefinitions() == null) {
+            return null;
+        }
+        Map<String, SecuritySchemeDefinition> authMethods = new HashMap<String, SecuritySchemeDefinition>();
+        for (Map<String, List<String>> security : securities) {
+            for (String securityName : security.keySet()) {
+                SecuritySchemeDefinition securityDefinition = swagger.getSecurityDefinitions().get(securityName);
+                if (securityDefinition == null) {
+                    continue;
+                }
+                if (securityDefinition instanceof OAuth2Definition) {
+                    OAuth2Definition oauth2Definition = (OAuth2Definition) securityDefinition;
+                    OAuth2Definition oauth2Operation = new OAuth2Definition();
+                    oauth2Operation.setType(oauth2Definition.getType());
+                    oauth2Operation.setAuthorizationUrl(oauth2Definition.getAuthorizationUrl());
+                    oauth2Operation.setFlow(oauth2Definition.getFlow());
+                    oauth2Operation.setTokenUrl(oauth2Definition.getTokenUrl());
+                    oauth2Operation.setScopes(new HashMap<String, String>());
+                    for (String scope : security.get(securityName)) {
+                        if (oauth2Definition.getScopes().containsKey(scope)) {
+                            oauth2Operation.addScope(scope, oauth2Definition.getScopes().get(scope));
+                        }
+                    }
+                    authMethods.put(securityName, oauth2Operation);
+                } else {
+                    authMethods.put(securityName, securityDefinition);
+                }
+            }
+        }
+        if (authMethods.isEmpty()) {
+            return null;
+        }
+        return config.fromSecurity(authMethods);
+    }
+
     protected static String generateParameterId(Parameter parameter) {
         return parameter.getName() + ":" + parameter.getIn();
     }
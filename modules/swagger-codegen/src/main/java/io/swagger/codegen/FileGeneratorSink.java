@@ -0,0 +1,293 @@
+package io.swagger.codegen;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes generated files to the file system, creating parent folders as needed.
+ *
+ * With {@code writeIfChanged}, a file whose current content equals the new content is left untouched,
+ * which keeps its modification time and spares incremental compilers and IDEs a rebuild. The existing
+ * file is compared by length first, then byte by byte.
+ *
+ * Static files, e.g. the gradle wrapper jar, are copied from file to file by {@link #copy(File, File)},
+ * which leaves identical files untouched and can hard link them to their source instead.
+ */
+public class FileGeneratorSink implements GeneratorSink {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileGeneratorSink.class);
+    private static final int BUFFER_SIZE = 8192;
+
+    private final boolean writeIfChanged;
+    private final boolean linkStaticFiles;
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+    private final AtomicInteger linked = new AtomicInteger();
+
+    public FileGeneratorSink() {
+        this(false);
+    }
+
+    /**
+     * @param writeIfChanged true to leave files whose content did not change untouched
+     */
+    public FileGeneratorSink(boolean writeIfChanged) {
+        this(writeIfChanged, false);
+    }
+
+    /**
+     * @param writeIfChanged true to leave files whose content did not change untouched
+     * @param linkStaticFiles true to hard link static files to their source where the file system allows
+     *                        it. The output then shares its content with the source, so it must not be
+     *                        edited in place.
+     */
+    public FileGeneratorSink(boolean writeIfChanged, boolean linkStaticFiles) {
+        this.writeIfChanged = writeIfChanged;
+        this.linkStaticFiles = linkStaticFiles;
+    }
+
+    @Override
+    public void write(File file, byte[] contents) throws IOException {
+        if (writeIfChanged && hasContent(file, contents)) {
+            unchanged.incrementAndGet();
+            return;
+        }
+        OutputStream out = open(file, linkStaticFiles);
+        try {
+            out.write(contents);
+        } finally {
+            out.close();
+        }
+        written.incrementAndGet();
+    }
+
+    @Override
+    public void write(File file, InputStream contents) throws IOException {
+        if (writeIfChanged && file.isFile() && linkStaticFiles) {
+            // the file may be a link, which must be replaced rather than changed in place
+            write(file, IOUtils.toByteArray(contents));
+            return;
+        }
+        if (writeIfChanged && file.isFile()) {
+            if (writeChanges(file, contents)) {
+                written.incrementAndGet();
+            } else {
+                unchanged.incrementAndGet();
+            }
+            return;
+        }
+        OutputStream out = open(file, linkStaticFiles);
+        try {
+            IOUtils.copy(contents, out);
+        } finally {
+            out.close();
+        }
+        written.incrementAndGet();
+    }
+
+    /**
+     * Copy a static file. A file that already has the content of the source is left untouched, whether
+     * or not this sink writes only changed files. Otherwise the file is replaced by a hard link to the
+     * source if static files are linked and the file system allows it, or by a copy.
+     *
+     * @param source source file
+     * @param file   output file
+     * @throws IOException if the file can't be copied
+     */
+    public void copy(File source, File file) throws IOException {
+        if (file.isFile() && (Files.isSameFile(source.toPath(), file.toPath()) || hasContent(file, source))) {
+            unchanged.incrementAndGet();
+            return;
+        }
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        if (linkStaticFiles && link(source, file)) {
+            linked.incrementAndGet();
+            return;
+        }
+        // replaces rather than overwrites the file, which may be a link to the source of a previous run
+        Files.copy(source.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        written.incrementAndGet();
+    }
+
+    @Override
+    public boolean exists(File file) {
+        return file.exists();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public boolean isWriteIfChanged() {
+        return writeIfChanged;
+    }
+
+    /**
+     * @return number of files written by this sink
+     */
+    public int getWritten() {
+        return written.get();
+    }
+
+    /**
+     * @return number of files left untouched as their content did not change
+     */
+    public int getUnchanged() {
+        return unchanged.get();
+    }
+
+    public boolean isLinkStaticFiles() {
+        return linkStaticFiles;
+    }
+
+    /**
+     * @return number of static files hard linked to their source
+     */
+    public int getLinked() {
+        return linked.get();
+    }
+
+    private static boolean link(File source, File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+            Files.createLink(file.toPath(), source.toPath());
+            return true;
+        } catch (IOException e) {
+            // e.g. another file system
+            LOGGER.debug("Can't link " + file + " to " + source + ", copying it", e);
+        } catch (UnsupportedOperationException e) {
+            LOGGER.debug("Can't link " + file + " to " + source + ", copying it", e);
+        }
+        return false;
+    }
+
+    private static boolean hasContent(File file, File source) throws IOException {
+        if (file.length() != source.length()) {
+            return false;
+        }
+        InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        try {
+            InputStream expected = new BufferedInputStream(new FileInputStream(source), BUFFER_SIZE);
+            try {
+                return IOUtils.contentEquals(in, expected);
+            } finally {
+                expected.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Compares the file with the stream and rewrites it from the first difference on, so that neither
+     * needs to be held in memory.
+     *
+     * @return true if the file was changed
+     */
+    private static boolean writeChanges(File file, InputStream contents) throws IOException {
+        RandomAccessFile out = new RandomAccessFile(file, "rw");
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            byte[] current = new byte[BUFFER_SIZE];
+            long offset = 0;
+            boolean changed = false;
+            int read;
+            while ((read = IOUtils.read(contents, buffer)) > 0) {
+                if (!changed) {
+                    if (readFully(out, current, read) == read && equal(buffer, current, read)) {
+                        offset += read;
+                        continue;
+                    }
+                    changed = true;
+                    out.seek(offset);
+                }
+                out.write(buffer, 0, read);
+                offset += read;
+            }
+            if (!changed && out.length() == offset) {
+                return false;
+            }
+            out.setLength(offset);
+            return true;
+        } finally {
+            out.close();
+        }
+    }
+
+    private static int readFully(RandomAccessFile in, byte[] buffer, int length) throws IOException {
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(buffer, offset, length - offset);
+            if (read < 0) {
+                break;
+            }
+            offset += read;
+        }
+        return offset;
+    }
+
+    private static boolean equal(byte[] a, byte[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasContent(File file, byte[] contents) throws IOException {
+        if (!file.isFile() || file.length() != contents.length) {
+            return false;
+        }
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int offset = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (offset + read > contents.length) {
+                    return false;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] != contents[offset + i]) {
+                        return false;
+                    }
+                }
+                offset += read;
+            }
+            return offset == contents.length;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * @param replace true to replace an existing file, e.g. a link to a static file of a previous run,
+     *                instead of writing through it
+     */
+    private static OutputStream open(File file, boolean replace) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        if (replace) {
+            Files.deleteIfExists(file.toPath());
+        }
+        return new FileOutputStream(file, false);
+    }
+}
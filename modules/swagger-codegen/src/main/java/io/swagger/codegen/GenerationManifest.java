@@ -0,0 +1,243 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.ignore.CodegenIgnoreProcessor;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records, for every file rendered from a template, a hash of its inputs (template data, template sources,
+ * generator version) and a hash of the content written. It is kept in the output folder as
+ * {@code .swagger-codegen/MANIFEST}, so that the next run can skip files whose inputs did not change and
+ * remove model and API files whose model or tag is gone. Supporting files are never removed, as generators
+ * commonly leave existing ones out of the run on purpose (see {@link DefaultCodegen#writeOptional}).
+ *
+ * Paths are relative to the output folder; files outside of it are not tracked.
+ */
+public class GenerationManifest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+
+    public static final String FILENAME = ".swagger-codegen" + File.separator + "MANIFEST";
+
+    private static final String HEADER = "# generated by swagger-codegen, lists <input hash> <output hash> <kind> <path>";
+    private static final String COMPONENT = "component";
+    private static final String SUPPORTING = "supporting";
+
+    private final File outputFolder;
+    private final Path root;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new TreeMap<String, Entry>();
+    private int unchanged;
+    private int written;
+
+    GenerationManifest(File outputFolder, Map<String, Entry> previous) {
+        this.outputFolder = outputFolder;
+        this.root = outputFolder.toPath().toAbsolutePath().normalize();
+        this.previous = previous;
+    }
+
+    /**
+     * Read the manifest of the previous run.
+     *
+     * @param outputFolder output folder of the generator
+     * @return the manifest, empty if there is none or it can't be read
+     */
+    public static GenerationManifest load(File outputFolder) {
+        Map<String, Entry> entries = new HashMap<String, Entry>();
+        File file = new File(outputFolder, FILENAME);
+        if (file.isFile()) {
+            try {
+                for (String line : FileUtils.readLines(file, "UTF-8")) {
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    String[] parts = line.split(" ", 4);
+                    if (parts.length == 4) {
+                        entries.put(parts[3], new Entry(parts[0], parts[1], COMPONENT.equals(parts[2])));
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not read " + file + ", regenerating all files", e);
+                entries.clear();
+            }
+        }
+        return new GenerationManifest(outputFolder, entries);
+    }
+
+    /**
+     * Check whether a file was generated from the same inputs by the previous run and is still there.
+     * An up to date file is recorded in this manifest as is.
+     *
+     * @param file      output file
+     * @param inputHash hash of the inputs of the file
+     * @return true if rendering the file can be skipped
+     */
+    public synchronized boolean isUpToDate(File file, String inputHash) {
+        String path = relativePath(file);
+        if (path == null) {
+            return false;
+        }
+        Entry entry = previous.get(path);
+        if (entry == null || !entry.inputHash.equals(inputHash) || !file.isFile()) {
+            return false;
+        }
+        current.put(path, entry);
+        unchanged++;
+        return true;
+    }
+
+    /**
+     * Record a rendered file.
+     *
+     * @param file      output file
+     * @param inputHash hash of the inputs of the file
+     * @param contents  content written
+     * @param component true for a file rendered per model or per API tag, which is removed once its model
+     *                  or tag is gone, false for a supporting file
+     */
+    public synchronized void record(File file, String inputHash, byte[] contents, boolean component) {
+        String path = relativePath(file);
+        if (path != null) {
+            current.put(path, new Entry(inputHash, InputDigest.ofBytes(contents), component));
+        }
+        written++;
+    }
+
+    /**
+     * Keep the entry of a file the generator left untouched on purpose, e.g. an existing test file, so
+     * that it is not considered orphaned.
+     *
+     * @param file output file
+     */
+    public synchronized void keep(File file) {
+        String path = relativePath(file);
+        if (path != null && previous.containsKey(path) && !current.containsKey(path)) {
+            current.put(path, previous.get(path));
+        }
+    }
+
+    /**
+     * Keep the entries of all files not seen by this run, for runs that only generate part of the output.
+     */
+    public synchronized void retainPrevious() {
+        for (Map.Entry<String, Entry> entry : previous.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                current.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Delete model and API files listed by the previous run but not generated by this one. Files modified
+     * since they were generated, or excluded by the ignore file, are left alone and no longer tracked.
+     * Supporting files not generated by this run keep their entry.
+     *
+     * @param ignoreProcessor rules of the .swagger-codegen-ignore file, may be null
+     * @return deleted files
+     */
+    public synchronized List<File> prune(CodegenIgnoreProcessor ignoreProcessor) {
+        List<File> deleted = new ArrayList<File>();
+        for (Map.Entry<String, Entry> entry : previous.entrySet()) {
+            if (current.containsKey(entry.getKey())) {
+                continue;
+            }
+            if (!entry.getValue().component) {
+                current.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            File file = new File(outputFolder, entry.getKey().replace('/', File.separatorChar));
+            if (!file.isFile() || (ignoreProcessor != null && !ignoreProcessor.allowsFile(file))) {
+                continue;
+            }
+            try {
+                if (!entry.getValue().outputHash.equals(InputDigest.ofBytes(Files.readAllBytes(file.toPath())))) {
+                    LOGGER.info("Not removing " + file + " which was modified since it was generated");
+                    continue;
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not read " + file, e);
+                continue;
+            }
+            if (file.delete()) {
+                LOGGER.info("Removed " + file + " which is no longer generated");
+                deleted.add(file);
+                deleteEmptyParents(file.getParentFile());
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @return number of files skipped because their inputs did not change
+     */
+    public synchronized int getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * @return number of files rendered
+     */
+    public synchronized int getWritten() {
+        return written;
+    }
+
+    public File getFile() {
+        return new File(outputFolder, FILENAME);
+    }
+
+    /**
+     * @return the manifest file content for this run
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder(HEADER).append('\n');
+        for (Map.Entry<String, Entry> entry : current.entrySet()) {
+            sb.append(entry.getValue().inputHash).append(' ')
+                    .append(entry.getValue().outputHash).append(' ')
+                    .append(entry.getValue().component ? COMPONENT : SUPPORTING).append(' ')
+                    .append(entry.getKey()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private String relativePath(File file) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            return null;
+        }
+        return root.relativize(path).toString().replace(File.separatorChar, '/');
+    }
+
+    private void deleteEmptyParents(File folder) {
+        while (folder != null && folder.toPath().toAbsolutePath().normalize().startsWith(root)
+                && !folder.toPath().toAbsolutePath().normalize().equals(root)) {
+            String[] children = folder.list();
+            if (children == null || children.length > 0 || !folder.delete()) {
+                return;
+            }
+            folder = folder.getParentFile();
+        }
+    }
+
+    static class Entry {
+        final String inputHash;
+        final String outputHash;
+        final boolean component;
+
+        Entry(String inputHash, String outputHash, boolean component) {
+            this.inputHash = inputHash;
+            this.outputHash = outputHash;
+            this.component = component;
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package io.swagger.codegen;
+
+import io.swagger.util.Json;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Where the time of a generation goes: wall time of each phase (parsing, inline model resolution, model and
+ * operation processing, the post processing hooks of the generator, rendering...), the number of models,
+ * operations and files, the bytes written and the slowest templates and models.
+ *
+ * Phases are timed on the thread running the generation and may be entered several times, e.g. once per
+ * model; template rendering and file writes are also summed up separately, over all rendering threads. When
+ * allocation tracking is on and the JVM supports it, the bytes allocated by the timing thread are reported
+ * along with each duration.
+ *
+ * The report is available as a map or as JSON, see {@link #toMap()}.
+ */
+public class GenerationMetrics {
+    public static final int DEFAULT_SLOWEST = 10;
+
+    public static final String PARSE = "parse";
+    public static final String CONFIGURE = "configure";
+    public static final String INLINE_MODELS = "inlineModels";
+    public static final String PROCESS_MODELS = "processModels";
+    public static final String POST_PROCESS_ALL_MODELS = "postProcessAllModels";
+    public static final String RENDER_MODELS = "renderModels";
+    public static final String PROCESS_PATHS = "processPaths";
+    public static final String PROCESS_OPERATIONS = "processOperations";
+    public static final String RENDER_APIS = "renderApis";
+    public static final String SUPPORTING_FILE_BUNDLE = "supportingFileBundle";
+    public static final String RENDER_SUPPORTING_FILES = "renderSupportingFiles";
+    public static final String FINISH = "finish";
+
+    private static final Comparator<Sample> FASTEST_FIRST = new Comparator<Sample>() {
+        @Override
+        public int compare(Sample a, Sample b) {
+            return a.nanos < b.nanos ? -1 : (a.nanos == b.nanos ? 0 : 1);
+        }
+    };
+
+    private final boolean trackAllocations;
+    private final int slowest;
+    private final long startedAt = System.nanoTime();
+    private volatile long finishedAt;
+
+    private final Map<String, Phase> phases = new LinkedHashMap<String, Phase>();
+    private final AtomicLong models = new AtomicLong();
+    private final AtomicLong operations = new AtomicLong();
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong skippedFiles = new AtomicLong();
+    private final AtomicLong templatesRendered = new AtomicLong();
+    private final AtomicLong renderNanos = new AtomicLong();
+    private final AtomicLong renderAllocatedBytes = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+    private final PriorityQueue<Sample> slowestTemplates = new PriorityQueue<Sample>(DEFAULT_SLOWEST, FASTEST_FIRST);
+    private final PriorityQueue<Sample> slowestModels = new PriorityQueue<Sample>(DEFAULT_SLOWEST, FASTEST_FIRST);
+
+    public GenerationMetrics() {
+        this(false);
+    }
+
+    /**
+     * @param trackAllocations whether to report the bytes allocated by each phase, if the JVM supports it
+     */
+    public GenerationMetrics(boolean trackAllocations) {
+        this(trackAllocations, DEFAULT_SLOWEST);
+    }
+
+    /**
+     * @param trackAllocations whether to report the bytes allocated by each phase, if the JVM supports it
+     * @param slowest          number of slowest templates and models to keep
+     */
+    public GenerationMetrics(boolean trackAllocations, int slowest) {
+        this.trackAllocations = trackAllocations && Allocations.SUPPORTED;
+        this.slowest = slowest;
+    }
+
+    /**
+     * Start timing a phase on the current thread.
+     *
+     * @param phase phase name, e.g. {@link #PROCESS_MODELS}
+     * @return the timer to stop once the phase is done
+     */
+    public Timer start(String phase) {
+        return new Timer(phase);
+    }
+
+    public boolean isTrackAllocations() {
+        return trackAllocations;
+    }
+
+    public void addOperations(long count) {
+        operations.addAndGet(count);
+    }
+
+    public void addSkippedFiles(long count) {
+        skippedFiles.addAndGet(count);
+    }
+
+    /**
+     * @param bytes size of a file written
+     */
+    public void addFile(long bytes) {
+        files.incrementAndGet();
+        bytesWritten.addAndGet(bytes);
+    }
+
+    /**
+     * Record the rendering of a template to a file.
+     *
+     * @param templateFile   template
+     * @param outputFile     file rendered
+     * @param renderNanos    time spent executing the template
+     * @param writeNanos     time spent writing the file
+     * @param allocatedBytes bytes allocated while rendering, 0 if unknown
+     */
+    public void addTemplate(String templateFile, String outputFile, long renderNanos, long writeNanos,
+                            long allocatedBytes) {
+        templatesRendered.incrementAndGet();
+        this.renderNanos.addAndGet(renderNanos);
+        this.writeNanos.addAndGet(writeNanos);
+        renderAllocatedBytes.addAndGet(allocatedBytes);
+        keep(slowestTemplates, new Sample(templateFile, outputFile, renderNanos + writeNanos));
+    }
+
+    /**
+     * Record the processing of a model, see {@link DefaultGenerator#processModels}.
+     *
+     * @param name  model name
+     * @param nanos time spent
+     */
+    public void addModel(String name, long nanos) {
+        models.incrementAndGet();
+        keep(slowestModels, new Sample(name, null, nanos));
+    }
+
+    /**
+     * Mark the end of the generation, {@link #getTotalNanos()} is measured up to here.
+     */
+    public void finish() {
+        finishedAt = System.nanoTime();
+    }
+
+    /**
+     * @return time from the creation of these metrics to {@link #finish()}, or to now if not finished
+     */
+    public long getTotalNanos() {
+        long end = finishedAt;
+        return (end == 0 ? System.nanoTime() : end) - startedAt;
+    }
+
+    /**
+     * @param phase phase name
+     * @return total time spent in the phase, 0 if it was never entered
+     */
+    public synchronized long getPhaseNanos(String phase) {
+        Phase p = phases.get(phase);
+        return p == null ? 0 : p.nanos;
+    }
+
+    /**
+     * @return names of the phases entered, in order of first entry
+     */
+    public synchronized List<String> getPhases() {
+        return new ArrayList<String>(phases.keySet());
+    }
+
+    public long getModels() {
+        return models.get();
+    }
+
+    public long getOperations() {
+        return operations.get();
+    }
+
+    public long getFiles() {
+        return files.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    public long getSkippedFiles() {
+        return skippedFiles.get();
+    }
+
+    public long getTemplatesRendered() {
+        return templatesRendered.get();
+    }
+
+    /**
+     * The report: {@code totalMillis}, {@code phases} (name to {@code millis}, {@code count} and, when tracking
+     * allocations, {@code allocatedBytes}), {@code templates} (rendering and writing summed over all threads),
+     * {@code counts}, {@code slowestTemplates} and {@code slowestModels}.
+     *
+     * @return the report, as maps and lists
+     */
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> report = new LinkedHashMap<String, Object>();
+        report.put("totalMillis", millis(getTotalNanos()));
+
+        Map<String, Object> phaseReport = new LinkedHashMap<String, Object>();
+        for (Map.Entry<String, Phase> entry : phases.entrySet()) {
+            Map<String, Object> phase = new LinkedHashMap<String, Object>();
+            phase.put("millis", millis(entry.getValue().nanos));
+            phase.put("count", entry.getValue().count);
+            if (trackAllocations) {
+                phase.put("allocatedBytes", entry.getValue().allocatedBytes);
+            }
+            phaseReport.put(entry.getKey(), phase);
+        }
+        report.put("phases", phaseReport);
+
+        Map<String, Object> templates = new LinkedHashMap<String, Object>();
+        templates.put("rendered", templatesRendered.get());
+        templates.put("renderMillis", millis(renderNanos.get()));
+        templates.put("writeMillis", millis(writeNanos.get()));
+        if (trackAllocations) {
+            templates.put("allocatedBytes", renderAllocatedBytes.get());
+        }
+        report.put("templates", templates);
+
+        Map<String, Object> counts = new LinkedHashMap<String, Object>();
+        counts.put("models", models.get());
+        counts.put("operations", operations.get());
+        counts.put("files", files.get());
+        counts.put("skippedFiles", skippedFiles.get());
+        counts.put("bytesWritten", bytesWritten.get());
+        report.put("counts", counts);
+
+        List<Object> templateSamples = new ArrayList<Object>();
+        for (Sample sample : sorted(slowestTemplates)) {
+            Map<String, Object> item = new LinkedHashMap<String, Object>();
+            item.put("template", sample.name);
+            item.put("file", sample.file);
+            item.put("millis", millis(sample.nanos));
+            templateSamples.add(item);
+        }
+        report.put("slowestTemplates", templateSamples);
+
+        List<Object> modelSamples = new ArrayList<Object>();
+        for (Sample sample : sorted(slowestModels)) {
+            Map<String, Object> item = new LinkedHashMap<String, Object>();
+            item.put("name", sample.name);
+            item.put("millis", millis(sample.nanos));
+            modelSamples.add(item);
+        }
+        report.put("slowestModels", modelSamples);
+        return report;
+    }
+
+    /**
+     * @return the report as pretty printed JSON, see {@link #toMap()}
+     */
+    public String toJson() {
+        return Json.pretty(toMap());
+    }
+
+    /**
+     * @return the report as single line JSON, see {@link #toMap()}
+     */
+    @Override
+    public String toString() {
+        try {
+            return Json.mapper().writeValueAsString(toMap());
+        } catch (Exception e) {
+            return super.toString();
+        }
+    }
+
+    private synchronized void addPhase(String name, long nanos, long allocatedBytes) {
+        Phase phase = phases.get(name);
+        if (phase == null) {
+            phase = new Phase();
+            phases.put(name, phase);
+        }
+        phase.nanos += nanos;
+        phase.allocatedBytes += allocatedBytes;
+        phase.count++;
+    }
+
+    private void keep(PriorityQueue<Sample> samples, Sample sample) {
+        if (slowest <= 0) {
+            return;
+        }
+        synchronized (this) {
+            if (samples.size() < slowest) {
+                samples.add(sample);
+            } else if (samples.peek().nanos < sample.nanos) {
+                samples.poll();
+                samples.add(sample);
+            }
+        }
+    }
+
+    private static List<Sample> sorted(PriorityQueue<Sample> samples) {
+        List<Sample> list = new ArrayList<Sample>(samples);
+        Collections.sort(list, Collections.reverseOrder(FASTEST_FIRST));
+        return list;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+
+    /**
+     * @return bytes allocated so far by the current thread, 0 when not tracking allocations
+     */
+    long allocatedBytes() {
+        return trackAllocations ? Allocations.current() : 0;
+    }
+
+    /**
+     * Times a phase, see {@link #start(String)}.
+     */
+    public class Timer {
+        private final String phase;
+        private final long startedAt;
+        private final long allocatedAtStart;
+
+        Timer(String phase) {
+            this.phase = phase;
+            this.allocatedAtStart = allocatedBytes();
+            this.startedAt = System.nanoTime();
+        }
+
+        /**
+         * @return time since the timer was started
+         */
+        public long stop() {
+            long nanos = System.nanoTime() - startedAt;
+            addPhase(phase, nanos, trackAllocations ? allocatedBytes() - allocatedAtStart : 0);
+            return nanos;
+        }
+    }
+
+    private static class Phase {
+        long nanos;
+        long allocatedBytes;
+        long count;
+    }
+
+    private static class Sample {
+        final String name;
+        final String file;
+        final long nanos;
+
+        Sample(String name, String file, long nanos) {
+            this.name = name;
+            this.file = file;
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * Per thread allocation counters of HotSpot based JVMs, looked up reflectively as
+     * {@code com.sun.management.ThreadMXBean} is not part of the Java API.
+     */
+    private static class Allocations {
+        static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+        static final Method ALLOCATED_BYTES = allocatedBytesMethod();
+        static final boolean SUPPORTED = ALLOCATED_BYTES != null;
+
+        private static Method allocatedBytesMethod() {
+            try {
+                Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+                if (!type.isInstance(THREADS)
+                        || !(Boolean) type.getMethod("isThreadAllocatedMemorySupported").invoke(THREADS)) {
+                    return null;
+                }
+                type.getMethod("setThreadAllocatedMemoryEnabled", boolean.class).invoke(THREADS, true);
+                return type.getMethod("getThreadAllocatedBytes", long.class);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        static long current() {
+            try {
+                return (Long) ALLOCATED_BYTES.invoke(THREADS, Thread.currentThread().getId());
+            } catch (Exception e) {
+                return 0;
+            }
+        }
+    }
+}
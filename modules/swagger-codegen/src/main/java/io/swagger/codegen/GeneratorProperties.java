@@ -0,0 +1,100 @@
+package io.swagger.codegen;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-run generator switches such as models, apis, supportingFiles or debugModels.
+ *
+ * These used to be passed around as JVM system properties, which made concurrent generations in one
+ * JVM overwrite each other's settings. Values set on an instance take precedence; for keys that were
+ * never set, system properties are consulted as a fallback (unless disabled) so that
+ * {@code java -Dmodels -jar swagger-codegen-cli.jar generate ...} keeps working.
+ */
+public class GeneratorProperties {
+
+    /**
+     * Keys read by {@link DefaultGenerator}. These are never written to system properties.
+     */
+    public static final Set<String> SWITCHES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            CodegenConstants.APIS,
+            CodegenConstants.MODELS,
+            CodegenConstants.SUPPORTING_FILES,
+            CodegenConstants.MODEL_TESTS,
+            CodegenConstants.MODEL_DOCS,
+            CodegenConstants.API_TESTS,
+            CodegenConstants.API_DOCS,
+            "debugSwagger",
+            "debugModels",
+            "debugOperations",
+            "debugSupportingFiles",
+            "debugTemplates")));
+
+    private final Map<String, String> properties = new HashMap<String, String>();
+    private boolean systemPropertiesFallback = true;
+
+    public GeneratorProperties() {
+    }
+
+    public GeneratorProperties(Map<String, String> properties) {
+        this.properties.putAll(properties);
+    }
+
+    /**
+     * @param key property key
+     * @return the value set for this run, else the system property if the fallback is enabled, else null
+     */
+    public String get(String key) {
+        if (properties.containsKey(key)) {
+            return properties.get(key);
+        }
+        if (systemPropertiesFallback) {
+            return System.getProperty(key);
+        }
+        return null;
+    }
+
+    public boolean isSet(String key) {
+        return get(key) != null;
+    }
+
+    public GeneratorProperties put(String key, String value) {
+        properties.put(key, value);
+        return this;
+    }
+
+    public GeneratorProperties putAll(Map<String, String> values) {
+        properties.putAll(values);
+        return this;
+    }
+
+    public boolean isSystemPropertiesFallback() {
+        return systemPropertiesFallback;
+    }
+
+    /**
+     * @param systemPropertiesFallback false to ignore system properties entirely, e.g. when every switch
+     *                                 is set explicitly as in the maven plugin
+     * @return this
+     */
+    public GeneratorProperties systemPropertiesFallback(boolean systemPropertiesFallback) {
+        this.systemPropertiesFallback = systemPropertiesFallback;
+        return this;
+    }
+
+    /**
+     * @return the values set for this run, without system property fallbacks
+     */
+    public Map<String, String> asMap() {
+        return Collections.unmodifiableMap(properties);
+    }
+
+    @Override
+    public String toString() {
+        return "GeneratorProperties: " + properties + (systemPropertiesFallback ? " (system properties fallback)" : "");
+    }
+}
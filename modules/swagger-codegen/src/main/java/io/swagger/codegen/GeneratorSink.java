@@ -0,0 +1,40 @@
+package io.swagger.codegen;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Destination of the files produced by a generator.
+ *
+ * Generators address output by its path below the output folder; the sink decides where the bytes go,
+ * e.g. to the file system ({@link FileGeneratorSink}, the default) or straight into a zip stream
+ * ({@link ZipGeneratorSink}). Implementations must be thread safe, as files may be rendered in parallel.
+ */
+public interface GeneratorSink extends Closeable {
+
+    /**
+     * Write a file, replacing any previous content.
+     *
+     * @param file     output file
+     * @param contents file contents
+     * @throws IOException if the file can't be written
+     */
+    void write(File file, byte[] contents) throws IOException;
+
+    /**
+     * Write a file from a stream, replacing any previous content. The stream is not closed.
+     *
+     * @param file     output file
+     * @param contents file contents
+     * @throws IOException if the file can't be written
+     */
+    void write(File file, InputStream contents) throws IOException;
+
+    /**
+     * @param file output file
+     * @return true if the file exists in this sink, e.g. from a previous generation or an earlier write
+     */
+    boolean exists(File file);
+}
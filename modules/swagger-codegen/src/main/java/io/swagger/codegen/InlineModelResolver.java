@@ -4,25 +4,39 @@ import io.swagger.models.*;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.models.properties.*;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.util.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 public class InlineModelResolver {
+    private static final Pattern INVALID_NAME_CHARACTERS = Pattern.compile("[^a-z_\\.A-Z0-9 ]");
+
     private Swagger swagger;
     private boolean skipMatches;
     static Logger LOGGER = LoggerFactory.getLogger(InlineModelResolver.class);
 
     Map<String, Model> addedModels = new HashMap<String, Model>();
-    Map<String, String> generatedSignature = new HashMap<String, String>();
+    Map<Signature, String> generatedSignature = new HashMap<Signature, String>();
+    // first suffix that may still be free, by sanitized name: definitions are only added while flattening
+    private final Map<String, Integer> nameSuffixes = new HashMap<String, Integer>();
+    private final ObjectWriter writer = Json.mapper().writer();
+    private Model lastSigned;
+    private Signature lastSignature;
 
     public void flatten(Swagger swagger) {
         this.swagger = swagger;
+        nameSuffixes.clear();
 
         if (swagger.getDefinitions() == null) {
             swagger.setDefinitions(new HashMap<String, Model>());
@@ -238,38 +252,66 @@ public class InlineModelResolver {
         if (this.skipMatches) {
             return null;
         }
-        String json = Json.pretty(model);
-        if (generatedSignature.containsKey(json)) {
-            return generatedSignature.get(json);
-        }
-        return null;
+        return generatedSignature.get(signature(model));
     }
 
     public void addGenerated(String name, Model model) {
-        generatedSignature.put(Json.pretty(model), name);
+        generatedSignature.put(signature(model), name);
     }
 
-    public String uniqueName(String key) {
-        int count = 0;
-        boolean done = false;
-        key = key.replaceAll("[^a-z_\\.A-Z0-9 ]", ""); // FIXME: a parameter
-                                                       // should not be
-                                                       // assigned. Also declare
-                                                       // the methods parameters
-                                                       // as 'final'.
-        while (!done) {
-            String name = key;
-            if (count > 0) {
-                name = key + "_" + count;
-            }
-            if (swagger.getDefinitions() == null) {
-                return name;
-            } else if (!swagger.getDefinitions().containsKey(name)) {
+    /**
+     * Digest of the JSON serialization of a model, so that two models have the same signature when they
+     * serialize to the same JSON, without building the JSON strings. The signature
+     * of the last model is kept, as a model is usually matched and then added.
+     *
+     * @param model model
+     * @return the signature, null if the model cannot be serialized
+     */
+    private Signature signature(Model model) {
+        if (model == lastSigned) {
+            return lastSignature;
+        }
+        Signature signature;
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("MD5");
+            writer.writeValue(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    digest.update((byte) b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    digest.update(b, off, len);
+                }
+            }, model);
+            signature = new Signature(digest.digest());
+        } catch (IOException e) {
+            signature = null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        lastSigned = model;
+        lastSignature = signature;
+        return signature;
+    }
+
+    public String uniqueName(final String key) {
+        String base = INVALID_NAME_CHARACTERS.matcher(key).replaceAll("");
+        Map<String, Model> definitions = swagger.getDefinitions();
+        if (definitions == null) {
+            return base;
+        }
+        Integer suffix = nameSuffixes.get(base);
+        int count = suffix == null ? 0 : suffix;
+        while (true) {
+            String name = count > 0 ? base + "_" + count : base;
+            if (!definitions.containsKey(name)) {
+                nameSuffixes.put(base, count);
                 return name;
             }
             count += 1;
         }
-        return key;
     }
 
     public void flattenProperties(Map<String, Property> properties, String path) {
@@ -463,4 +505,36 @@ public class InlineModelResolver {
         this.skipMatches = skipMatches;
     }
 
+    private static final class Signature {
+        private final long high;
+        private final long low;
+
+        Signature(byte[] digest) {
+            long high = 0;
+            long low = 0;
+            for (int i = 0; i < 8; i++) {
+                high = (high << 8) | (digest[i] & 0xff);
+                low = (low << 8) | (digest[i + 8] & 0xff);
+            }
+            this.high = high;
+            this.low = low;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) o;
+            return high == other.high && low == other.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (low ^ (low >>> 32));
+        }
+    }
 }
@@ -0,0 +1,268 @@
+package io.swagger.codegen;
+
+import com.samskivert.mustache.Mustache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Computes a SHA-256 digest of the structure of template data: maps, collections, arrays, scalars and the
+ * non static, non transient fields of beans such as {@link CodegenModel} or {@link CodegenOperation}.
+ * Two bundles get the same digest if a template would see the same values in them, regardless of the
+ * order of map entries.
+ *
+ * Beans referenced more than once, e.g. a parent model and its children, are only walked once, later
+ * occurrences are recorded as back references, so cyclic graphs are fine. Map entries named like
+ * {@link #VOLATILE_KEYS} (the generation timestamp) are left out, as they change on every run.
+ */
+class InputDigest {
+    static final Set<String> VOLATILE_KEYS = Collections.singleton("generatedDate");
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final ConcurrentMap<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<Class<?>, Field[]>();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final MessageDigest digest;
+    private final Map<Object, Integer> visited = new IdentityHashMap<Object, Integer>();
+
+    private InputDigest() {
+        this.digest = sha256();
+    }
+
+    /**
+     * @param data template data
+     * @return hex encoded digest
+     */
+    static String of(Object data) {
+        InputDigest inputDigest = new InputDigest();
+        inputDigest.add(data);
+        return hex(inputDigest.digest.digest());
+    }
+
+    /**
+     * @param parts strings to hash, e.g. other digests
+     * @return hex encoded digest of the parts
+     */
+    static String ofStrings(String... parts) {
+        InputDigest inputDigest = new InputDigest();
+        for (String part : parts) {
+            inputDigest.string('s', part);
+        }
+        return hex(inputDigest.digest.digest());
+    }
+
+    /**
+     * @param bytes content
+     * @return hex encoded digest of the content
+     */
+    static String ofBytes(byte[] bytes) {
+        return hex(sha256().digest(bytes));
+    }
+
+    private void add(Object value) {
+        if (value == null) {
+            tag('0');
+        } else if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum || value instanceof Class) {
+            string('t', value.getClass().getSimpleName());
+            string('v', value.toString());
+        } else if (value instanceof Mustache.Lambda) {
+            // lambdas have no data, they are identified by their type
+            string('l', value.getClass().getName());
+        } else if (!enter(value)) {
+            return;
+        } else if (value instanceof Map) {
+            addMap((Map<?, ?>) value);
+        } else if (value instanceof Set) {
+            addCollection('S', sortedIfStrings((Set<?>) value));
+        } else if (value instanceof Collection) {
+            addCollection('C', (Collection<?>) value);
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            tag('A');
+            integer(length);
+            for (int i = 0; i < length; i++) {
+                add(Array.get(value, i));
+            }
+        } else if (isPlatformClass(value.getClass())) {
+            string('j', value.toString());
+        } else if (isOpaqueClass(value.getClass())) {
+            string('o', value.getClass().getName());
+        } else {
+            addBean(value);
+        }
+    }
+
+    private boolean enter(Object value) {
+        Integer ref = visited.get(value);
+        if (ref != null) {
+            tag('@');
+            integer(ref);
+            return false;
+        }
+        visited.put(value, visited.size());
+        return true;
+    }
+
+    private void addMap(Map<?, ?> map) {
+        List<Map.Entry<?, ?>> entries = new ArrayList<Map.Entry<?, ?>>(map.entrySet());
+        if (allStringKeys(map)) {
+            Collections.sort(entries, new Comparator<Map.Entry<?, ?>>() {
+                @Override
+                public int compare(Map.Entry<?, ?> a, Map.Entry<?, ?> b) {
+                    return ((String) a.getKey()).compareTo((String) b.getKey());
+                }
+            });
+        }
+        tag('M');
+        integer(entries.size());
+        for (Map.Entry<?, ?> entry : entries) {
+            if (VOLATILE_KEYS.contains(entry.getKey())) {
+                continue;
+            }
+            add(entry.getKey());
+            add(entry.getValue());
+        }
+    }
+
+    private void addCollection(char type, Collection<?> collection) {
+        tag(type);
+        integer(collection.size());
+        for (Object element : collection) {
+            add(element);
+        }
+    }
+
+    private void addBean(Object bean) {
+        Class<?> type = bean.getClass();
+        string('B', type.getName());
+        for (Field field : fields(type)) {
+            try {
+                string('f', field.getName());
+                add(field.get(bean));
+            } catch (IllegalAccessException e) {
+                string('!', field.getName());
+            }
+        }
+    }
+
+    private void tag(char tag) {
+        digest.update((byte) tag);
+    }
+
+    private void integer(int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    private void string(char tag, String value) {
+        byte[] bytes = value.getBytes(UTF_8);
+        tag(tag);
+        integer(bytes.length);
+        digest.update(bytes);
+    }
+
+    private static boolean allStringKeys(Map<?, ?> map) {
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Collection<?> sortedIfStrings(Set<?> set) {
+        for (Object element : set) {
+            if (!(element instanceof String)) {
+                return set;
+            }
+        }
+        List<String> sorted = new ArrayList<String>(set.size());
+        for (Object element : set) {
+            sorted.add((String) element);
+        }
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    private static boolean isPlatformClass(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.")
+                || name.startsWith("com.sun.");
+    }
+
+    private static boolean isOpaqueClass(Class<?> type) {
+        // loggers hold no template data but reach the whole logging context
+        String name = type.getName();
+        return name.startsWith("org.slf4j.") || name.startsWith("ch.qos.") || name.startsWith("org.apache.log4j.");
+    }
+
+    /**
+     * @param type bean type
+     * @return non static, non transient fields of the type and its super classes, sorted by name
+     */
+    private static Field[] fields(Class<?> type) {
+        Field[] fields = FIELDS.get(type);
+        if (fields == null) {
+            List<Field> list = new ArrayList<Field>();
+            for (Class<?> c = type; c != null && !isPlatformClass(c); c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())
+                            || field.isSynthetic()) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                    } catch (RuntimeException e) {
+                        continue;
+                    }
+                    list.add(field);
+                }
+            }
+            fields = list.toArray(new Field[list.size()]);
+            Arrays.sort(fields, new Comparator<Field>() {
+                @Override
+                public int compare(Field a, Field b) {
+                    int result = a.getName().compareTo(b.getName());
+                    return result != 0 ? result : a.getDeclaringClass().getName().compareTo(b.getDeclaringClass().getName());
+                }
+            });
+            FIELDS.putIfAbsent(type, fields);
+        }
+        return fields;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+}
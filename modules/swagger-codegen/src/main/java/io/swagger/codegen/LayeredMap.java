@@ -0,0 +1,193 @@
+package io.swagger.codegen;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Template data layered over a map of global values, e.g. the additional properties of a config. Reads fall
+ * through to the global layer, while puts and removals only change this map's own layer, so that the bundles
+ * of all models and apis share the global values instead of each holding a copy of them. The global layer
+ * must not change once maps are layered over it.
+ */
+class LayeredMap extends AbstractMap<String, Object> {
+    private final Map<String, Object> global;
+    private final Map<String, Object> local;
+    // keys of the global layer removed from this map, never keys of the local layer
+    private final Set<String> removed;
+
+    LayeredMap(Map<String, Object> global) {
+        this(global, new HashMap<String, Object>(), new HashSet<String>());
+    }
+
+    private LayeredMap(Map<String, Object> global, Map<String, Object> local, Set<String> removed) {
+        this.global = global;
+        this.local = local;
+        this.removed = removed;
+    }
+
+    /**
+     * Layers the global values over some entries, as if the global values were put into a copy of them.
+     *
+     * @param global global values
+     * @param entries entries, which global values of the same name take precedence over
+     * @return a map of the entries and the global values
+     */
+    static LayeredMap over(Map<String, Object> global, Map<String, Object> entries) {
+        LayeredMap map = new LayeredMap(global);
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            if (!global.containsKey(entry.getKey())) {
+                map.local.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return map;
+    }
+
+    /**
+     * @return a copy of this map, which shares the global layer
+     */
+    LayeredMap copy() {
+        return new LayeredMap(global, new HashMap<String, Object>(local), new HashSet<String>(removed));
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = local.get(key);
+        if (value != null || local.containsKey(key)) {
+            return value;
+        }
+        return removed.contains(key) ? null : global.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return local.containsKey(key) || (global.containsKey(key) && !removed.contains(key));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        local.put(key, value);
+        if (!removed.isEmpty()) {
+            removed.remove(key);
+        }
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object previous = get(key);
+        local.remove(key);
+        if (global.containsKey(key)) {
+            removed.add((String) key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        removed.addAll(global.keySet());
+    }
+
+    @Override
+    public int size() {
+        int size = global.size() - removed.size();
+        for (String key : local.keySet()) {
+            if (!global.containsKey(key)) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return LayeredMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Iterates the local entries, then the global entries that are neither overridden nor removed.
+     */
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+        private final Iterator<Entry<String, Object>> localEntries = local.entrySet().iterator();
+        private final Iterator<Entry<String, Object>> globalEntries = global.entrySet().iterator();
+        private Entry<String, Object> nextGlobal;
+        private Entry<String, Object> current;
+        private boolean currentIsLocal;
+
+        @Override
+        public boolean hasNext() {
+            if (localEntries.hasNext() || nextGlobal != null) {
+                return true;
+            }
+            while (globalEntries.hasNext()) {
+                Entry<String, Object> entry = globalEntries.next();
+                if (!local.containsKey(entry.getKey()) && !removed.contains(entry.getKey())) {
+                    nextGlobal = new GlobalEntry(entry);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (localEntries.hasNext()) {
+                current = localEntries.next();
+                currentIsLocal = true;
+            } else if (hasNext()) {
+                current = nextGlobal;
+                currentIsLocal = false;
+                nextGlobal = null;
+            } else {
+                throw new NoSuchElementException();
+            }
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
+            }
+            if (currentIsLocal) {
+                localEntries.remove();
+            }
+            if (global.containsKey(current.getKey())) {
+                removed.add(current.getKey());
+            }
+            current = null;
+        }
+    }
+
+    /**
+     * Global entry as seen through this map: setting its value puts it into the local layer.
+     */
+    private class GlobalEntry extends SimpleEntry<String, Object> {
+        GlobalEntry(Entry<String, Object> entry) {
+            super(entry);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
@@ -18,7 +18,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.ServiceLoader;
 
 /**
  * @deprecated use instead {@link io.swagger.codegen.DefaultGenerator}
@@ -29,7 +28,6 @@ public class MetaGenerator extends AbstractGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetaGenerator.class);
 
-    static Map<String, CodegenConfig> configs = new HashMap<String, CodegenConfig>();
     static String configString;
 
     public static void main(String[] args) {
@@ -37,10 +35,9 @@ public class MetaGenerator extends AbstractGenerator {
     }
 
     public static List<CodegenConfig> getExtensions() {
-        ServiceLoader<CodegenConfig> loader = ServiceLoader.load(CodegenConfig.class);
         List<CodegenConfig> output = new ArrayList<CodegenConfig>();
-        for (CodegenConfig config : loader) {
-            output.add(config);
+        for (CodegenConfigDescriptor descriptor : CodegenConfigLoader.getDescriptors()) {
+            output.add(descriptor.newInstance());
         }
         return output;
     }
@@ -53,8 +50,9 @@ public class MetaGenerator extends AbstractGenerator {
     }
 
     public static CodegenConfig getConfig(String name) {
-        if (configs.containsKey(name)) {
-            return configs.get(name);
+        CodegenConfigDescriptor descriptor = CodegenConfigLoader.getDescriptor(name);
+        if (descriptor != null) {
+            return descriptor.newInstance();
         }
         return null;
     }
@@ -177,16 +175,14 @@ public class MetaGenerator extends AbstractGenerator {
     }
 
     static {
-        List<CodegenConfig> extensions = getExtensions();
         StringBuilder sb = new StringBuilder();
 
-        for (CodegenConfig config : extensions) {
+        for (CodegenConfigDescriptor descriptor : CodegenConfigLoader.getDescriptors()) {
             if (sb.toString().length() != 0) {
                 sb.append(", ");
             }
-            sb.append(config.getName());
-            configs.put(config.getName(), config);
-            configString = sb.toString();
+            sb.append(descriptor.getName());
         }
+        configString = sb.toString();
     }
 }
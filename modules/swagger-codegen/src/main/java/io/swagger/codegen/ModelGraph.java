@@ -0,0 +1,192 @@
+package io.swagger.codegen;
+
+import com.google.common.base.Function;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inheritance graph of the models of a generation, as passed to
+ * {@link CodegenConfig#postProcessAllModels(Map)}: the models by name, their parents, interfaces and
+ * children, and an order in which parents come before their children. The graph is built once from the
+ * {@code parent} and {@code interfaces} names of the models, so that configs can look models up by name
+ * instead of each indexing all models again. The graph itself can't be changed; it doesn't follow later
+ * changes of the models.
+ */
+public final class ModelGraph {
+    private static final List<CodegenModel> NONE = Collections.emptyList();
+
+    // a HashMap like the indexes the configs used to build, so models are iterated in the same order as before
+    private final Map<String, CodegenModel> models = new HashMap<String, CodegenModel>();
+    private final Map<CodegenModel, CodegenModel> parents = new IdentityHashMap<CodegenModel, CodegenModel>();
+    private final Map<CodegenModel, List<CodegenModel>> interfaces =
+            new IdentityHashMap<CodegenModel, List<CodegenModel>>();
+    private final Map<CodegenModel, List<CodegenModel>> subtypes =
+            new IdentityHashMap<CodegenModel, List<CodegenModel>>();
+    private final Map<CodegenModel, List<CodegenModel>> children =
+            new IdentityHashMap<CodegenModel, List<CodegenModel>>();
+    private final List<CodegenModel> topologicalOrder = new ArrayList<CodegenModel>();
+
+    private ModelGraph() {
+    }
+
+    /**
+     * @param config config naming the models
+     * @param objs the models by definition name, as passed to {@link CodegenConfig#postProcessAllModels(Map)}
+     * @return the graph of the models
+     */
+    public static ModelGraph of(final CodegenConfig config, Map<String, Object> objs) {
+        return of(objs, new Function<String, String>() {
+            @Override
+            public String apply(String name) {
+                return config.toModelName(name);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    static ModelGraph of(Map<String, Object> objs, Function<String, String> toModelName) {
+        ModelGraph graph = new ModelGraph();
+        for (Map.Entry<String, Object> entry : objs.entrySet()) {
+            String modelName = toModelName.apply(entry.getKey());
+            Map<String, Object> inner = (Map<String, Object>) entry.getValue();
+            List<Map<String, Object>> models = (List<Map<String, Object>>) inner.get("models");
+            for (Map<String, Object> mo : models) {
+                graph.models.put(modelName, (CodegenModel) mo.get("model"));
+            }
+        }
+        graph.link();
+        return graph;
+    }
+
+    private void link() {
+        for (CodegenModel cm : models.values()) {
+            CodegenModel parent = cm.parent == null ? null : models.get(cm.parent);
+            if (parent != null) {
+                parents.put(cm, parent);
+                add(subtypes, parent, cm);
+            }
+            if (cm.interfaces != null) {
+                for (String intf : cm.interfaces) {
+                    CodegenModel intfModel = models.get(intf);
+                    if (intfModel != null) {
+                        add(interfaces, cm, intfModel);
+                    }
+                }
+            }
+        }
+        for (CodegenModel cm : models.values()) {
+            // a discriminator on an ancestor stops the model from being a child of the ancestors above it,
+            // a cycle stops before the model would become its own child
+            Set<CodegenModel> visited = Collections.newSetFromMap(new IdentityHashMap<CodegenModel, Boolean>());
+            visited.add(cm);
+            for (CodegenModel parent = parents.get(cm); parent != null && visited.add(parent);
+                 parent = parent.discriminator == null ? parents.get(parent) : null) {
+                add(children, parent, cm);
+            }
+        }
+        Set<CodegenModel> ordered = Collections.newSetFromMap(new IdentityHashMap<CodegenModel, Boolean>());
+        for (CodegenModel cm : models.values()) {
+            addWithAncestors(cm, ordered);
+        }
+        freeze(interfaces);
+        freeze(subtypes);
+        freeze(children);
+    }
+
+    private void addWithAncestors(CodegenModel cm, Set<CodegenModel> ordered) {
+        // ancestors first, iteratively as hierarchies may be deep; a cycle is cut where it is entered
+        List<CodegenModel> chain = new ArrayList<CodegenModel>();
+        for (CodegenModel model = cm; model != null && !ordered.contains(model) && !chain.contains(model);
+             model = parents.get(model)) {
+            chain.add(model);
+        }
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            ordered.add(chain.get(i));
+            topologicalOrder.add(chain.get(i));
+        }
+    }
+
+    private static void add(Map<CodegenModel, List<CodegenModel>> lists, CodegenModel key, CodegenModel value) {
+        List<CodegenModel> list = lists.get(key);
+        if (list == null) {
+            list = new ArrayList<CodegenModel>();
+            lists.put(key, list);
+        }
+        list.add(value);
+    }
+
+    private static void freeze(Map<CodegenModel, List<CodegenModel>> lists) {
+        for (Map.Entry<CodegenModel, List<CodegenModel>> entry : lists.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+    }
+
+    /**
+     * @param name model name, as returned by {@link CodegenConfig#toModelName(String)}
+     * @return the model of the name, or null if there is none
+     */
+    public CodegenModel getModel(String name) {
+        return name == null ? null : models.get(name);
+    }
+
+    /**
+     * @return all models
+     */
+    public Collection<CodegenModel> getModels() {
+        return Collections.unmodifiableCollection(models.values());
+    }
+
+    /**
+     * @param model a model of the graph
+     * @return the model named by its {@code parent}, or null if there is none
+     */
+    public CodegenModel getParent(CodegenModel model) {
+        return parents.get(model);
+    }
+
+    /**
+     * @param model a model of the graph
+     * @return the models named by its {@code interfaces}
+     */
+    public List<CodegenModel> getInterfaces(CodegenModel model) {
+        return get(interfaces, model);
+    }
+
+    /**
+     * @param model a model of the graph
+     * @return the models whose parent it is
+     */
+    public List<CodegenModel> getSubtypes(CodegenModel model) {
+        return get(subtypes, model);
+    }
+
+    /**
+     * The children of a model, as in {@link CodegenModel#children}: its descendants, except those below a
+     * descendant with a discriminator, which form a hierarchy of their own.
+     *
+     * @param model a model of the graph
+     * @return the children of the model
+     */
+    public List<CodegenModel> getChildren(CodegenModel model) {
+        return get(children, model);
+    }
+
+    /**
+     * @return all models, each after its ancestors
+     */
+    public List<CodegenModel> getTopologicalOrder() {
+        return Collections.unmodifiableList(topologicalOrder);
+    }
+
+    private static List<CodegenModel> get(Map<CodegenModel, List<CodegenModel>> lists, CodegenModel model) {
+        List<CodegenModel> list = lists.get(model);
+        return list == null ? NONE : list;
+    }
+}
@@ -0,0 +1,158 @@
+package io.swagger.codegen;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds compiled mustache templates and the raw sources of partials, so that a template used for
+ * every model or every API tag is only read and compiled once.
+ *
+ * Compiled templates are keyed by the resolved template path together with the compiler settings
+ * and the template lookup scope (template dir, library, embedded template dir), which makes an
+ * instance safe to share between generators. Partials are keyed by their resolved path only.
+ */
+public class TemplateCache {
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<String, Template>();
+    private final ConcurrentMap<String, String> partials = new ConcurrentHashMap<String, String>();
+
+    private final AtomicLong templateHits = new AtomicLong();
+    private final AtomicLong templateMisses = new AtomicLong();
+    private final AtomicLong partialHits = new AtomicLong();
+    private final AtomicLong partialMisses = new AtomicLong();
+
+    /**
+     * Build the scope part of a template key: the compiler settings and the locations the template and
+     * its partials are resolved from.
+     *
+     * @param compiler the compiler templates are compiled with
+     * @param config   the codegen config used to resolve templates and partials
+     * @return scope key
+     */
+    public static String scopeKey(Mustache.Compiler compiler, CodegenConfig config) {
+        return compilerKey(compiler) + '|' + config.templateDir() + '|' + config.getLibrary() + '|'
+                + config.embeddedTemplateDir();
+    }
+
+    /**
+     * Build the cache key of a compiled template.
+     *
+     * @param scope        scope key, see {@link #scopeKey(Mustache.Compiler, CodegenConfig)}
+     * @param templateFile resolved template path, as returned by {@link AbstractGenerator#getFullTemplateFile}
+     * @return cache key
+     */
+    public static String templateKey(String scope, String templateFile) {
+        return scope + '|' + templateFile;
+    }
+
+    /**
+     * Describe the settings of a compiler, so that templates compiled with e.g. a different escaper
+     * do not share an entry. Custom delimiters are not covered as JMustache does not expose them.
+     *
+     * @param compiler the compiler
+     * @return settings key
+     */
+    public static String compilerKey(Mustache.Compiler compiler) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(compiler.standardsMode).append(',')
+                .append(compiler.strictSections).append(',')
+                .append(compiler.nullValue).append(',')
+                .append(compiler.missingIsNull).append(',')
+                .append(compiler.emptyStringIsFalse).append(',')
+                .append(compiler.zeroIsFalse).append(',')
+                .append(className(compiler.formatter)).append(',')
+                .append(className(compiler.escaper)).append(',')
+                .append(className(compiler.collector));
+        return sb.toString();
+    }
+
+    private static String className(Object o) {
+        return o == null ? "null" : o.getClass().getName();
+    }
+
+    /**
+     * @param key template key, see {@link #templateKey(String, String)}
+     * @return the compiled template, or null if it has not been compiled yet
+     */
+    public Template getTemplate(String key) {
+        Template template = templates.get(key);
+        if (template == null) {
+            templateMisses.incrementAndGet();
+        } else {
+            templateHits.incrementAndGet();
+        }
+        return template;
+    }
+
+    /**
+     * Store a compiled template. If another thread stored one for the same key first, that one wins.
+     *
+     * @param key      template key
+     * @param template compiled template
+     * @return the template now held by the cache
+     */
+    public Template putTemplate(String key, Template template) {
+        Template existing = templates.putIfAbsent(key, template);
+        return existing == null ? template : existing;
+    }
+
+    /**
+     * @param templateFile resolved partial path
+     * @return the partial source, or null if it has not been read yet
+     */
+    public String getPartial(String templateFile) {
+        String source = partials.get(templateFile);
+        if (source == null) {
+            partialMisses.incrementAndGet();
+        } else {
+            partialHits.incrementAndGet();
+        }
+        return source;
+    }
+
+    /**
+     * Store the source of a partial.
+     *
+     * @param templateFile resolved partial path
+     * @param source       partial source
+     * @return the source now held by the cache
+     */
+    public String putPartial(String templateFile, String source) {
+        String existing = partials.putIfAbsent(templateFile, source);
+        return existing == null ? source : existing;
+    }
+
+    public long getTemplateHits() {
+        return templateHits.get();
+    }
+
+    public long getTemplateMisses() {
+        return templateMisses.get();
+    }
+
+    public long getPartialHits() {
+        return partialHits.get();
+    }
+
+    public long getPartialMisses() {
+        return partialMisses.get();
+    }
+
+    public void clear() {
+        templates.clear();
+        partials.clear();
+        templateHits.set(0);
+        templateMisses.set(0);
+        partialHits.set(0);
+        partialMisses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "templates: " + templateHits.get() + " hits / " + templateMisses.get() + " misses, "
+                + "partials: " + partialHits.get() + " hits / " + partialMisses.get() + " misses";
+    }
+}
@@ -0,0 +1,285 @@
+package io.swagger.codegen;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Resolves template names the way {@link AbstractGenerator#getFullTemplateFile(CodegenConfig, String)} always
+ * did, from four layers in turn: the library folder of the template dir, the template dir, the library folder
+ * of the embedded templates and the embedded templates. The folders a template may be found in are listed once
+ * when the index is created, so that resolving the template of every model, api and partial doesn't touch the
+ * file system or the class path.
+ *
+ * A folder with more than {@link #MAX_ENTRIES} entries, or a class path location that can't be listed, is
+ * probed for each name instead, as before. Either way, each name is only resolved once.
+ */
+public class TemplateIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateIndex.class);
+
+    static final int MAX_ENTRIES = 10000;
+
+    /**
+     * Where a template was found.
+     */
+    public enum Layer {
+        TEMPLATE_DIR_LIBRARY, TEMPLATE_DIR, EMBEDDED_LIBRARY, EMBEDDED
+    }
+
+    private final CodegenConfig config;
+    private final String templateDir;
+    private final String library;
+    private final String embeddedTemplateDir;
+    private final ClassLoader classLoader;
+
+    // relative paths, '/' separated, or null if the folder is probed for each name
+    private final Set<String> templateDirLibraryEntries;
+    private final Set<String> templateDirEntries;
+    private final Set<String> embeddedLibraryEntries;
+
+    private final ConcurrentMap<String, String> resolved = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, Layer> layers = new ConcurrentHashMap<String, Layer>();
+
+    /**
+     * @param config config whose template dir, library and embedded template dir are indexed
+     * @param classLoader class loader holding the embedded templates
+     */
+    public TemplateIndex(CodegenConfig config, ClassLoader classLoader) {
+        this.config = config;
+        this.templateDir = config.templateDir();
+        this.library = config.getLibrary();
+        this.embeddedTemplateDir = config.embeddedTemplateDir();
+        this.classLoader = classLoader;
+        if (StringUtils.isNotEmpty(library)) {
+            templateDirLibraryEntries = listFolder(libraryFolder(templateDir));
+            embeddedLibraryEntries = listResources(toResourcePath(libraryFolder(embeddedTemplateDir)));
+        } else {
+            templateDirLibraryEntries = Collections.emptySet();
+            embeddedLibraryEntries = Collections.emptySet();
+        }
+        templateDirEntries = listFolder(String.valueOf(templateDir));
+    }
+
+    /**
+     * @param config a config
+     * @return {@code true} if this index resolves the templates of the config with its current settings
+     */
+    public boolean isFor(CodegenConfig config) {
+        return this.config == config && StringUtils.equals(templateDir, config.templateDir())
+                && StringUtils.equals(library, config.getLibrary())
+                && StringUtils.equals(embeddedTemplateDir, config.embeddedTemplateDir());
+    }
+
+    /**
+     * @param templateFile template name, e.g. {@code model.mustache}
+     * @return the template file path, see {@link AbstractGenerator#getFullTemplateFile(CodegenConfig, String)}
+     */
+    public String resolve(String templateFile) {
+        String path = resolved.get(templateFile);
+        if (path == null) {
+            path = doResolve(templateFile);
+            resolved.put(templateFile, path);
+        }
+        return path;
+    }
+
+    private String doResolve(String templateFile) {
+        String name = toIndexKey(templateFile);
+        if (StringUtils.isNotEmpty(library)) {
+            String libTemplateFile = libraryFolder(templateDir) + File.separator + templateFile;
+            if (fileExists(templateDirLibraryEntries, name, libTemplateFile)) {
+                layers.put(templateFile, Layer.TEMPLATE_DIR_LIBRARY);
+                return libTemplateFile;
+            }
+        }
+
+        String template = templateDir + File.separator + templateFile;
+        if (fileExists(templateDirEntries, name, template)) {
+            layers.put(templateFile, Layer.TEMPLATE_DIR);
+            return template;
+        }
+
+        if (StringUtils.isNotEmpty(library)) {
+            String embeddedLibTemplateFile = libraryFolder(embeddedTemplateDir) + File.separator + templateFile;
+            if (resourceExists(embeddedLibraryEntries, name, embeddedLibTemplateFile)) {
+                layers.put(templateFile, Layer.EMBEDDED_LIBRARY);
+                return embeddedLibTemplateFile;
+            }
+        }
+
+        layers.put(templateFile, Layer.EMBEDDED);
+        return embeddedTemplateDir + File.separator + templateFile;
+    }
+
+    /**
+     * @return the layer of each template resolved so far, by template name
+     */
+    public Map<String, Layer> getResolvedLayers() {
+        return Collections.unmodifiableMap(new TreeMap<String, Layer>(layers));
+    }
+
+    private String libraryFolder(String dir) {
+        return dir + File.separator + "libraries" + File.separator + library;
+    }
+
+    private static boolean fileExists(Set<String> entries, String name, String path) {
+        if (entries == null || name == null) {
+            return new File(path).exists();
+        }
+        return entries.contains(name);
+    }
+
+    private boolean resourceExists(Set<String> entries, String name, String path) {
+        if (entries == null || name == null) {
+            return classLoader.getResource(toResourcePath(path)) != null;
+        }
+        return entries.contains(name);
+    }
+
+    /**
+     * @return the '/' separated relative path of a template name, or null if it isn't a plain relative path
+     */
+    static String toIndexKey(String templateFile) {
+        String name = toResourcePath(templateFile);
+        if (name.isEmpty() || name.startsWith("/") || name.endsWith("/")) {
+            return null;
+        }
+        for (String segment : name.split("/", -1)) {
+            if (segment.isEmpty() || ".".equals(segment) || "..".equals(segment)) {
+                return null;
+            }
+        }
+        return name;
+    }
+
+    private static String toResourcePath(String path) {
+        return File.separatorChar == '/' ? path : path.replace(File.separatorChar, '/');
+    }
+
+    /**
+     * @return the relative paths of the files and folders below the folder, or null if they can't all be listed
+     */
+    private static Set<String> listFolder(String folder) {
+        return listFolder(new File(folder));
+    }
+
+    private static Set<String> listFolder(File folder) {
+        Set<String> entries = new HashSet<String>();
+        if (folder.isDirectory() && !listFolder(folder, "", entries, new HashSet<String>())) {
+            LOGGER.debug("Can't list the files of " + folder + ", templates are looked up one by one");
+            return null;
+        }
+        return entries;
+    }
+
+    /**
+     * @param ancestors canonical paths of the folders being listed, to stop at symbolic link cycles
+     * @return false if there are more than {@link #MAX_ENTRIES} entries or a folder can't be listed
+     */
+    private static boolean listFolder(File folder, String prefix, Set<String> entries, Set<String> ancestors) {
+        String canonicalPath;
+        try {
+            canonicalPath = folder.getCanonicalPath();
+        } catch (IOException e) {
+            return false;
+        }
+        if (!ancestors.add(canonicalPath)) {
+            // the files below a symbolic link cycle exist under any number of names
+            return false;
+        }
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return false;
+        }
+        for (File file : files) {
+            if (!file.exists()) {
+                // broken symbolic link
+                continue;
+            }
+            String path = prefix + file.getName();
+            entries.add(path);
+            if (entries.size() > MAX_ENTRIES) {
+                return false;
+            }
+            if (file.isDirectory() && !listFolder(file, path + "/", entries, ancestors)) {
+                return false;
+            }
+        }
+        ancestors.remove(canonicalPath);
+        return true;
+    }
+
+    /**
+     * @return the relative paths of the resources below the class path folder in all class path entries, or
+     * null if one of them can't be listed
+     */
+    private Set<String> listResources(String folder) {
+        Set<String> entries = new HashSet<String>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(folder);
+            if (!urls.hasMoreElements()) {
+                // no such folder, or a jar without folder entries
+                return null;
+            }
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                if ("file".equals(url.getProtocol())) {
+                    Set<String> files = listFolder(new File(url.toURI()));
+                    if (files == null) {
+                        return null;
+                    }
+                    entries.addAll(files);
+                } else if (!"jar".equals(url.getProtocol()) || !listJarEntries(url, folder + "/", entries)) {
+                    return null;
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Can't list " + folder + " on the class path, templates are looked up one by one", e);
+            return null;
+        }
+        return entries;
+    }
+
+    private static boolean listJarEntries(URL url, String prefix, Set<String> entries) throws IOException {
+        URLConnection connection = url.openConnection();
+        if (!(connection instanceof JarURLConnection)) {
+            return false;
+        }
+        connection.setUseCaches(false);
+        JarFile jar = ((JarURLConnection) connection).getJarFile();
+        try {
+            Enumeration<JarEntry> jarEntries = jar.entries();
+            while (jarEntries.hasMoreElements()) {
+                String name = jarEntries.nextElement().getName();
+                if (name.startsWith(prefix) && name.length() > prefix.length()) {
+                    String path = name.endsWith("/") ? name.substring(prefix.length(), name.length() - 1)
+                            : name.substring(prefix.length());
+                    entries.add(path);
+                    // folders of files whose folders have no entries of their own
+                    for (int i = path.indexOf('/'); i > 0; i = path.indexOf('/', i + 1)) {
+                        entries.add(path.substring(0, i));
+                    }
+                }
+            }
+        } finally {
+            jar.close();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package io.swagger.codegen;
+
+import java.util.Collection;
+
+/**
+ * Finds the names a mustache template looks up: variables, sections and inverted sections, split at dots, as
+ * well as the partials it includes. Delimiter changes such as <code>{{=&lt;% %&gt;=}}</code> are followed.
+ * Comments and the implicit iterator {@code .} are skipped, lambdas are reported as any other name.
+ */
+class TemplateNames {
+    private TemplateNames() {
+    }
+
+    /**
+     * @param source template source
+     * @param fields receives the names looked up by the template
+     * @param partials receives the names of included partials, without the {@code .mustache} extension
+     */
+    static void scan(String source, Collection<String> fields, Collection<String> partials) {
+        String open = "{{";
+        String close = "}}";
+        int position = 0;
+        while (true) {
+            int start = source.indexOf(open, position);
+            if (start < 0) {
+                return;
+            }
+            start += open.length();
+            boolean triple = "{{".equals(open) && source.startsWith("{", start);
+            String end = triple ? "}" + close : close;
+            int stop = source.indexOf(end, triple ? start + 1 : start);
+            if (stop < 0) {
+                return;
+            }
+            position = stop + end.length();
+            String tag = source.substring(triple ? start + 1 : start, stop).trim();
+            if (tag.isEmpty()) {
+                continue;
+            }
+            char type = tag.charAt(0);
+            if (type == '!') {
+                continue;
+            }
+            if (type == '=') {
+                String[] delimiters = tag.substring(1, tag.length() - 1).trim().split("\\s+");
+                if (tag.endsWith("=") && delimiters.length == 2) {
+                    open = delimiters[0];
+                    close = delimiters[1];
+                }
+                continue;
+            }
+            if (type == '#' || type == '^' || type == '/' || type == '&' || type == '>') {
+                tag = tag.substring(1).trim();
+            }
+            if (type == '>') {
+                partials.add(tag);
+                continue;
+            }
+            for (String name : tag.split("\\.")) {
+                if (!name.isEmpty()) {
+                    fields.add(name);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.swagger.codegen;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes generated files as entries of a zip stream instead of to the file system.
+ *
+ * Entry names are the paths relative to the output folder, optionally below a prefix folder. As entries
+ * can't be replaced once written, writing the same file twice keeps the first version and logs a warning.
+ * Files written to the output folder without the sink can be added with {@link #addFiles(File)}.
+ */
+public class ZipGeneratorSink implements GeneratorSink {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZipGeneratorSink.class);
+
+    private final ZipOutputStream zip;
+    private final Path root;
+    private final String prefix;
+    private final Set<String> entries = new HashSet<String>();
+
+    /**
+     * @param out          stream to write the zip to, closed by {@link #close()}
+     * @param outputFolder the output folder of the generator, entries are named relative to it
+     * @param prefix       folder to put all entries in, or null
+     */
+    public ZipGeneratorSink(OutputStream out, File outputFolder, String prefix) {
+        this.zip = new ZipOutputStream(out);
+        this.root = outputFolder.getAbsoluteFile().toPath().normalize();
+        this.prefix = prefix == null || prefix.isEmpty() ? "" : prefix + "/";
+    }
+
+    @Override
+    public synchronized void write(File file, byte[] contents) throws IOException {
+        if (putNextEntry(file)) {
+            zip.write(contents);
+            zip.closeEntry();
+        }
+    }
+
+    @Override
+    public synchronized void write(File file, InputStream contents) throws IOException {
+        if (putNextEntry(file)) {
+            IOUtils.copy(contents, zip);
+            zip.closeEntry();
+        }
+    }
+
+    @Override
+    public synchronized boolean exists(File file) {
+        return entries.contains(entryName(file));
+    }
+
+    /**
+     * Adds the files below a folder that aren't entries yet, e.g. files a config wrote to the output folder
+     * itself instead of through the sink.
+     *
+     * @param folder folder, usually the output folder
+     * @return number of entries added
+     * @throws IOException if a file can't be read
+     */
+    public synchronized int addFiles(File folder) throws IOException {
+        int added = 0;
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return added;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.isDirectory()) {
+                added += addFiles(file);
+            } else if (file.isFile() && !exists(file)) {
+                InputStream in = new FileInputStream(file);
+                try {
+                    write(file, in);
+                } finally {
+                    in.close();
+                }
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * @return number of entries written so far
+     */
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        zip.close();
+    }
+
+    private boolean putNextEntry(File file) throws IOException {
+        String name = entryName(file);
+        if (!entries.add(name)) {
+            LOGGER.warn("Skipped writing " + name + " twice to zip");
+            return false;
+        }
+        zip.putNextEntry(new ZipEntry(name));
+        return true;
+    }
+
+    private String entryName(File file) {
+        Path path = file.getAbsoluteFile().toPath().normalize();
+        // files outside of the output folder end up at the top level
+        String relative = path.startsWith(root) ? root.relativize(path).toString() : file.getName();
+        return prefix + relative.replace(File.separatorChar, '/');
+    }
+}
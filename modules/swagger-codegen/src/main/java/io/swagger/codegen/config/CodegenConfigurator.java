@@ -8,6 +8,8 @@ import io.swagger.codegen.ClientOpts;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConfigLoader;
 import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.GenerationMetrics;
+import io.swagger.codegen.GeneratorProperties;
 import io.swagger.codegen.auth.AuthParser;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
@@ -57,6 +59,12 @@ public class CodegenConfigurator implements Serializable {
     private String artifactVersion;
     private String library;
     private String ignoreFileOverride;
+    private int parallelism = 1;
+    private boolean incremental;
+    private boolean writeIfChanged;
+    private boolean linkStaticFiles;
+    private boolean timings;
+    private boolean systemPropertiesFallback = true;
     private Map<String, String> systemProperties = new HashMap<String, String>();
     private Map<String, String> instantiationTypes = new HashMap<String, String>();
     private Map<String, String> typeMappings = new HashMap<String, String>();
@@ -379,13 +387,95 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public CodegenConfigurator setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * @param incremental whether to only render files whose inputs changed since the previous run,
+     *                    see {@link io.swagger.codegen.GenerationManifest}
+     * @return this
+     */
+    public CodegenConfigurator setIncremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    public boolean isWriteIfChanged() {
+        return writeIfChanged;
+    }
+
+    /**
+     * @param writeIfChanged whether to leave files whose content did not change untouched, keeping their
+     *                       modification time
+     * @return this
+     */
+    public CodegenConfigurator setWriteIfChanged(boolean writeIfChanged) {
+        this.writeIfChanged = writeIfChanged;
+        return this;
+    }
+
+    public boolean isLinkStaticFiles() {
+        return linkStaticFiles;
+    }
+
+    /**
+     * @param linkStaticFiles whether to hard link static supporting files, e.g. the gradle wrapper jar, to
+     *                        the files of the template dir instead of copying them. Files read from a jar
+     *                        are always copied.
+     * @return this
+     */
+    public CodegenConfigurator setLinkStaticFiles(boolean linkStaticFiles) {
+        this.linkStaticFiles = linkStaticFiles;
+        return this;
+    }
+
+    public boolean isTimings() {
+        return timings;
+    }
+
+    /**
+     * @param timings whether to also measure the bytes allocated by each phase of the generation,
+     *                see {@link io.swagger.codegen.GenerationMetrics}
+     * @return this
+     */
+    public CodegenConfigurator setTimings(boolean timings) {
+        this.timings = timings;
+        return this;
+    }
+
+    public boolean isSystemPropertiesFallback() {
+        return systemPropertiesFallback;
+    }
+
+    /**
+     * @param systemPropertiesFallback whether generator switches that are not set on this configurator
+     *                                 (models, apis, ...) may still be read from JVM system properties
+     * @return this
+     */
+    public CodegenConfigurator setSystemPropertiesFallback(boolean systemPropertiesFallback) {
+        this.systemPropertiesFallback = systemPropertiesFallback;
+        return this;
+    }
+
     public ClientOptInput toClientOptInput() {
 
         Validate.notEmpty(lang, "language must be specified");
         Validate.notEmpty(inputSpec, "input spec must be specified");
 
-        setVerboseFlags();
-        setSystemProperties();
+        GeneratorProperties generatorProperties = new GeneratorProperties()
+                .systemPropertiesFallback(systemPropertiesFallback);
+        applyVerboseFlags(generatorProperties);
+        applySystemProperties(generatorProperties);
 
         CodegenConfig config = CodegenConfigLoader.forName(lang);
 
@@ -423,12 +513,21 @@ public class CodegenConfigurator implements Serializable {
 
         config.additionalProperties().putAll(additionalProperties);
 
+        GenerationMetrics metrics = new GenerationMetrics(timings);
         ClientOptInput input = new ClientOptInput()
-                .config(config);
+                .config(config)
+                .parallelism(parallelism)
+                .incremental(incremental)
+                .writeIfChanged(writeIfChanged)
+                .linkStaticFiles(linkStaticFiles)
+                .generatorProperties(generatorProperties)
+                .metrics(metrics);
 
         final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
 
+        GenerationMetrics.Timer timer = metrics.start(GenerationMetrics.PARSE);
         Swagger swagger = new SwaggerParser().read(inputSpec, authorizationValues, true);
+        timer.stop();
 
         input.opts(new ClientOpts())
                 .swagger(swagger);
@@ -459,7 +558,7 @@ public class CodegenConfigurator implements Serializable {
         }
     }
 
-    private void setVerboseFlags() {
+    private void applyVerboseFlags(GeneratorProperties generatorProperties) {
         if (!verbose) {
             return;
         }
@@ -467,17 +566,24 @@ public class CodegenConfigurator implements Serializable {
                 "\n - [debugSwagger] prints the swagger specification as interpreted by the codegen" +
                 "\n - [debugModels] prints models passed to the template engine" +
                 "\n - [debugOperations] prints operations passed to the template engine" +
-                "\n - [debugSupportingFiles] prints additional data passed to the template engine");
+                "\n - [debugSupportingFiles] prints additional data passed to the template engine" +
+                "\n - [debugTemplates] prints the templates used and the folders they were found in");
 
-        System.setProperty("debugSwagger", "");
-        System.setProperty("debugModels", "");
-        System.setProperty("debugOperations", "");
-        System.setProperty("debugSupportingFiles", "");
+        generatorProperties.put("debugSwagger", "");
+        generatorProperties.put("debugModels", "");
+        generatorProperties.put("debugOperations", "");
+        generatorProperties.put("debugSupportingFiles", "");
+        generatorProperties.put("debugTemplates", "");
     }
 
-    private void setSystemProperties() {
+    private void applySystemProperties(GeneratorProperties generatorProperties) {
+        generatorProperties.putAll(systemProperties);
         for (Map.Entry<String, String> entry : systemProperties.entrySet()) {
-            System.setProperty(entry.getKey(), entry.getValue());
+            // generator switches stay local to this run, anything else may still be read by
+            // language configs through System.getProperty (e.g. -Dnoservice)
+            if (!GeneratorProperties.SWITCHES.contains(entry.getKey())) {
+                System.setProperty(entry.getKey(), entry.getValue());
+            }
         }
     }
 
@@ -13,6 +13,14 @@ import java.util.*;
 import static io.swagger.models.properties.StringProperty.Format.URI;
 import static io.swagger.models.properties.StringProperty.Format.URL;
 
+/**
+ * Generates JSON and XML examples of models and properties.
+ *
+ * An instance is meant to be shared by all operations of a generation: examples resolved from the
+ * properties of a model are set on the model, as generators serializing the spec rely on them, and the
+ * serialized examples of model references are cached, so that a model returned by many operations is only
+ * resolved and serialized once. Instances are not thread safe.
+ */
 public class ExampleGenerator {
     private static final Logger logger = LoggerFactory.getLogger(ExampleGenerator.class);
 
@@ -24,12 +32,22 @@ public class ExampleGenerator {
     private static final String CONTENT_TYPE = "contentType";
     private static final String OUTPUT = "output";
     private static final String NONE = "none";
+    private static final String JSON_KEY = "json:";
+    private static final String XML_KEY = "xml:";
 
     protected Map<String, Model> examples;
     private Random random;
+    private final XmlExampleGenerator xmlExampleGenerator;
+    // serialized examples of model references, by media type kind and reference
+    private final Map<String, String> serialized = new HashMap<>();
 
     public ExampleGenerator(Map<String, Model> examples) {
         this.examples = examples;
+        this.xmlExampleGenerator = new XmlExampleGenerator(examples);
+        resetRandom();
+    }
+
+    private void resetRandom() {
         // use a fixed seed to make the "random" numbers reproducible.
         this.random = new Random("ExampleGenerator".hashCode());
     }
@@ -37,6 +55,7 @@ public class ExampleGenerator {
     public List<Map<String, String>> generate(Map<String, Object> examples, List<String> mediaTypes, Property property) {
         List<Map<String, String>> output = new ArrayList<>();
         Set<String> processedModels = new HashSet<>();
+        resetRandom();
         if (examples == null) {
             if (mediaTypes == null) {
                 // assume application/json for this
@@ -46,14 +65,14 @@ public class ExampleGenerator {
                 Map<String, String> kv = new HashMap<>();
                 kv.put(CONTENT_TYPE, mediaType);
                 if (property != null && mediaType.startsWith(MIME_TYPE_JSON)) {
-                    String example = Json.pretty(resolvePropertyToExample("", mediaType, property, processedModels));
+                    String example = toJson(mediaType, property, processedModels);
 
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
                     }
                 } else if (property != null && mediaType.startsWith(MIME_TYPE_XML)) {
-                    String example = new XmlExampleGenerator(this.examples).toXml(property);
+                    String example = toXml(property);
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
@@ -79,6 +98,7 @@ public class ExampleGenerator {
     public List<Map<String, String>> generate(Map<String, Object> examples, List<String> mediaTypes, String modelName) {
         List<Map<String, String>> output = new ArrayList<>();
         Set<String> processedModels = new HashSet<>();
+        resetRandom();
         if (examples == null) {
             if (mediaTypes == null) {
                 // assume application/json for this
@@ -91,7 +111,7 @@ public class ExampleGenerator {
                     final Model model = this.examples.get(modelName);
                     if (model != null) {
 
-                        String example = Json.pretty(resolveModelToExample(modelName, mediaType, model, processedModels));
+                        String example = toJson(mediaType, modelName, model, processedModels);
 
                         if (example != null) {
                             kv.put(EXAMPLE, example);
@@ -99,8 +119,7 @@ public class ExampleGenerator {
                         }
                     }
                 } else if (modelName != null && mediaType.startsWith(MIME_TYPE_XML)) {
-                    final Model model = this.examples.get(modelName);
-                    String example = new XmlExampleGenerator(this.examples).toXml(model, 0, Collections.<String>emptySet());
+                    String example = toXml(modelName);
                     if (example != null) {
                         kv.put(EXAMPLE, example);
                         output.add(kv);
@@ -123,6 +142,54 @@ public class ExampleGenerator {
         return output;
     }
 
+    private String toJson(String mediaType, Property property, Set<String> processedModels) {
+        String key = null;
+        if (property instanceof RefProperty && property.getExample() == null) {
+            key = JSON_KEY + ((RefProperty) property).getSimpleRef();
+        } else if (property instanceof ArrayProperty && property.getExample() == null
+                && ((ArrayProperty) property).getMaxItems() == null
+                && ((ArrayProperty) property).getItems() instanceof RefProperty
+                && ((ArrayProperty) property).getItems().getExample() == null) {
+            key = JSON_KEY + "[]" + ((RefProperty) ((ArrayProperty) property).getItems()).getSimpleRef();
+        }
+        if (key != null && serialized.containsKey(key)) {
+            return serialized.get(key);
+        }
+        String example = Json.pretty(resolvePropertyToExample("", mediaType, property, processedModels));
+        if (key != null) {
+            serialized.put(key, example);
+        }
+        return example;
+    }
+
+    private String toJson(String mediaType, String modelName, Model model, Set<String> processedModels) {
+        String key = JSON_KEY + modelName;
+        if (serialized.containsKey(key)) {
+            return serialized.get(key);
+        }
+        String example = Json.pretty(resolveModelToExample(modelName, mediaType, model, processedModels));
+        serialized.put(key, example);
+        return example;
+    }
+
+    private String toXml(Property property) {
+        if (property instanceof RefProperty) {
+            // a reference is rendered as the referenced model
+            return toXml(((RefProperty) property).getSimpleRef());
+        }
+        return xmlExampleGenerator.toXml(property);
+    }
+
+    private String toXml(String modelName) {
+        String key = XML_KEY + modelName;
+        if (serialized.containsKey(key)) {
+            return serialized.get(key);
+        }
+        String example = xmlExampleGenerator.toXml(this.examples.get(modelName), 0, Collections.<String>emptySet());
+        serialized.put(key, example);
+        return example;
+    }
+
     private Object resolvePropertyToExample(String propertyName, String mediaType, Property property, Set<String> processedModels) {
         logger.debug("Resolving example for property {}...", property);
         if (property.getExample() != null) {
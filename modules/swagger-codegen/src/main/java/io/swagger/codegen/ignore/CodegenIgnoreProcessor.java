@@ -3,10 +3,14 @@ package io.swagger.codegen.ignore;
 import com.google.common.collect.ImmutableList;
 import io.swagger.codegen.ignore.rules.DirectoryRule;
 import io.swagger.codegen.ignore.rules.Rule;
+import io.swagger.codegen.ignore.rules.RuleSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
+import java.net.URI;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -23,6 +27,11 @@ public class CodegenIgnoreProcessor {
     private List<Rule> exclusionRules = new ArrayList<>();
     private List<Rule> inclusionRules = new ArrayList<>();
 
+    // the rules compiled for matching, null if they can only be evaluated one by one
+    private RuleSet exclusions;
+    private RuleSet inclusions;
+    private URI baseDirectory;
+
     /**
      * Loads the default ignore file (.swagger-codegen-ignore) from the specified path.
      *
@@ -96,6 +105,8 @@ public class CodegenIgnoreProcessor {
                 }
             }
         }
+        exclusions = RuleSet.compile(exclusionRules);
+        inclusions = RuleSet.compile(inclusionRules);
     }
 
     /**
@@ -107,14 +118,48 @@ public class CodegenIgnoreProcessor {
      */
     public boolean allowsFile(final File targetFile) {
         if(this.ignoreFile == null) return true;
-
-        File file = new File(this.ignoreFile.getParentFile().toURI().relativize(targetFile.toURI()).getPath());
-        Boolean directoryExcluded = false;
-        Boolean exclude = false;
         if(exclusionRules.size() == 0 && inclusionRules.size() == 0) {
             return true;
         }
 
+        if (baseDirectory == null) {
+            baseDirectory = this.ignoreFile.getParentFile().toURI();
+        }
+        File file = new File(baseDirectory.relativize(targetFile.toURI()).getPath());
+        if (exclusions == null || inclusions == null) {
+            return evaluateRules(file.getPath());
+        }
+        return allowsPath(file.getPath());
+    }
+
+    /**
+     * Evaluates the compiled rules. An inclusion rule re-includes an excluded file, unless the file is excluded by a
+     * directory rule, which only inclusion directory rules can override. This doesn't depend on the order of the
+     * rules, so sets of rules are matched rather than each rule in turn.
+     *
+     * @param relativePath path of the file relative to the ignore file
+     * @return {@code false} if the file is ignored
+     */
+    boolean allowsPath(String relativePath) {
+        Path path = FileSystems.getDefault().getPath(relativePath);
+        boolean directoryExcluded = exclusions.matchesDirectory(relativePath, path);
+        if (!directoryExcluded && !exclusions.matches(relativePath, path)) {
+            return true;
+        }
+        return directoryExcluded ? inclusions.matchesDirectory(relativePath, path) : inclusions.matches(relativePath, path);
+    }
+
+    /**
+     * Evaluates every rule in turn, for rules that can't be compiled.
+     *
+     * @param relativePath path of the file relative to the ignore file
+     * @return {@code false} if the file is ignored
+     */
+    boolean evaluateRules(String relativePath) {
+        File file = new File(relativePath);
+        Boolean directoryExcluded = false;
+        Boolean exclude = false;
+
         // NOTE: We *must* process all exclusion rules
         for (int i = 0; i < exclusionRules.size(); i++) {
             Rule current = exclusionRules.get(i);
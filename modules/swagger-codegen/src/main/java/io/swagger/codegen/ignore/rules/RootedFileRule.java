@@ -10,6 +10,8 @@ import java.util.regex.Pattern;
 public class RootedFileRule extends Rule {
     private String definedFilename = null;
     private String definedExtension = null;
+    // compiled on first use, from definedFilename
+    private Pattern filenamePattern = null;
 
     RootedFileRule(List<Part> syntax, String definition) {
         super(syntax, definition);
@@ -41,13 +43,15 @@ public class RootedFileRule extends Rule {
             boolean extensionMatches = definedExtension.equals(extension) || definedExtension.equals(IgnoreLineParser.Token.MATCH_ANY.getPattern());
 
             if(extensionMatches && definedFilename.contains(IgnoreLineParser.Token.MATCH_ANY.getPattern())) {
-                // TODO: Evaluate any other escape requirements here.
-                Pattern regex = Pattern.compile(
-                        definedFilename
-                                .replaceAll(Pattern.quote("."), "\\\\Q.\\\\E")
-                                .replaceAll(Pattern.quote("*"), ".*?") // non-greedy match on 0+ any character
-                );
-                return regex.matcher(filename).matches();
+                if (filenamePattern == null) {
+                    // TODO: Evaluate any other escape requirements here.
+                    filenamePattern = Pattern.compile(
+                            definedFilename
+                                    .replaceAll(Pattern.quote("."), "\\\\Q.\\\\E")
+                                    .replaceAll(Pattern.quote("*"), ".*?") // non-greedy match on 0+ any character
+                    );
+                }
+                return filenamePattern.matcher(filename).matches();
             }
 
             return extensionMatches && definedFilename.equals(filename);
@@ -0,0 +1,132 @@
+package io.swagger.codegen.ignore.rules;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rules of an ignore file compiled for matching many paths. Rules without wildcards are looked up in hash sets:
+ * file rules by the whole path, directory rules by each directory prefix of the path. Other rules are evaluated
+ * one by one, with their glob or regex compiled once. Matches are the same as those of the rules themselves.
+ */
+public final class RuleSet {
+    private static final String GLOB_CHARACTERS = "*?[]{}\\";
+    // literal patterns are compared as strings where globs are plain regular expressions over '/' separated paths
+    private static final boolean LITERALS = "/".equals(FileSystems.getDefault().getSeparator());
+
+    private final Set<String> files = new HashSet<>();
+    private final Set<String> directories = new HashSet<>();
+    private final List<FileRule> fileGlobs = new ArrayList<>();
+    private final List<DirectoryRule> directoryGlobs = new ArrayList<>();
+    private final List<RootedFileRule> rootedFiles = new ArrayList<>();
+
+    private RuleSet() {
+    }
+
+    /**
+     * @param rules rules of an ignore file
+     * @return the compiled rules, or {@code null} if a rule has no compiled form
+     */
+    public static RuleSet compile(List<Rule> rules) {
+        RuleSet ruleSet = new RuleSet();
+        for (Rule rule : rules) {
+            if (rule.getClass() == DirectoryRule.class) {
+                // a directory rule matches the paths below the directory, see DirectoryRule
+                String pattern = rule.getPattern();
+                if (isLiteral(pattern) && pattern.endsWith("/")) {
+                    ruleSet.directories.add(pattern);
+                } else {
+                    ruleSet.directoryGlobs.add((DirectoryRule) rule);
+                }
+            } else if (rule.getClass() == FileRule.class) {
+                String pattern = rule.getPattern();
+                if (isLiteral(pattern)) {
+                    ruleSet.files.add(pattern);
+                } else {
+                    ruleSet.fileGlobs.add((FileRule) rule);
+                }
+            } else if (rule.getClass() == RootedFileRule.class) {
+                ruleSet.rootedFiles.add((RootedFileRule) rule);
+            } else if (rule.getClass() != InvalidRule.class) {
+                // e.g. EverythingRule, which stops the evaluation of further rules
+                return null;
+            }
+        }
+        return ruleSet;
+    }
+
+    /**
+     * @param relativePath path relative to the ignore file
+     * @param path the same path, see {@link java.nio.file.FileSystem#getPath(String, String...)}
+     * @return {@code true} if a directory rule matches the path
+     */
+    public boolean matchesDirectory(String relativePath, Path path) {
+        if (!directories.isEmpty()) {
+            String normalized = path.toString();
+            // the ** of the directory glob doesn't match line terminators
+            int start = normalized.indexOf('/', lastLineTerminator(normalized));
+            for (int i = start; i >= 0; i = normalized.indexOf('/', i + 1)) {
+                if (directories.contains(normalized.substring(0, i + 1))) {
+                    return true;
+                }
+            }
+        }
+        for (DirectoryRule rule : directoryGlobs) {
+            if (rule.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param relativePath path relative to the ignore file
+     * @param path the same path, see {@link java.nio.file.FileSystem#getPath(String, String...)}
+     * @return {@code true} if any rule matches the path
+     */
+    public boolean matches(String relativePath, Path path) {
+        if (matchesDirectory(relativePath, path)) {
+            return true;
+        }
+        if (!files.isEmpty() && files.contains(path.toString())) {
+            return true;
+        }
+        for (FileRule rule : fileGlobs) {
+            if (rule.matches(path)) {
+                return true;
+            }
+        }
+        for (RootedFileRule rule : rootedFiles) {
+            if (rule.matches(relativePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLiteral(String pattern) {
+        if (!LITERALS) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c >= 128 || c == '\n' || c == '\r' || GLOB_CHARACTERS.indexOf(c) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lastLineTerminator(String path) {
+        for (int i = path.length() - 1; i >= 0; i--) {
+            char c = path.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
@@ -723,6 +723,7 @@ public class ElixirClientCodegen extends DefaultCodegen implements CodegenConfig
             this.title = cm.title;
             this.description = cm.description;
             this.classVarName = cm.classVarName;
+            this.setModelJsonSource(cm.getModelJsonSource());
             this.modelJson = cm.modelJson;
             this.dataType = cm.dataType;
             this.xmlPrefix = cm.xmlPrefix;
@@ -8,6 +8,7 @@ import io.swagger.codegen.CodegenProperty;
 import io.swagger.codegen.CodegenResponse;
 import io.swagger.codegen.CodegenType;
 import io.swagger.codegen.DefaultCodegen;
+import io.swagger.codegen.ModelGraph;
 import io.swagger.codegen.SupportingFile;
 import io.swagger.models.ArrayModel;
 import io.swagger.models.Model;
@@ -226,33 +227,24 @@ public class ElmClientCodegen extends DefaultCodegen implements CodegenConfig {
 
     @SuppressWarnings({ "static-method", "unchecked" })
     public Map<String, Object> postProcessAllModels(Map<String, Object> objs) {
-        // Index all CodegenModels by model name.
-        Map<String, CodegenModel> allModels = new HashMap<>();
-        for (Map.Entry<String, Object> entry : objs.entrySet()) {
-            String modelName = toModelName(entry.getKey());
-            Map<String, Object> inner = (Map<String, Object>) entry.getValue();
-            List<Map<String, Object>> models = (List<Map<String, Object>>) inner.get("models");
-            for (Map<String, Object> mo : models) {
-                CodegenModel cm = (CodegenModel) mo.get("model");
-                allModels.put(modelName, cm);
-            }
-        }
         // Let parent know about all its children
-        for (CodegenModel cm : allModels.values()) {
-            CodegenModel parent = allModels.get(cm.parent);
-
-            if (parent != null) {
+        final Collator collator = Collator.getInstance();
+        Comparator<CodegenModel> byClassname = new Comparator<CodegenModel>() {
+            @Override
+            public int compare(CodegenModel cm1, CodegenModel cm2) {
+                return collator.compare(cm1.classname, cm2.classname);
+            }
+        };
+        ModelGraph graph = getModelGraph(objs);
+        for (CodegenModel parent : graph.getModels()) {
+            List<CodegenModel> subtypes = graph.getSubtypes(parent);
+            if (!subtypes.isEmpty()) {
                 if (parent.children == null) {
                     parent.children = new ArrayList<>();
                     parent.hasChildren = true;
                 }
-                parent.children.add(cm);
-                Collections.sort(parent.children, new Comparator<CodegenModel>() {
-                    @Override
-                    public int compare(CodegenModel cm1, CodegenModel cm2) {
-                        return Collator.getInstance().compare(cm1.classname, cm2.classname);
-                    }
-                });
+                parent.children.addAll(subtypes);
+                Collections.sort(parent.children, byClassname);
             }
         }
         for (Map.Entry<String, Object> entry : objs.entrySet()) {
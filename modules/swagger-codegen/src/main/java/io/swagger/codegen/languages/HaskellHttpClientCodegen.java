@@ -17,6 +17,7 @@ import io.swagger.codegen.CodegenModel;
 import io.swagger.codegen.CodegenOperation;
 import io.swagger.codegen.CodegenProperty;
 import io.swagger.codegen.SupportingFile;
+import io.swagger.codegen.utils.NamingUtils;
 import io.swagger.util.Yaml;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
@@ -24,8 +25,6 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
-import java.util.regex.Matcher;
-
 public class HaskellHttpClientCodegen extends DefaultCodegen implements CodegenConfig {
 
     // source folder where to write the files
@@ -1026,16 +1025,9 @@ public class HaskellHttpClientCodegen extends DefaultCodegen implements CodegenC
     }
 
     private static String generateNextName(String name) {
-        Pattern pattern = Pattern.compile("\\d+\\z");
-        Matcher matcher = pattern.matcher(name);
-        if (matcher.find()) {
-            String numStr = matcher.group();
-            int num = Integer.parseInt(numStr) + 1;
-            return name.substring(0, name.length() - numStr.length()) + num;
-        } else {
-            return name + "2";
-        }
+        return NamingUtils.generateNextName(name);
     }
+
     private static boolean isMultipartOperation(List<Map<String, String>> consumes) {
         for(Map<String, String> consume : consumes) {
             if (consume != null) {
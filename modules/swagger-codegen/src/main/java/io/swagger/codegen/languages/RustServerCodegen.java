@@ -15,7 +15,6 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.*;
-import java.util.Map.Entry;
 import org.apache.commons.lang3.StringUtils;
 
 public class RustServerCodegen extends DefaultCodegen implements CodegenConfig {
@@ -825,22 +824,7 @@ public class RustServerCodegen extends DefaultCodegen implements CodegenConfig {
     public Map<String, Object> postProcessAllModels(Map<String, Object> objs){
         Map<String, Object> newObjs = super.postProcessAllModels(objs);
 
-        //Index all CodegenModels by model name.
-        HashMap<String, CodegenModel> allModels = new HashMap<String, CodegenModel>();
-        for (Entry<String, Object> entry : objs.entrySet()) {
-            String modelName = toModelName(entry.getKey());
-            Map<String, Object> inner = (Map<String, Object>) entry.getValue();
-            List<Map<String, Object>> models = (List<Map<String, Object>>) inner.get("models");
-            for (Map<String, Object> mo : models) {
-                CodegenModel cm = (CodegenModel) mo.get("model");
-                allModels.put(modelName, cm);
-            }
-        }
-
-        for (Entry<String, CodegenModel> entry : allModels.entrySet()){
-            String modelName = entry.getKey();
-            CodegenModel model = entry.getValue();
-
+        for (CodegenModel model : getModelGraph(objs).getModels()) {
             for(CodegenProperty prop : model.vars){
                 String xmlName = modelXmlNames.get(prop.datatype);
                 if (xmlName != null){
@@ -0,0 +1,355 @@
+package io.swagger.codegen.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Naming helpers behind {@link io.swagger.codegen.DefaultCodegen#camelize(String, boolean)},
+ * {@link io.swagger.codegen.DefaultCodegen#underscore(String)} and
+ * {@link io.swagger.codegen.DefaultCodegen#sanitizeName(String)}, which are called for every model, property,
+ * parameter and operation name, many times for the same names.
+ *
+ * Common names are transformed in a single pass over their characters; names with a backslash, a dollar sign
+ * or a line terminator, where the regular expressions the helpers were first written with behave in ways
+ * that are hard to spell out, go through those expressions, compiled once. Results are memoized: the helpers
+ * are pure, so the caches are shared by all generators, and cleared once they hold {@link #MAX_CACHE_SIZE}
+ * names.
+ */
+public class NamingUtils {
+    public static final int MAX_CACHE_SIZE = 10000;
+
+    private static final Pattern SLASH = Pattern.compile("\\/(.?)");
+    private static final Pattern DOT = Pattern.compile("\\.");
+    private static final Pattern CLASS_NAME = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+    private static final Pattern UNDERSCORE_CHAR = Pattern.compile("(_)(.)");
+    private static final Pattern HYPHEN_CHAR = Pattern.compile("(-)(.)");
+    private static final Pattern NON_WORD_UNICODE = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS);
+
+    private static final ConcurrentMap<String, String> CAMELIZED = new ConcurrentHashMap<String, String>();
+    private static final ConcurrentMap<String, String> CAMELIZED_LOWER = new ConcurrentHashMap<String, String>();
+    private static final ConcurrentMap<String, String> UNDERSCORED = new ConcurrentHashMap<String, String>();
+    private static final ConcurrentMap<String, String> SANITIZED = new ConcurrentHashMap<String, String>();
+    private static final ConcurrentMap<String, String> SANITIZED_UNICODE = new ConcurrentHashMap<String, String>();
+
+    /**
+     * Camelize name (parameter, property, method, etc)
+     *
+     * @param word                 string to be camelized
+     * @param lowercaseFirstLetter lower case for first letter if set to true
+     * @return camelized string
+     */
+    public static String camelize(String word, boolean lowercaseFirstLetter) {
+        ConcurrentMap<String, String> cache = lowercaseFirstLetter ? CAMELIZED_LOWER : CAMELIZED;
+        String result = cache.get(word);
+        if (result == null) {
+            result = hasSpecialChars(word) ? camelizeWithPatterns(word) : camelizeSimple(word);
+            if (lowercaseFirstLetter && result.length() > 0) {
+                result = result.substring(0, 1).toLowerCase() + result.substring(1);
+            }
+            memoize(cache, word, result);
+        }
+        return result;
+    }
+
+    /**
+     * Underscore the given word, e.g. "MyHTTPName" becomes "my_http_name".
+     *
+     * @param word the word
+     * @return the underscored version of the word
+     */
+    public static String underscore(String word) {
+        String result = UNDERSCORED.get(word);
+        if (result == null) {
+            int length = word.length();
+            StringBuilder sb = new StringBuilder(length + 8);
+            for (int i = 0; i < length; i++) {
+                char c = word.charAt(i);
+                if (isUpper(c) && i > 0) {
+                    char previous = word.charAt(i - 1);
+                    if (isLower(previous) || isDigit(previous)
+                            || (isUpper(previous) && i + 1 < length && isLower(word.charAt(i + 1)))) {
+                        sb.append('_');
+                    }
+                }
+                switch (c) {
+                    case '.':
+                        sb.append('/');
+                        break;
+                    case '$':
+                        sb.append("__");
+                        break;
+                    case '-':
+                    case ' ':
+                        sb.append('_');
+                        break;
+                    default:
+                        sb.append(c);
+                }
+            }
+            result = sb.toString().toLowerCase();
+            memoize(UNDERSCORED, word, result);
+        }
+        return result;
+    }
+
+    /**
+     * Sanitize name (parameter, property, method, etc): "input[]" becomes "input", "input[a](b).c-d e"
+     * becomes "input_a_b_c_d_e" and any other character that is not a word character is removed.
+     *
+     * @param name          string to be sanitized, not null
+     * @param allowUnicode  whether to keep non ASCII letters and digits
+     * @return sanitized string
+     */
+    public static String sanitizeName(String name, boolean allowUnicode) {
+        // if the name is just '$', map it to 'value' for the time being.
+        if ("$".equals(name)) {
+            return "value";
+        }
+        ConcurrentMap<String, String> cache = allowUnicode ? SANITIZED_UNICODE : SANITIZED;
+        String result = cache.get(name);
+        if (result == null) {
+            int length = name.length();
+            StringBuilder sb = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                char c = name.charAt(i);
+                switch (c) {
+                    case '[':
+                        if (i + 1 < length && name.charAt(i + 1) == ']') {
+                            // input[] => input
+                            i++;
+                        } else {
+                            sb.append('_');
+                        }
+                        break;
+                    case '(':
+                    case '.':
+                    case '-':
+                    case ' ':
+                        sb.append('_');
+                        break;
+                    case ']':
+                    case ')':
+                        break;
+                    default:
+                        if (allowUnicode || isWordChar(c)) {
+                            sb.append(c);
+                        }
+                }
+            }
+            result = sb.toString();
+            if (allowUnicode) {
+                result = NON_WORD_UNICODE.matcher(result).replaceAll("");
+            }
+            memoize(cache, name, result);
+        }
+        return result;
+    }
+
+    /**
+     * Generate the next name for the given name, i.e. append "2" to the base name if not ending with a number,
+     * otherwise increase the number by 1. For example:
+     * <pre>{@code
+     *   status    => status2
+     *   status2   => status3
+     *   myName100 => myName101
+     * }</pre>
+     *
+     * @param name The base name
+     * @return The next name for the base name
+     */
+    public static String generateNextName(String name) {
+        int start = name.length();
+        while (start > 0 && isDigit(name.charAt(start - 1))) {
+            start--;
+        }
+        if (start == name.length()) {
+            return name + "2";
+        }
+        int num = Integer.parseInt(name.substring(start)) + 1;
+        return name.substring(0, start) + num;
+    }
+
+    /**
+     * Forget all memoized names.
+     */
+    public static void clearCaches() {
+        CAMELIZED.clear();
+        CAMELIZED_LOWER.clear();
+        UNDERSCORED.clear();
+        SANITIZED.clear();
+        SANITIZED_UNICODE.clear();
+    }
+
+    private static String camelizeSimple(String word) {
+        int length = word.length();
+
+        // slashes and dots separate parts, each starting with an upper case letter
+        StringBuilder parts = new StringBuilder(length);
+        boolean partStart = true;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '/' || c == '.') {
+                partStart = true;
+            } else {
+                parts.append(partStart ? Character.toUpperCase(c) : c);
+                partStart = false;
+            }
+        }
+
+        // upper case the first word character
+        for (int i = 0; i < parts.length(); i++) {
+            char c = parts.charAt(i);
+            if (isWordChar(c)) {
+                parts.replace(i, i + 1, String.valueOf(c).toUpperCase());
+                break;
+            }
+        }
+
+        // remove all underscores (underscore_case to camelCase)
+        String word1 = parts.toString();
+        length = word1.length();
+        StringBuilder sb = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = word1.charAt(i);
+            if (c == '_' && i + 1 < length) {
+                int next = word1.codePointAt(i + 1);
+                String original = new String(Character.toChars(next));
+                String upperCase = original.toUpperCase();
+                if (original.equals(upperCase)) {
+                    i++;
+                } else {
+                    sb.append(upperCase);
+                    i += 1 + original.length();
+                }
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+
+        // remove all hyphens (hyphen-case to camelCase)
+        String word2 = sb.toString();
+        length = word2.length();
+        sb.setLength(0);
+        i = 0;
+        while (i < length) {
+            char c = word2.charAt(i);
+            if (c == '-' && i + 1 < length) {
+                int next = word2.codePointAt(i + 1);
+                if (next == '-') {
+                    // "--x" becomes "-x"
+                    i++;
+                } else {
+                    String original = new String(Character.toChars(next));
+                    sb.append(original.toUpperCase());
+                    i += 1 + original.length();
+                }
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String camelizeWithPatterns(String word) {
+        // Replace all slashes with dots (package separator)
+        Matcher m = SLASH.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst("." + m.group(1));
+            m = SLASH.matcher(word);
+        }
+
+        // case out dots
+        String[] parts = DOT.split(word);
+        StringBuilder f = new StringBuilder();
+        for (String z : parts) {
+            if (z.length() > 0) {
+                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
+            }
+        }
+        word = f.toString();
+
+        m = SLASH.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1));
+            m = SLASH.matcher(word);
+        }
+
+        // Uppercase the class name.
+        m = CLASS_NAME.matcher(word);
+        if (m.find()) {
+            String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
+            rep = rep.replaceAll("\\$", "\\\\\\$");
+            word = m.replaceAll(rep);
+        }
+
+        // Remove all underscores (underscore_case to camelCase)
+        m = UNDERSCORE_CHAR.matcher(word);
+        while (m.find()) {
+            String original = m.group(2);
+            String upperCase = original.toUpperCase();
+            if (original.equals(upperCase)) {
+                word = word.replaceFirst("_", "");
+            } else {
+                word = m.replaceFirst(upperCase);
+            }
+            m = UNDERSCORE_CHAR.matcher(word);
+        }
+
+        // Remove all hyphens (hyphen-case to camelCase)
+        m = HYPHEN_CHAR.matcher(word);
+        while (m.find()) {
+            word = m.replaceFirst(m.group(2).toUpperCase());
+            m = HYPHEN_CHAR.matcher(word);
+        }
+        return word;
+    }
+
+    /**
+     * @return whether the word has characters that are special in replacement strings, or that "." does
+     * not match
+     */
+    private static boolean hasSpecialChars(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            switch (word.charAt(i)) {
+                case '\\':
+                case '$':
+                case '\n':
+                case '\r':
+                case '\u0085':
+                case '\u2028':
+                case '\u2029':
+                    return true;
+                default:
+            }
+        }
+        return false;
+    }
+
+    private static void memoize(ConcurrentMap<String, String> cache, String key, String value) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isLower(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordChar(char c) {
+        return isUpper(c) || isLower(c) || isDigit(c) || c == '_';
+    }
+}
@@ -1,15 +1,21 @@
 package io.swagger.codegen;
 
+import io.swagger.codegen.languages.JavaClientCodegen;
+import org.apache.commons.io.IOUtils;
 import org.reflections.Reflections;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.InputStream;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.ServiceLoader;
 import java.util.Set;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
 
 @SuppressWarnings("static-method")
 public class CodegenConfigLoaderTest {
@@ -55,4 +61,44 @@ public class CodegenConfigLoaderTest {
 
 
     }
+
+    @Test
+    public void testIndexIsUpToDate() throws Exception {
+        List<String> indexed = new ArrayList<String>();
+        InputStream in = getClass().getClassLoader().getResourceAsStream(CodegenConfigLoader.INDEX_RESOURCE);
+        assertNotNull(in, CodegenConfigLoader.INDEX_RESOURCE + " is missing, it is written by "
+                + CodegenConfigIndex.class.getName() + " in the process-classes phase");
+        try {
+            for (String line : IOUtils.readLines(in, "UTF-8")) {
+                if (!line.startsWith("#") && !line.trim().isEmpty()) {
+                    indexed.add(line);
+                }
+            }
+        } finally {
+            IOUtils.closeQuietly(in);
+        }
+
+        assertEquals(indexed, CodegenConfigIndex.lines(getClass().getClassLoader()),
+                "run " + CodegenConfigIndex.class.getName() + " (mvn process-classes) to regenerate "
+                        + CodegenConfigLoader.INDEX_RESOURCE);
+    }
+
+    @Test
+    public void testDescriptors() throws Exception {
+        List<CodegenConfigDescriptor> descriptors = CodegenConfigLoader.getDescriptors();
+        int registered = 0;
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            registered++;
+            CodegenConfigDescriptor descriptor = CodegenConfigLoader.getDescriptor(config.getName());
+            assertNotNull(descriptor, config.getName());
+            assertEquals(descriptor.getTag(), config.getTag());
+            assertEquals(descriptor.getClassName(), config.getClass().getName());
+        }
+        assertEquals(descriptors.size(), registered);
+
+        CodegenConfigDescriptor java = CodegenConfigLoader.getDescriptor("java");
+        assertEquals(java.getHelp(), new JavaClientCodegen().getHelp());
+        assertEquals(java.getCliOptions().size(), new JavaClientCodegen().cliOptions().size());
+        assertNotSame(java.newInstance(), java.newInstance());
+    }
 }
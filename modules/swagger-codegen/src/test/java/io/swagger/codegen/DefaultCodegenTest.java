@@ -1,8 +1,20 @@
 package io.swagger.codegen;
 
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
 public class DefaultCodegenTest {
 
     @Test
@@ -33,4 +45,69 @@ public class DefaultCodegenTest {
         Assert.assertEquals(codegen.additionalProperties().get(CodegenConstants.HIDE_GENERATION_TIMESTAMP), Boolean.FALSE);
         Assert.assertEquals(codegen.isHideGenerationTimestamp(), false);
     }
+
+    @Test
+    public void testJsonIsRenderedOnDemand() throws Exception {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        final Model pet = swagger.getDefinitions().get("Pet");
+        final DefaultCodegen codegen = new DefaultCodegen();
+        codegen.setTemplateFields(Collections.singleton("classname"));
+        CodegenModel model = codegen.fromModel("Pet", pet, swagger.getDefinitions());
+
+        Assert.assertNull(model.modelJson);
+        Assert.assertEquals(model.getModelJson(), Json.pretty(pet));
+        Assert.assertEquals(model.modelJson, Json.pretty(pet));
+
+        CodegenProperty property = model.vars.get(0);
+        Assert.assertNull(property.jsonSchema);
+        Assert.assertEquals(property.clone().getJsonSchema(), Json.pretty(pet.getProperties().get(property.baseName)));
+
+        CodegenParameter parameter = codegen.fromParameter(
+                swagger.getPath("/pet/{petId}").getGet().getParameters().get(0), new HashSet<String>());
+        Assert.assertNull(parameter.jsonSchema);
+        Assert.assertEquals(parameter.copy().getJsonSchema(), parameter.getJsonSchema());
+        Assert.assertNotNull(parameter.jsonSchema);
+
+        // rendered right away when a template refers to it, as the spec may change before rendering
+        codegen.setTemplateFields(Collections.singleton("modelJson"));
+        Assert.assertEquals(codegen.fromModel("Pet", pet, swagger.getDefinitions()).modelJson, Json.pretty(pet));
+    }
+
+    @Test
+    public void testAddOperationToGroupMakesOperationIdsUnique() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        Map<String, List<CodegenOperation>> operations = new HashMap<String, List<CodegenOperation>>();
+        List<String> operationIds = new ArrayList<String>();
+        for (String operationId : new String[]{"a", "a", "a_0", "a", "b"}) {
+            CodegenOperation co = new CodegenOperation();
+            co.operationId = operationId;
+            codegen.addOperationToGroup("pet", "/pet", null, co, operations);
+            operationIds.add(co.operationId);
+        }
+        CodegenOperation other = new CodegenOperation();
+        other.operationId = "a";
+        codegen.addOperationToGroup("store", "/store", null, other, operations);
+
+        // a name is only checked against the operations after the one it clashed with
+        Assert.assertEquals(operationIds, Arrays.asList("a", "a_0", "a_0_0", "a_1", "b"));
+        Assert.assertEquals(operations.get("pet").size(), 5);
+        Assert.assertEquals(other.operationId, "a");
+    }
+
+    @Test
+    public void testUniqueOperationIdsAcrossGenerations() {
+        final DefaultCodegen codegen = new DefaultCodegen();
+        Map<String, List<CodegenOperation>> first = new HashMap<String, List<CodegenOperation>>();
+        Map<String, List<CodegenOperation>> second = new HashMap<String, List<CodegenOperation>>();
+        List<String> operationIds = new ArrayList<String>();
+        for (Map<String, List<CodegenOperation>> operations : Arrays.asList(first, second, first, second)) {
+            CodegenOperation co = new CodegenOperation();
+            co.operationId = "a";
+            codegen.addOperationToGroup("pet", "/pet", null, co, operations);
+            operationIds.add(co.operationId);
+        }
+
+        // the operations of each generation are checked on their own, whichever was filled last
+        Assert.assertEquals(operationIds, Arrays.asList("a", "a", "a_0", "a_0"));
+    }
 }
@@ -1,11 +1,19 @@
 package io.swagger.codegen;
 
+import com.samskivert.mustache.Mustache;
 import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.models.ComposedModel;
 import io.swagger.models.ExternalDocs;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.RefModel;
 import io.swagger.models.Swagger;
 import io.swagger.models.Tag;
 import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.rules.TemporaryFolder;
 import org.testng.annotations.AfterMethod;
@@ -17,6 +25,13 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static io.swagger.codegen.CodegenConstants.TEMPLATE_DIR;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -225,6 +240,364 @@ public class DefaultGeneratorTest {
 
     }
 
+    @Test
+    public void testTemplateCacheReusesCompiledTemplates() throws Exception {
+        final File output = folder.getRoot();
+
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setLibrary("jersey1");
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(clientOptInput).generate();
+        TemplateCache cache = generator.getTemplateCache();
+        // model.mustache, api.mustache etc. are used for several models and tags but compiled once
+        assertTrue(cache.getTemplateHits() > 0);
+        assertTrue(cache.getPartialMisses() > 0);
+
+        // a second generator sharing the cache does not compile anything again
+        long misses = cache.getTemplateMisses();
+        DefaultGenerator second = new DefaultGenerator();
+        second.setTemplateCache(cache);
+        second.opts(new ClientOptInput().opts(new ClientOpts())
+                .swagger(new SwaggerParser().read("src/test/resources/petstore.json")).config(codegenConfig)).generate();
+        assertEquals(cache.getTemplateMisses(), misses);
+    }
+
+    @Test
+    public void testReusedGeneratorCompilesForTheNewConfig() throws Exception {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(new JavaClientCodegen()));
+        Mustache.Compiler first = generator.getTemplateCompiler();
+        assertSame(generator.getTemplateCompiler(), first);
+
+        generator.opts(new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(new JavaClientCodegen()));
+        assertNotSame(generator.getTemplateCompiler(), first);
+    }
+
+    @Test
+    public void testParallelRenderingMatchesSequential() throws Exception {
+        final File sequentialOutput = new File(folder.getRoot(), "sequential");
+        final File parallelOutput = new File(folder.getRoot(), "parallel");
+
+        List<File> sequentialFiles = generatePetstore(sequentialOutput, 1);
+        List<File> parallelFiles = generatePetstore(parallelOutput, 4);
+
+        assertEquals(parallelFiles.size(), sequentialFiles.size());
+        for (int i = 0; i < sequentialFiles.size(); i++) {
+            String sequentialPath = sequentialOutput.toURI().relativize(sequentialFiles.get(i).toURI()).getPath();
+            String parallelPath = parallelOutput.toURI().relativize(parallelFiles.get(i).toURI()).getPath();
+            assertEquals(parallelPath, sequentialPath);
+            assertEquals(withoutGeneratedDate(parallelFiles.get(i)), withoutGeneratedDate(sequentialFiles.get(i)), sequentialPath);
+        }
+    }
+
+    @Test
+    public void testZipSinkMatchesFileOutput() throws Exception {
+        final File fileOutput = new File(folder.getRoot(), "files");
+        final File zipOutput = new File(folder.getRoot(), "zip");
+        List<File> files = generatePetstore(fileOutput, 1);
+
+        ByteArrayOutputStream zipBytes = new ByteArrayOutputStream();
+        ZipGeneratorSink sink = new ZipGeneratorSink(zipBytes, zipOutput, "petstore");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(zipOutput.getAbsolutePath());
+        List<File> zipped = new DefaultGenerator().opts(new ClientOptInput().opts(new ClientOpts())
+                .swagger(new SwaggerParser().read("src/test/resources/petstore.json")).config(codegenConfig)
+                .parallelism(4).sink(sink)).generate();
+        sink.close();
+
+        assertFalse(zipOutput.exists());
+        assertEquals(zipped.size(), files.size());
+        assertEquals(sink.getEntryCount(), files.size());
+
+        Map<String, String> entries = new HashMap<String, String>();
+        ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zipBytes.toByteArray()));
+        try {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.put(entry.getName(), IOUtils.toString(in, StandardCharsets.UTF_8));
+            }
+        } finally {
+            in.close();
+        }
+        for (File file : files) {
+            String name = "petstore/" + fileOutput.toURI().relativize(file.toURI()).getPath();
+            assertTrue(entries.containsKey(name), name);
+            assertEquals(entries.get(name).replaceAll("\\d{4}-\\d{2}-\\d{2}T[0-9:.]+Z", ""), withoutGeneratedDate(file), name);
+        }
+    }
+
+    @Test
+    public void testGeneratorPropertiesArePerRun() throws Exception {
+        final File modelsOnly = new File(folder.getRoot(), "models");
+        final File apisOnly = new File(folder.getRoot(), "apis");
+
+        final Callable<List<File>> generateModels = generateWithProperties(modelsOnly,
+                new GeneratorProperties().put(CodegenConstants.MODELS, "Pet").systemPropertiesFallback(false));
+        final Callable<List<File>> generateApis = generateWithProperties(apisOnly,
+                new GeneratorProperties().put(CodegenConstants.APIS, "").systemPropertiesFallback(false));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<File>> models = executor.submit(generateModels);
+            Future<List<File>> apis = executor.submit(generateApis);
+            assertEquals(models.get().size(), 1);
+            assertTrue(new File(modelsOnly, "src/main/java/io/swagger/client/model/Pet.java").exists());
+            assertFalse(new File(modelsOnly, "src/main/java/io/swagger/client/api/PetApi.java").exists());
+            assertFalse(apis.get().isEmpty());
+            assertTrue(new File(apisOnly, "src/main/java/io/swagger/client/api/PetApi.java").exists());
+            assertFalse(new File(apisOnly, "src/main/java/io/swagger/client/model/Pet.java").exists());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertNull(System.getProperty(CodegenConstants.MODELS));
+        assertNull(System.getProperty(CodegenConstants.APIS));
+    }
+
+    @Test
+    public void testIncrementalGenerationSkipsUnchangedFiles() throws Exception {
+        final File output = folder.getRoot();
+        generateIncrementally(output, false);
+        assertTrue(new File(output, GenerationManifest.FILENAME).exists());
+
+        final long past = (System.currentTimeMillis() - 3600000L) / 1000L * 1000L;
+        for (File file : FileUtils.listFiles(output, null, true)) {
+            assertTrue(file.setLastModified(past));
+        }
+        final File order = new File(output, MODEL_ORDER_FILE);
+        final File petApi = new File(output, "/src/main/java/io/swagger/client/api/PetApi.java");
+        final File apiClient = new File(output, API_CLIENT_FILE);
+        final File storeApi = new File(output, "/src/main/java/io/swagger/client/api/StoreApi.java");
+        final File storeApiDoc = new File(output, "/docs/StoreApi.md");
+
+        // same inputs, nothing is rendered again
+        generateIncrementally(output, false);
+        assertEquals(order.lastModified(), past);
+        assertEquals(petApi.lastModified(), past);
+        assertEquals(apiClient.lastModified(), past);
+
+        // without the store operations, their files are removed and the other apis are left untouched
+        FileUtils.writeStringToFile(storeApiDoc, "edited", StandardCharsets.UTF_8);
+        generateIncrementally(output, true);
+        assertFalse(storeApi.exists());
+        assertEquals(FileUtils.readFileToString(storeApiDoc, StandardCharsets.UTF_8), "edited");
+        assertEquals(petApi.lastModified(), past);
+        assertEquals(order.lastModified(), past);
+        assertFalse(FileUtils.readFileToString(new File(output, GenerationManifest.FILENAME), StandardCharsets.UTF_8)
+                .contains("StoreApi.java"));
+    }
+
+    @Test
+    public void testWriteIfChangedKeepsUnchangedFiles() throws Exception {
+        final File output = folder.getRoot();
+        generateWriteIfChanged(output);
+
+        final long past = (System.currentTimeMillis() - 3600000L) / 1000L * 1000L;
+        for (File file : FileUtils.listFiles(output, null, true)) {
+            assertTrue(file.setLastModified(past));
+        }
+        final File petDoc = new File(output, "/docs/Pet.md");
+        final File petApiDoc = new File(output, "/docs/PetApi.md");
+        final String petApiDocContent = FileUtils.readFileToString(petApiDoc, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(petApiDoc, "edited", StandardCharsets.UTF_8);
+        assertTrue(petApiDoc.setLastModified(past));
+
+        DefaultGenerator generator = generateWriteIfChanged(output);
+        FileGeneratorSink sink = (FileGeneratorSink) generator.getSink();
+        assertTrue(sink.getUnchanged() > 0);
+        assertTrue(sink.getWritten() > 0);
+        assertEquals(petDoc.lastModified(), past);
+        assertEquals(FileUtils.readFileToString(petApiDoc, StandardCharsets.UTF_8), petApiDocContent);
+        assertTrue(petApiDoc.lastModified() > past);
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        final File output = folder.getRoot();
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        GenerationMetrics metrics = new GenerationMetrics(true);
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger)
+                .config(codegenConfig).parallelism(2).metrics(metrics);
+        DefaultGenerator generator = new DefaultGenerator();
+        List<File> files = generator.opts(clientOptInput).generate();
+
+        assertSame(generator.getMetrics(), metrics);
+        assertEquals(metrics.getModels(), swagger.getDefinitions().size());
+        assertEquals(metrics.getOperations(), 20);
+        assertEquals(metrics.getFiles(), FileUtils.listFiles(output, null, true).size());
+        assertTrue(metrics.getFiles() <= files.size());
+        assertTrue(metrics.getBytesWritten() > 0);
+        assertTrue(metrics.getTemplatesRendered() > 0);
+        assertTrue(metrics.getPhases().containsAll(Arrays.asList(GenerationMetrics.PROCESS_MODELS,
+                GenerationMetrics.RENDER_MODELS, GenerationMetrics.PROCESS_OPERATIONS, GenerationMetrics.RENDER_APIS,
+                GenerationMetrics.RENDER_SUPPORTING_FILES)));
+        assertTrue(metrics.getTotalNanos() >= metrics.getPhaseNanos(GenerationMetrics.PROCESS_MODELS));
+
+        Map<?, ?> report = Json.mapper().readValue(metrics.toJson(), Map.class);
+        assertEquals(((Map<?, ?>) report.get("counts")).get("models"), swagger.getDefinitions().size());
+        assertEquals(((List<?>) report.get("slowestModels")).size(), swagger.getDefinitions().size());
+        assertEquals(((List<?>) report.get("slowestTemplates")).size(), GenerationMetrics.DEFAULT_SLOWEST);
+    }
+
+    @Test
+    public void testInheritanceOrder() {
+        Map<String, Model> definitions = new HashMap<String, Model>();
+        definitions.put("zebra", new ModelImpl());
+        definitions.put("grand_child", composedModel("child"));
+        definitions.put("child", composedModel("base"));
+        definitions.put("base", new ModelImpl());
+        definitions.put("alpha", composedModel("unknown"));
+
+        List<String> names = new ArrayList<String>(definitions.keySet());
+        Collections.sort(names, new DefaultGenerator.InheritanceOrder(new JavaClientCodegen(), definitions));
+
+        assertEquals(names, Arrays.asList("alpha", "base", "zebra", "child", "grand_child"));
+    }
+
+    @Test
+    public void testInheritanceCycleIsReported() {
+        Map<String, Model> definitions = new HashMap<String, Model>();
+        definitions.put("Base", new ModelImpl());
+        definitions.put("Cat", composedModel("Dog"));
+        definitions.put("Dog", composedModel("Pet"));
+        definitions.put("Pet", composedModel("Cat"));
+        DefaultGenerator.InheritanceOrder order = new DefaultGenerator.InheritanceOrder(new JavaClientCodegen(), definitions);
+
+        assertEquals(order.getInheritanceDepth(definitions.get("Base")), 0);
+        try {
+            order.getInheritanceDepth(definitions.get("Dog"));
+            fail("Expected the inheritance cycle to be reported");
+        } catch (IllegalArgumentException e) {
+            assertEquals(e.getMessage(), "Inheritance cycle between models: Dog -> Pet -> Cat -> Dog");
+        }
+    }
+
+    private static Model composedModel(String parent) {
+        ComposedModel model = new ComposedModel();
+        model.setInterfaces(Arrays.asList(new RefModel(parent)));
+        return model;
+    }
+
+    @Test
+    public void testTemplateFields() throws Exception {
+        CodegenConfig htmlConfig = CodegenConfigLoader.forName("html2");
+        htmlConfig.processOpts();
+        DefaultGenerator htmlGenerator = new DefaultGenerator();
+        htmlGenerator.opts(new ClientOptInput().opts(new ClientOpts()).config(htmlConfig));
+        Set<String> htmlFields = htmlGenerator.getTemplateFields();
+        // isOAuth is only found in the code sample partials included by index.mustache
+        assertTrue(htmlFields.containsAll(Arrays.asList("modelJson", "jsonSchema", "isOAuth")));
+
+        CodegenConfig javaConfig = new JavaClientCodegen();
+        javaConfig.processOpts();
+        DefaultGenerator javaGenerator = new DefaultGenerator();
+        javaGenerator.opts(new ClientOptInput().opts(new ClientOpts()).config(javaConfig));
+        Set<String> javaFields = javaGenerator.getTemplateFields();
+        assertTrue(javaFields.containsAll(Arrays.asList("classname", "vars", "operation", "allParams")));
+        assertFalse(javaFields.contains("modelJson"));
+        assertFalse(javaFields.contains("jsonSchema"));
+    }
+
+    @Test
+    public void testModelJsonIsRenderedBeforeExamplesAreAdded() throws Exception {
+        final File output = folder.getRoot();
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = CodegenConfigLoader.forName("html2");
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig));
+        List<Object> allModels = new ArrayList<Object>();
+        generator.configureGeneratorProperties();
+        generator.configureSwaggerInfo();
+        generator.generateModels(new ArrayList<File>(), allModels);
+        generator.generateApis(new ArrayList<File>(), new ArrayList<Object>(), allModels);
+
+        ModelImpl pet = (ModelImpl) swagger.getDefinitions().get("Pet");
+        assertNotNull(pet.getExample());
+        pet.setExample(null);
+        for (Object modelTemplate : allModels) {
+            CodegenModel model = (CodegenModel) ((Map<?, ?>) modelTemplate).get("model");
+            // rendered while processing models, without waiting for a template to ask for it
+            assertNotNull(model.modelJson);
+            if ("Pet".equals(model.name)) {
+                assertEquals(model.getModelJson(), Json.pretty(pet));
+            }
+        }
+    }
+
+    private static DefaultGenerator generateWriteIfChanged(File output) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger)
+                .config(codegenConfig).writeIfChanged(true);
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(clientOptInput).generate();
+        return generator;
+    }
+
+    private static List<File> generateIncrementally(File output, boolean withoutStore) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        if (withoutStore) {
+            Iterator<String> paths = swagger.getPaths().keySet().iterator();
+            while (paths.hasNext()) {
+                if (paths.next().startsWith("/store")) {
+                    paths.remove();
+                }
+            }
+        }
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger)
+                .config(codegenConfig).incremental(true);
+        return new DefaultGenerator().opts(clientOptInput).generate();
+    }
+
+    private static Callable<List<File>> generateWithProperties(final File output, final GeneratorProperties properties) {
+        return new Callable<List<File>>() {
+            @Override
+            public List<File> call() {
+                final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+                CodegenConfig codegenConfig = new JavaClientCodegen();
+                codegenConfig.setOutputDir(output.getAbsolutePath());
+
+                ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger)
+                        .config(codegenConfig).generatorProperties(properties);
+                DefaultGenerator generator = new DefaultGenerator();
+                generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_TESTS, "false");
+                generator.setGeneratorPropertyDefault(CodegenConstants.MODEL_DOCS, "false");
+                generator.setGeneratorPropertyDefault(CodegenConstants.API_TESTS, "false");
+                generator.setGeneratorPropertyDefault(CodegenConstants.API_DOCS, "false");
+                return generator.opts(clientOptInput).generate();
+            }
+        };
+    }
+
+    private static String withoutGeneratedDate(File file) throws IOException {
+        return FileUtils.readFileToString(file, StandardCharsets.UTF_8).replaceAll("\\d{4}-\\d{2}-\\d{2}T[0-9:.]+Z", "");
+    }
+
+    private List<File> generatePetstore(File output, int parallelism) {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger)
+                .config(codegenConfig).parallelism(parallelism);
+        return new DefaultGenerator().opts(clientOptInput).generate();
+    }
+
     private boolean containsOverloadedComments(File file, String ...search) throws IOException {
         for (String line : Files.readAllLines(file.toPath(), Charset.defaultCharset())) {
             if (StringUtils.containsAny(line, search)) {
@@ -362,6 +735,51 @@ public class DefaultGeneratorTest {
         }
     }
 
+    @Test
+    public void testOperationWithSeveralTagsIsConvertedOnce() {
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/2_0/petstore.json");
+        swagger.getPath("/pet/{petId}").getPost().setTags(Arrays.asList("pet", "store", "user"));
+        final AtomicInteger conversions = new AtomicInteger();
+        CodegenConfig codegenConfig = new JavaClientCodegen() {
+            @Override
+            public CodegenOperation fromOperation(String path, String httpMethod, Operation operation,
+                                                  Map<String, Model> definitions, Swagger swagger) {
+                if ("updatePetWithForm".equals(operation.getOperationId())) {
+                    conversions.incrementAndGet();
+                }
+                return super.fromOperation(path, httpMethod, operation, definitions, swagger);
+            }
+        };
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(clientOptInput);
+        Map<String, List<CodegenOperation>> paths = generator.processPaths(swagger.getPaths());
+
+        assertEquals(conversions.get(), 1);
+        CodegenOperation pet = findCodegenOperationByOperationId(
+                Collections.singletonMap("Pet", paths.get("Pet")), "updatePetWithForm");
+        CodegenOperation store = findCodegenOperationByOperationId(
+                Collections.singletonMap("Store", paths.get("Store")), "updatePetWithForm");
+        CodegenOperation user = findCodegenOperationByOperationId(
+                Collections.singletonMap("User", paths.get("User")), "updatePetWithForm");
+        assertNotSame(store, pet);
+        assertEquals(store.allParams, pet.allParams);
+        assertEquals(store.responses, pet.responses);
+        assertEquals(user.allParams, pet.allParams);
+        assertEquals(store.baseName, "Store");
+        assertEquals(pet.baseName, "Pet");
+
+        // each tag can change its operation
+        assertNotSame(store.allParams, pet.allParams);
+        assertNotSame(store.allParams.get(0), pet.allParams.get(0));
+        assertNotSame(store.authMethods.get(0), pet.authMethods.get(0));
+        assertEquals(store.authMethods, pet.authMethods);
+        assertTrue(store.hasAuthMethods);
+        assertNotSame(store.consumes.get(0), pet.consumes.get(0));
+        assertNotSame(store.responses.get(0), pet.responses.get(0));
+    }
+
     @Test
     public void testResolveTagsNoSwaggerTagsDefinition() {
         final File output = folder.getRoot();
@@ -70,4 +70,28 @@ public class ExampleGeneratorTest {
         Assert.assertEqualsNoOrder(types.toArray(new String[types.size()]),
                 expectedTypes.toArray(new String[expectedTypes.size()]));
     }
+
+    @Test(description = "examples of a model are built once and set on the models")
+    public void sharedExamplesTest() {
+        final String JSON = "application/json";
+        final String XML = "application/xml";
+        final ModelImpl tag = new ModelImpl().name("Tag").property("name", new StringProperty());
+        final ModelImpl pet = new ModelImpl().name("Pet").property("name", new StringProperty())
+                .property("tags", new ArrayProperty(new RefProperty("Tag")));
+
+        final ExampleGenerator eg = new ExampleGenerator(ImmutableMap.<String, Model>of("Tag", tag, "Pet", pet));
+        final List<Map<String, String>> first = eg.generate(null, Arrays.asList(JSON, XML), new RefProperty("Pet"));
+        final List<Map<String, String>> second = eg.generate(null, Arrays.asList(JSON, XML), "Pet");
+
+        // resolved examples are set on the models, generators serializing the spec include them
+        Assert.assertNotNull(pet.getExample());
+        Assert.assertNotNull(tag.getExample());
+        Assert.assertEquals(first.size(), 2);
+        Assert.assertEquals(second, first);
+        for (int i = 0; i < first.size(); i++) {
+            Assert.assertSame(second.get(i).get("example"), first.get(i).get("example"));
+        }
+        Assert.assertEquals(first.get(0).get("example"), "{\n  \"name\" : \"name\",\n  \"tags\" : [ {\n"
+                + "    \"name\" : \"name\"\n  }, {\n    \"name\" : \"name\"\n  } ]\n}");
+    }
 }
@@ -0,0 +1,98 @@
+package io.swagger.codegen;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class FileGeneratorSinkTest {
+    private File folder;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(folder);
+    }
+
+    @Test
+    public void testWriteIfChangedComparesStreams() throws IOException {
+        FileGeneratorSink sink = new FileGeneratorSink(true);
+        File file = new File(folder, "out/file.bin");
+        byte[] content = new byte[20000];
+        Arrays.fill(content, (byte) 'a');
+
+        sink.write(file, new ByteArrayInputStream(content));
+        sink.write(file, new ByteArrayInputStream(content));
+        assertEquals(sink.getWritten(), 1);
+        assertEquals(sink.getUnchanged(), 1);
+
+        content[15000] = 'b';
+        sink.write(file, new ByteArrayInputStream(content));
+        assertEquals(FileUtils.readFileToByteArray(file), content);
+
+        byte[] shorter = Arrays.copyOf(content, 10000);
+        sink.write(file, new ByteArrayInputStream(shorter));
+        assertEquals(FileUtils.readFileToByteArray(file), shorter);
+
+        sink.write(file, new ByteArrayInputStream(content));
+        assertEquals(FileUtils.readFileToByteArray(file), content);
+        assertEquals(sink.getWritten(), 4);
+        assertEquals(sink.getUnchanged(), 1);
+    }
+
+    @Test
+    public void testCopyLeavesIdenticalFilesUntouched() throws IOException {
+        FileGeneratorSink sink = new FileGeneratorSink();
+        File source = new File(folder, "gradle-wrapper.jar");
+        FileUtils.writeStringToFile(source, "wrapper", StandardCharsets.UTF_8);
+        File file = new File(folder, "out/gradle/wrapper/gradle-wrapper.jar");
+
+        sink.copy(source, file);
+        long past = (System.currentTimeMillis() - 3600000L) / 1000L * 1000L;
+        assertTrue(file.setLastModified(past));
+        sink.copy(source, file);
+        assertEquals(file.lastModified(), past);
+
+        FileUtils.writeStringToFile(source, "wrapper 2", StandardCharsets.UTF_8);
+        sink.copy(source, file);
+        assertEquals(FileUtils.readFileToString(file, StandardCharsets.UTF_8), "wrapper 2");
+        assertFalse(Files.isSameFile(source.toPath(), file.toPath()));
+        assertEquals(sink.getWritten(), 2);
+        assertEquals(sink.getUnchanged(), 1);
+        assertEquals(sink.getLinked(), 0);
+    }
+
+    @Test
+    public void testLinkedFilesAreReplacedNotChanged() throws IOException {
+        FileGeneratorSink sink = new FileGeneratorSink(true, true);
+        File source = new File(folder, "gradle-wrapper.jar");
+        FileUtils.writeStringToFile(source, "wrapper", StandardCharsets.UTF_8);
+        File file = new File(folder, "out/gradle-wrapper.jar");
+
+        sink.copy(source, file);
+        assertEquals(sink.getLinked(), 1);
+        assertTrue(Files.isSameFile(source.toPath(), file.toPath()));
+        sink.copy(source, file);
+        assertEquals(sink.getUnchanged(), 1);
+
+        // writing other content to the output must not change the source
+        sink.write(file, new ByteArrayInputStream("rendered".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(FileUtils.readFileToString(source, StandardCharsets.UTF_8), "wrapper");
+        assertEquals(FileUtils.readFileToString(file, StandardCharsets.UTF_8), "rendered");
+    }
+}
@@ -1010,4 +1010,49 @@ public class InlineModelResolverTest {
                 .type("string"));
         new InlineModelResolver().flatten(swagger);
     }
+
+    @Test
+    public void testMatchingInlineModelsAreReused() {
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("Home_address", new ModelImpl().property("zip", new StringProperty()));
+        swagger.addDefinition("Home", new ModelImpl()
+                .property("address", new ObjectProperty()
+                        .property("street", new StringProperty())
+                        .property("city", new StringProperty())));
+        swagger.addDefinition("Office", new ModelImpl()
+                .property("address", new ObjectProperty()
+                        .property("street", new StringProperty())
+                        .property("city", new StringProperty())));
+        swagger.addDefinition("Shop", new ModelImpl()
+                .property("address", new ObjectProperty()
+                        .property("street", new StringProperty())
+                        .property("city", new StringProperty().minLength(1))));
+
+        new InlineModelResolver().flatten(swagger);
+
+        // same properties are the same model
+        assertEquals("Home_address_1", ((RefProperty) ((ModelImpl) swagger.getDefinitions().get("Home"))
+                .getProperties().get("address")).getSimpleRef());
+        assertEquals("Home_address_1", ((RefProperty) ((ModelImpl) swagger.getDefinitions().get("Office"))
+                .getProperties().get("address")).getSimpleRef());
+        assertEquals("Shop_address", ((RefProperty) ((ModelImpl) swagger.getDefinitions().get("Shop"))
+                .getProperties().get("address")).getSimpleRef());
+        assertNull(swagger.getDefinitions().get("Office_address"));
+    }
+
+    @Test
+    public void testUniqueName() {
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("inline_response_200", new ModelImpl());
+        swagger.addDefinition("inline_response_200_1", new ModelImpl());
+        InlineModelResolver resolver = new InlineModelResolver();
+        resolver.flatten(swagger);
+
+        assertEquals("inline_response_200_2", resolver.uniqueName("inline_response_200"));
+        // a name is only taken once it is defined
+        assertEquals("inline_response_200_2", resolver.uniqueName("inline_response_200"));
+        swagger.addDefinition("inline_response_200_2", new ModelImpl());
+        assertEquals("inline_response_200_3", resolver.uniqueName("inline_response_200!"));
+        assertEquals("other", resolver.uniqueName("other"));
+    }
 }
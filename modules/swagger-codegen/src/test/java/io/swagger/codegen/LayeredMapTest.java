@@ -0,0 +1,97 @@
+package io.swagger.codegen;
+
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class LayeredMapTest {
+
+    @Test
+    public void testGlobalValuesTakePrecedenceOverEntries() {
+        Map<String, Object> global = new HashMap<String, Object>();
+        global.put("modelPackage", "io.swagger.model");
+        global.put("hideGenerationTimestamp", null);
+        Map<String, Object> entries = new HashMap<String, Object>();
+        entries.put("modelPackage", "model");
+        entries.put("classname", "Pet");
+
+        Map<String, Object> expected = new HashMap<String, Object>(entries);
+        expected.putAll(global);
+        assertEquals(LayeredMap.over(Collections.unmodifiableMap(global), entries), expected);
+    }
+
+    @Test
+    public void testChangesDoNotReachTheGlobalLayer() {
+        Map<String, Object> global = Collections.<String, Object>singletonMap("appName", "Petstore");
+        LayeredMap map = new LayeredMap(global);
+        LayeredMap copy = map.copy();
+
+        assertEquals(map.put("appName", "Store"), "Petstore");
+        assertEquals(copy.get("appName"), "Petstore");
+        assertEquals(map.remove("appName"), "Store");
+        assertFalse(map.containsKey("appName"));
+        assertNull(map.get("appName"));
+        assertTrue(map.isEmpty());
+
+        Map.Entry<String, Object> entry = copy.entrySet().iterator().next();
+        entry.setValue("Store");
+        assertEquals(copy.get("appName"), "Store");
+        assertEquals(global.get("appName"), "Petstore");
+    }
+
+    @Test
+    public void testBehavesLikeACopy() {
+        Random random = new Random(42);
+        for (int run = 0; run < 100; run++) {
+            Map<String, Object> global = new HashMap<String, Object>();
+            for (int i = random.nextInt(10); i > 0; i--) {
+                global.put("key" + random.nextInt(20), random.nextBoolean() ? null : random.nextInt(5));
+            }
+            LayeredMap map = new LayeredMap(Collections.unmodifiableMap(global));
+            Map<String, Object> expected = new HashMap<String, Object>(global);
+
+            for (int i = 0; i < 50; i++) {
+                String key = "key" + random.nextInt(20);
+                switch (random.nextInt(6)) {
+                    case 0:
+                    case 1:
+                        Object value = random.nextBoolean() ? null : random.nextInt(5);
+                        assertEquals(map.put(key, value), expected.put(key, value));
+                        break;
+                    case 2:
+                        assertEquals(map.remove(key), expected.remove(key));
+                        break;
+                    case 3:
+                        // removes every other entry through the iterator
+                        boolean remove = false;
+                        for (Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator(); it.hasNext(); ) {
+                            Map.Entry<String, Object> entry = it.next();
+                            if (remove) {
+                                expected.remove(entry.getKey());
+                                it.remove();
+                            }
+                            remove = !remove;
+                        }
+                        break;
+                    case 4:
+                        map = map.copy();
+                        break;
+                    default:
+                        assertEquals(map.get(key), expected.get(key));
+                        assertEquals(map.containsKey(key), expected.containsKey(key));
+                }
+                assertEquals(map.size(), expected.size());
+                assertEquals(map, expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package io.swagger.codegen;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ModelGraphTest {
+
+    @Test
+    public void testLinksModelsByName() {
+        Map<String, Object> objs = new TreeMap<String, Object>();
+        CodegenModel animal = model(objs, "Animal", null);
+        animal.discriminator = "type";
+        CodegenModel dog = model(objs, "Dog", "Animal");
+        CodegenModel puppy = model(objs, "Puppy", "Dog");
+        CodegenModel cat = model(objs, "Cat", "Animal");
+        cat.discriminator = "breed";
+        CodegenModel persian = model(objs, "Persian", "Cat");
+        CodegenModel named = model(objs, "Named", null);
+        dog.interfaces = Arrays.asList("Named", "Missing");
+        CodegenModel orphan = model(objs, "Orphan", "Missing");
+
+        ModelGraph graph = new DefaultCodegen().getModelGraph(objs);
+
+        assertSame(graph.getModel("Dog"), dog);
+        assertNull(graph.getModel("Missing"));
+        assertEquals(new HashSet<CodegenModel>(graph.getModels()),
+                new HashSet<CodegenModel>(Arrays.asList(animal, dog, puppy, cat, persian, named, orphan)));
+        assertSame(graph.getParent(puppy), dog);
+        assertNull(graph.getParent(animal));
+        assertNull(graph.getParent(orphan));
+        assertEquals(graph.getInterfaces(dog), Collections.singletonList(named));
+        assertEquals(new HashSet<CodegenModel>(graph.getSubtypes(animal)), new HashSet<CodegenModel>(Arrays.asList(dog, cat)));
+        assertTrue(graph.getSubtypes(puppy).isEmpty());
+
+        // Persian is below Cat's discriminator, Puppy isn't below one
+        assertEquals(new HashSet<CodegenModel>(graph.getChildren(animal)),
+                new HashSet<CodegenModel>(Arrays.asList(dog, puppy, cat)));
+        assertEquals(graph.getChildren(dog), Collections.singletonList(puppy));
+        assertEquals(graph.getChildren(cat), Collections.singletonList(persian));
+
+        List<CodegenModel> order = graph.getTopologicalOrder();
+        assertEquals(order.size(), 7);
+        assertTrue(order.indexOf(animal) < order.indexOf(dog));
+        assertTrue(order.indexOf(dog) < order.indexOf(puppy));
+        assertTrue(order.indexOf(cat) < order.indexOf(persian));
+    }
+
+    @Test
+    public void testStopsAtParentCycles() {
+        Map<String, Object> objs = new TreeMap<String, Object>();
+        CodegenModel a = model(objs, "A", "B");
+        CodegenModel b = model(objs, "B", "A");
+
+        ModelGraph graph = new DefaultCodegen().getModelGraph(objs);
+
+        // no model is its own child
+        assertEquals(graph.getChildren(a), Collections.singletonList(b));
+        assertEquals(graph.getChildren(b), Collections.singletonList(a));
+        assertEquals(new HashSet<CodegenModel>(graph.getTopologicalOrder()), new HashSet<CodegenModel>(Arrays.asList(a, b)));
+    }
+
+    @Test
+    public void testGraphIsSharedForTheSameModels() {
+        DefaultCodegen codegen = new DefaultCodegen();
+        Map<String, Object> objs = new TreeMap<String, Object>();
+        model(objs, "Pet", null);
+        ModelGraph graph = codegen.getModelGraph(objs);
+
+        assertSame(codegen.getModelGraph(objs), graph);
+        assertTrue(codegen.getModelGraph(new TreeMap<String, Object>(objs)) != graph);
+    }
+
+    private static CodegenModel model(Map<String, Object> objs, String name, String parent) {
+        CodegenModel cm = new CodegenModel();
+        cm.name = name;
+        cm.classname = name;
+        cm.parent = parent;
+        Map<String, Object> mo = new HashMap<String, Object>();
+        mo.put("model", cm);
+        Map<String, Object> inner = new HashMap<String, Object>();
+        inner.put("models", Collections.singletonList(mo));
+        objs.put(name, inner);
+        return cm;
+    }
+}
@@ -0,0 +1,83 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.languages.JavaClientCodegen;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class TemplateIndexTest {
+    private File templateDir;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        templateDir = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(templateDir);
+    }
+
+    @Test
+    public void testResolvesTemplatesByLayer() throws IOException {
+        FileUtils.write(new File(templateDir, "libraries/okhttp-gson/pojo.mustache"), "pojo");
+        FileUtils.write(new File(templateDir, "model.mustache"), "model");
+        FileUtils.write(new File(templateDir, "gradle/wrapper/gradle-wrapper.properties"), "wrapper");
+        JavaClientCodegen config = new JavaClientCodegen();
+        config.setTemplateDir(templateDir.getPath());
+        config.setLibrary("okhttp-gson");
+        TemplateIndex index = new TemplateIndex(config, getClass().getClassLoader());
+
+        String library = templateDir.getPath() + File.separator + "libraries" + File.separator + "okhttp-gson";
+        String embeddedLibrary = "Java" + File.separator + "libraries" + File.separator + "okhttp-gson";
+        assertEquals(index.resolve("pojo.mustache"), library + File.separator + "pojo.mustache");
+        assertEquals(index.resolve("model.mustache"), templateDir.getPath() + File.separator + "model.mustache");
+        assertEquals(index.resolve("gradle/wrapper/gradle-wrapper.properties"),
+                templateDir.getPath() + File.separator + "gradle/wrapper/gradle-wrapper.properties");
+        assertEquals(index.resolve("api.mustache"), embeddedLibrary + File.separator + "api.mustache");
+        assertEquals(index.resolve("enumClass.mustache"), "Java" + File.separator + "enumClass.mustache");
+        // not a plain relative path, looked up on the file system
+        assertEquals(index.resolve("./model.mustache"), templateDir.getPath() + File.separator + "./model.mustache");
+
+        assertEquals(index.getResolvedLayers().get("pojo.mustache"), TemplateIndex.Layer.TEMPLATE_DIR_LIBRARY);
+        assertEquals(index.getResolvedLayers().get("model.mustache"), TemplateIndex.Layer.TEMPLATE_DIR);
+        assertEquals(index.getResolvedLayers().get("api.mustache"), TemplateIndex.Layer.EMBEDDED_LIBRARY);
+        assertEquals(index.getResolvedLayers().get("enumClass.mustache"), TemplateIndex.Layer.EMBEDDED);
+    }
+
+    @Test
+    public void testIndexFollowsConfigChanges() {
+        JavaClientCodegen config = new JavaClientCodegen();
+        config.setTemplateDir(templateDir.getPath());
+        DefaultGenerator generator = new DefaultGenerator();
+        TemplateIndex index = generator.getTemplateIndex(config);
+
+        assertTrue(index.isFor(config));
+        assertSame(generator.getTemplateIndex(config), index);
+        config.setLibrary("jersey2");
+        assertFalse(index.isFor(config));
+        assertEquals(generator.getFullTemplateFile(config, "api.mustache"),
+                "Java" + File.separator + "libraries" + File.separator + "jersey2" + File.separator + "api.mustache");
+    }
+
+    @Test
+    public void testToIndexKey() {
+        assertEquals(TemplateIndex.toIndexKey("model.mustache"), "model.mustache");
+        assertEquals(TemplateIndex.toIndexKey("gradle/wrapper/gradle-wrapper.jar"), "gradle/wrapper/gradle-wrapper.jar");
+        assertNull(TemplateIndex.toIndexKey("../model.mustache"));
+        assertNull(TemplateIndex.toIndexKey("/model.mustache"));
+        assertNull(TemplateIndex.toIndexKey("gradle//wrapper"));
+        assertNull(TemplateIndex.toIndexKey(""));
+    }
+}
@@ -0,0 +1,38 @@
+package io.swagger.codegen;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.testng.Assert.assertEquals;
+
+public class TemplateNamesTest {
+
+    @Test
+    public void testScan() {
+        Set<String> fields = new TreeSet<String>();
+        List<String> partials = new ArrayList<String>();
+        TemplateNames.scan("{{! a comment }}{{#models}}{{#model}}{{{ classname }}}{{/model}}{{/models}}"
+                + "{{^hasMore}}{{&description}}{{/hasMore}}{{>licenseInfo}}{{#each}}{{.}}{{/each}}"
+                + "{{vendorExtensions.x-name}}", fields, partials);
+
+        assertEquals(fields, new TreeSet<String>(Arrays.asList("models", "model", "classname", "hasMore",
+                "description", "each", "vendorExtensions", "x-name")));
+        assertEquals(partials, Arrays.asList("licenseInfo"));
+    }
+
+    @Test
+    public void testScanFollowsDelimiterChanges() {
+        Set<String> fields = new TreeSet<String>();
+        List<String> partials = new ArrayList<String>();
+        TemplateNames.scan("{{=<% %>=}}{{notATag}}<%#operations%><%>api_doc%><%={{ }}=%>{{operationId}}",
+                fields, partials);
+
+        assertEquals(fields, new TreeSet<String>(Arrays.asList("operations", "operationId")));
+        assertEquals(partials, Arrays.asList("api_doc"));
+    }
+}
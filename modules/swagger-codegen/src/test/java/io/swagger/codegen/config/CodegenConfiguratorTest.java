@@ -47,24 +47,31 @@ public class CodegenConfiguratorTest {
     @Tested
     CodegenConfigurator configurator;
 
-    @SuppressWarnings("unused")
     @Test
     public void testVerbose() throws Exception {
 
         configurator.setVerbose(true);
 
-        new StrictExpectations(System.class) {{
-            System.setProperty("debugSwagger", "");
-            times = 1;
-            System.setProperty("debugModels", "");
-            times = 1;
-            System.setProperty("debugOperations", "");
-            times = 1;
-            System.setProperty("debugSupportingFiles", "");
-            times = 1;
-        }};
+        final ClientOptInput clientOptInput = setupAndRunGenericTest(configurator);
 
-        setupAndRunGenericTest(configurator);
+        final Map<String, String> generatorProperties = clientOptInput.getGeneratorProperties().asMap();
+        assertValueInMap(generatorProperties, "debugSwagger", "");
+        assertValueInMap(generatorProperties, "debugModels", "");
+        assertValueInMap(generatorProperties, "debugOperations", "");
+        assertValueInMap(generatorProperties, "debugSupportingFiles", "");
+    }
+
+    @Test
+    public void testGeneratorSwitchesAreNotSystemProperties() throws Exception {
+
+        configurator.addSystemProperty(CodegenConstants.MODELS, "Pet")
+                .setSystemPropertiesFallback(false);
+
+        final ClientOptInput clientOptInput = setupAndRunGenericTest(configurator);
+
+        assertEquals(clientOptInput.getGeneratorProperties().get(CodegenConstants.MODELS), "Pet");
+        assertFalse(clientOptInput.getGeneratorProperties().isSystemPropertiesFallback());
+        assertEquals(System.getProperty(CodegenConstants.MODELS), null);
     }
 
     @Test
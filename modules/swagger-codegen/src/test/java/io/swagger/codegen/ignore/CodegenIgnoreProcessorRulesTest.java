@@ -0,0 +1,120 @@
+package io.swagger.codegen.ignore;
+
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Checks that the compiled rules of {@link CodegenIgnoreProcessor} give the same results as evaluating each rule in
+ * turn, for random ignore files and paths.
+ */
+public class CodegenIgnoreProcessorRulesTest {
+    private static final List<String> PATTERN_SEGMENTS = Arrays.asList("foo", "bar", "baz", "Api", "docs", "src",
+            "a.txt", "b.log", "README.md", "*", "**", "*.log", "*.md", "te*t", "?.txt", "[ab].txt", "{a,b}.txt",
+            "a\\ b");
+    private static final List<String> PATH_SEGMENTS = Arrays.asList("foo", "bar", "baz", "Api", "docs", "src",
+            "a.txt", "b.log", "c.txt", "README.md", "x.md", "test", "text", "a b");
+
+    private File directory;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory(getClass().getSimpleName()).toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory);
+    }
+
+    @Test
+    public void testCompiledRulesMatchRuleEvaluation() throws IOException {
+        Random random = new Random(42);
+        int ignored = 0;
+        int allowed = 0;
+        for (int set = 0; set < 200; set++) {
+            List<String> lines = new ArrayList<String>();
+            for (int i = random.nextInt(8); i >= 0; i--) {
+                lines.add(randomPattern(random));
+            }
+            File ignoreFile = new File(directory, ".swagger-codegen-ignore-" + set);
+            FileUtils.writeLines(ignoreFile, StandardCharsets.UTF_8.name(), lines);
+            CodegenIgnoreProcessor processor = new CodegenIgnoreProcessor(ignoreFile);
+
+            for (int i = 0; i < 100; i++) {
+                String path = randomPath(random);
+                boolean expected = processor.evaluateRules(path);
+                assertEquals(processor.allowsPath(path), expected, path + " with rules " + lines);
+                if (expected) {
+                    allowed++;
+                } else {
+                    ignored++;
+                }
+            }
+        }
+        assertTrue(ignored > 1000, "ignored " + ignored);
+        assertTrue(allowed > 1000, "allowed " + allowed);
+    }
+
+    @Test
+    public void testAllowsFile() throws IOException {
+        File ignoreFile = new File(directory, ".swagger-codegen-ignore");
+        FileUtils.writeLines(ignoreFile, Arrays.asList("docs/", "!docs/README.md", "src/main/Api.java", "**/*.log",
+                "!logs/keep.log", "build/**", "!build/"));
+        CodegenIgnoreProcessor processor = new CodegenIgnoreProcessor(ignoreFile);
+
+        assertEquals(processor.allowsFile(new File(directory, "docs/Pet.md")), false);
+        // files can't be re-included in an ignored directory
+        assertEquals(processor.allowsFile(new File(directory, "docs/README.md")), false);
+        assertEquals(processor.allowsFile(new File(directory, "README.md")), true);
+        assertEquals(processor.allowsFile(new File(directory, "src/main/Api.java")), false);
+        assertEquals(processor.allowsFile(new File(directory, "src/main/Api.javax")), true);
+        assertEquals(processor.allowsFile(new File(directory, "logs/out.log")), false);
+        assertEquals(processor.allowsFile(new File(directory, "logs/keep.log")), true);
+        assertEquals(processor.allowsFile(new File(directory, "build/classes/A.class")), true);
+    }
+
+    private static String randomPattern(Random random) {
+        StringBuilder pattern = new StringBuilder();
+        if (random.nextInt(5) == 0) {
+            pattern.append('!');
+        }
+        if (random.nextInt(5) == 0) {
+            pattern.append('/');
+        }
+        for (int i = random.nextInt(3); i >= 0; i--) {
+            pattern.append(PATTERN_SEGMENTS.get(random.nextInt(PATTERN_SEGMENTS.size())));
+            if (i > 0) {
+                pattern.append('/');
+            }
+        }
+        if (random.nextInt(4) == 0) {
+            pattern.append('/');
+        }
+        return pattern.toString();
+    }
+
+    private static String randomPath(Random random) {
+        StringBuilder path = new StringBuilder();
+        for (int i = random.nextInt(4); i >= 0; i--) {
+            path.append(PATH_SEGMENTS.get(random.nextInt(PATH_SEGMENTS.size())));
+            if (i > 0) {
+                path.append('/');
+            }
+        }
+        return path.toString();
+    }
+}
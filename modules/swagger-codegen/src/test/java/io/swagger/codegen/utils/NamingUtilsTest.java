@@ -0,0 +1,90 @@
+package io.swagger.codegen.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.swagger.codegen.DefaultCodegen;
+import io.swagger.util.Json;
+import org.testng.annotations.Test;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class NamingUtilsTest {
+    private static final String ERROR = "!error";
+
+    /**
+     * naming/golden.json holds the output of the regular expression based helpers for names taken from the
+     * test specs, edge cases and random strings, "!error" where they threw.
+     */
+    @Test
+    public void matchesGoldenOutput() throws Exception {
+        List<Map<String, String>> golden;
+        InputStream in = getClass().getResourceAsStream("/naming/golden.json");
+        try {
+            golden = Json.mapper().readValue(in, new TypeReference<List<Map<String, String>>>() {});
+        } finally {
+            in.close();
+        }
+        assertTrue(golden.size() > 1000);
+
+        final DefaultCodegen plain = new DefaultCodegen();
+        final DefaultCodegen unicode = new DefaultCodegen();
+        unicode.setAllowUnicodeIdentifiers(true);
+
+        // second round is served from the caches
+        for (int round = 0; round < 2; round++) {
+            for (Map<String, String> entry : golden) {
+                final String input = entry.get("input");
+                check(entry, "camelize", new Naming() {
+                    public String apply() { return DefaultCodegen.camelize(input); }
+                });
+                check(entry, "camelizeLower", new Naming() {
+                    public String apply() { return DefaultCodegen.camelize(input, true); }
+                });
+                check(entry, "underscore", new Naming() {
+                    public String apply() { return DefaultCodegen.underscore(input); }
+                });
+                check(entry, "sanitizeName", new Naming() {
+                    public String apply() { return plain.sanitizeName(input); }
+                });
+                check(entry, "sanitizeNameUnicode", new Naming() {
+                    public String apply() { return unicode.sanitizeName(input); }
+                });
+                check(entry, "sanitizeTag", new Naming() {
+                    public String apply() { return plain.sanitizeTag(input); }
+                });
+                check(entry, "nextName", new Naming() {
+                    public String apply() { return NamingUtils.generateNextName(input); }
+                });
+            }
+        }
+    }
+
+    @Test
+    public void cachesAreBounded() {
+        NamingUtils.clearCaches();
+        for (int i = 0; i < NamingUtils.MAX_CACHE_SIZE + 10; i++) {
+            assertEquals(NamingUtils.camelize("name_" + i + "_x", false), "Name" + i + "X");
+        }
+        assertEquals(NamingUtils.camelize("name_0_x", false), "Name0X");
+        assertEquals(NamingUtils.underscore("MyHTTPName"), "my_http_name");
+        assertEquals(NamingUtils.sanitizeName("input[a](b).c-d e[]", false), "input_a_b_c_d_e");
+    }
+
+    private interface Naming {
+        String apply();
+    }
+
+    private static void check(Map<String, String> entry, String helper, Naming naming) {
+        String expected = entry.get(helper);
+        String actual;
+        try {
+            actual = naming.apply();
+        } catch (RuntimeException e) {
+            actual = ERROR;
+        }
+        assertEquals(actual, expected, helper + " of \"" + entry.get("input") + "\"");
+    }
+}
@@ -0,0 +1,265 @@
+package io.swagger.generator.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.generator.util.Environment;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Caches generated bundles by a hash of everything that determines their content: the spec, the
+ * language, the options and the generator version. Lookups for a spec that was generated before return
+ * a copy of the previous bundle instead of running the codegen again.
+ *
+ * Bundles are kept as {@code <hash>.zip} in a directory, the least recently used ones are evicted when
+ * the cache exceeds its entry or byte limit. If the directory is persistent, the cache survives restarts.
+ */
+public class GenerationCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationCache.class);
+
+    public static final String CACHE_DIR = "GENERATOR_CACHE_DIR";
+    public static final String MAX_ENTRIES = "GENERATOR_CACHE_MAX_ENTRIES";
+    public static final String MAX_BYTES = "GENERATOR_CACHE_MAX_BYTES";
+
+    public static final int DEFAULT_MAX_ENTRIES = 100;
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024L * 1024L;
+
+    private static final String BUNDLE = ".zip";
+    private static final String GENERATOR_VERSION = generatorVersion();
+    private static final ObjectMapper CANONICAL = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final File directory;
+    private final int maxEntries;
+    private final long maxBytes;
+    // access ordered, the eldest entry is the least recently used one
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<String, Long>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param directory  where bundles are kept, existing bundles are loaded
+     * @param maxEntries maximum number of cached bundles
+     * @param maxBytes   maximum total size of cached bundles
+     */
+    public GenerationCache(File directory, int maxEntries, long maxBytes) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("unable to create cache directory " + directory.getAbsolutePath());
+        }
+        load();
+    }
+
+    /**
+     * Create the cache from the {@code GENERATOR_CACHE_DIR}, {@code GENERATOR_CACHE_MAX_ENTRIES} and
+     * {@code GENERATOR_CACHE_MAX_BYTES} environment variables. Without a directory, bundles are cached in
+     * a temp directory for the lifetime of the process.
+     *
+     * @return the cache, or null if it is disabled with a maximum of 0 entries
+     */
+    public static GenerationCache fromEnvironment() {
+        int maxEntries = (int) Environment.getLong(MAX_ENTRIES, DEFAULT_MAX_ENTRIES);
+        long maxBytes = Environment.getLong(MAX_BYTES, DEFAULT_MAX_BYTES);
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            return null;
+        }
+        String directory = System.getenv(CACHE_DIR);
+        try {
+            File dir = StringUtils.isBlank(directory)
+                    ? Files.createTempDirectory("codegen-cache-").toFile()
+                    : new File(directory);
+            return new GenerationCache(dir, maxEntries, maxBytes);
+        } catch (Exception e) {
+            LOGGER.error("unable to create generation cache, results are not cached", e);
+            return null;
+        }
+    }
+
+    /**
+     * Build the cache key of a generation.
+     *
+     * @param spec     the spec, compared structurally so that formatting and key order do not matter
+     * @param language target language
+     * @param type     client or server
+     * @param options  generation options
+     * @return hex encoded SHA-256 hash
+     */
+    public static String key(JsonNode spec, String language, String type, Map<String, String> options) {
+        Map<String, Object> input = new TreeMap<String, Object>();
+        input.put("spec", CANONICAL.convertValue(spec, Object.class));
+        input.put("language", language);
+        input.put("type", type);
+        input.put("options", options == null ? null : new TreeMap<String, String>(options));
+        input.put("codegenVersion", ImplementationVersion.read());
+        input.put("generatorVersion", GENERATOR_VERSION);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(CANONICAL.writeValueAsBytes(input));
+            StringBuilder sb = new StringBuilder();
+            for (byte b : hash) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Copy a cached bundle to a new file.
+     *
+     * @param key    cache key, see {@link #key}
+     * @param target file to copy the bundle to
+     * @return true on a hit
+     */
+    public boolean get(String key, File target) {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                misses++;
+                return false;
+            }
+        }
+        try {
+            File parent = target.getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            // a hard link is enough as the cached file is never modified, only replaced or deleted
+            try {
+                Files.createLink(target.toPath(), bundle(key).toPath());
+            } catch (IOException e) {
+                Files.copy(bundle(key).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (UnsupportedOperationException e) {
+                Files.copy(bundle(key).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // evicted in the meantime
+            LOGGER.debug("unable to copy cached bundle " + key, e);
+            synchronized (this) {
+                misses++;
+            }
+            return false;
+        }
+        synchronized (this) {
+            hits++;
+        }
+        return true;
+    }
+
+    /**
+     * Add a bundle to the cache.
+     *
+     * @param key    cache key, see {@link #key}
+     * @param source the bundle, it is copied and stays untouched
+     */
+    public void put(String key, File source) {
+        File bundle = bundle(key);
+        File pending = new File(directory, key + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.copy(source.toPath(), pending.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            try {
+                Files.move(pending.toPath(), bundle.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(pending.toPath(), bundle.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("unable to cache " + source.getAbsolutePath(), e);
+            pending.delete();
+            return;
+        }
+        synchronized (this) {
+            Long previous = entries.put(key, bundle.length());
+            bytes += bundle.length() - (previous == null ? 0 : previous);
+            evict();
+        }
+    }
+
+    public synchronized GenerationCacheMetrics getMetrics() {
+        return new GenerationCacheMetrics(hits, misses, entries.size(), bytes, evictions);
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            eldest.remove();
+            bytes -= entry.getValue();
+            evictions++;
+            bundle(entry.getKey()).delete();
+        }
+    }
+
+    private synchronized void load() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        // oldest first, so that they are evicted first
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(BUNDLE)) {
+                entries.put(name.substring(0, name.length() - BUNDLE.length()), file.length());
+                bytes += file.length();
+            } else if (name.endsWith(".tmp")) {
+                file.delete();
+            }
+        }
+        evict();
+        LOGGER.info("loaded " + entries.size() + " cached bundles from " + directory.getAbsolutePath());
+    }
+
+    private File bundle(String key) {
+        return new File(directory, key + BUNDLE);
+    }
+
+    private static String generatorVersion() {
+        InputStream stream = GenerationCache.class.getResourceAsStream("/version.prop");
+        if (stream == null) {
+            return "unset";
+        }
+        try {
+            return IOUtils.toString(stream, "UTF-8").trim();
+        } catch (IOException e) {
+            return "unset";
+        } finally {
+            IOUtils.closeQuietly(stream);
+        }
+    }
+}
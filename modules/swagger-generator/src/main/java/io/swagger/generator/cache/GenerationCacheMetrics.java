@@ -0,0 +1,63 @@
+package io.swagger.generator.cache;
+
+/**
+ * Snapshot of the state of a {@link GenerationCache}.
+ */
+public class GenerationCacheMetrics {
+    private final long hits;
+    private final long misses;
+    private final int entries;
+    private final long bytes;
+    private final long evictions;
+
+    public GenerationCacheMetrics(long hits, long misses, int entries, long bytes, long evictions) {
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = entries;
+        this.bytes = bytes;
+        this.evictions = evictions;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return share of lookups answered from the cache, 0 if there were none
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * @return number of cached bundles
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return total size of the cached bundles
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return number of bundles removed because the cache was full
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits: %d, misses: %d, hit ratio: %.2f, entries: %d, bytes: %d, evictions: %d",
+                hits, misses, getHitRatio(), entries, bytes, evictions);
+    }
+}
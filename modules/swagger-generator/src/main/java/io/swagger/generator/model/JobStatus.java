@@ -0,0 +1,96 @@
+package io.swagger.generator.model;
+
+import io.swagger.annotations.ApiModelProperty;
+
+import java.util.Map;
+
+public class JobStatus {
+    public enum State {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private String id;
+    private String language;
+    private State state;
+    private String message;
+    private String link;
+    private Long queuedMillis;
+    private Long runMillis;
+    private Map<String, Object> metrics;
+
+    @ApiModelProperty(value = "Job id, also used as download code once the job is done",
+            example = "d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @ApiModelProperty(value = "Target language or framework", example = "java")
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = language;
+    }
+
+    @ApiModelProperty(value = "State of the job")
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    @ApiModelProperty(value = "Reason of a failure")
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @ApiModelProperty(
+            value = "URL for fetching the generated code once the job is done, else URL of this status",
+            example = "http://generator.swagger.io:80/api/gen/download/d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getLink() {
+        return link;
+    }
+
+    public void setLink(String link) {
+        this.link = link;
+    }
+
+    @ApiModelProperty(value = "Time the job waited for a worker, in milliseconds")
+    public Long getQueuedMillis() {
+        return queuedMillis;
+    }
+
+    public void setQueuedMillis(Long queuedMillis) {
+        this.queuedMillis = queuedMillis;
+    }
+
+    @ApiModelProperty(value = "Time the generation took so far, in milliseconds")
+    public Long getRunMillis() {
+        return runMillis;
+    }
+
+    public void setRunMillis(Long runMillis) {
+        this.runMillis = runMillis;
+    }
+
+    @ApiModelProperty(value = "Time, counts and slowest templates of each generation phase, once the job is done;"
+            + " empty phases when the bundle was served from the cache")
+    public Map<String, Object> getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(Map<String, Object> metrics) {
+        this.metrics = metrics;
+    }
+}
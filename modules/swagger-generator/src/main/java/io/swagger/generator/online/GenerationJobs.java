@@ -0,0 +1,279 @@
+package io.swagger.generator.online;
+
+import io.swagger.codegen.GenerationMetrics;
+import io.swagger.generator.model.Generated;
+import io.swagger.generator.model.GeneratorInput;
+import io.swagger.generator.model.JobStatus;
+import io.swagger.generator.store.ArtifactStore;
+import io.swagger.generator.util.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs generations in the background on a bounded pool of workers, so that request threads only submit
+ * them. Finished bundles are put in the {@link ArtifactStore} under the job id.
+ *
+ * Settings are read from environment variables:
+ * <ul>
+ * <li>{@code GENERATOR_JOBS_WORKERS}: number of concurrent generations, the number of cpus by default</li>
+ * <li>{@code GENERATOR_JOBS_QUEUE_SIZE}: number of jobs waiting for a worker before submissions are rejected</li>
+ * <li>{@code GENERATOR_JOBS_RETRY_AFTER_SECONDS}: delay suggested to rejected clients</li>
+ * <li>{@code GENERATOR_JOBS_TTL_SECONDS}: how long the status of a finished job is kept</li>
+ * <li>{@code GENERATOR_JOBS_VIRTUAL_THREADS}: set to true to run workers on virtual threads if the JDK has them</li>
+ * </ul>
+ */
+public class GenerationJobs {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationJobs.class);
+
+    public static final String WORKERS = "GENERATOR_JOBS_WORKERS";
+    public static final String QUEUE_SIZE = "GENERATOR_JOBS_QUEUE_SIZE";
+    public static final String RETRY_AFTER_SECONDS = "GENERATOR_JOBS_RETRY_AFTER_SECONDS";
+    public static final String TTL_SECONDS = "GENERATOR_JOBS_TTL_SECONDS";
+    public static final String VIRTUAL_THREADS = "GENERATOR_JOBS_VIRTUAL_THREADS";
+
+    public static final int DEFAULT_QUEUE_SIZE = 100;
+    public static final long DEFAULT_RETRY_AFTER_SECONDS = 10;
+    public static final long DEFAULT_TTL_SECONDS = 3600;
+
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentMap<String, Job> jobs = new ConcurrentHashMap<String, Job>();
+    private final long retryAfterSeconds;
+    private final long ttlMillis;
+    private volatile ArtifactStore artifactStore;
+
+    /**
+     * @param workers           number of concurrent generations
+     * @param queueSize         number of jobs waiting for a worker before submissions are rejected
+     * @param retryAfterSeconds delay suggested to rejected clients
+     * @param ttlMillis         how long the status of a finished job is kept
+     * @param virtualThreads    whether to run workers on virtual threads, if the JDK has them
+     * @param artifactStore     where finished bundles are put
+     */
+    public GenerationJobs(int workers, int queueSize, long retryAfterSeconds, long ttlMillis,
+                          boolean virtualThreads, ArtifactStore artifactStore) {
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.ttlMillis = ttlMillis;
+        this.artifactStore = artifactStore;
+
+        ThreadFactory threadFactory = virtualThreads ? virtualThreadFactory() : null;
+        if (threadFactory == null) {
+            if (virtualThreads) {
+                LOGGER.warn("virtual threads are not available, using platform threads");
+            }
+            threadFactory = new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "swagger-generator-job-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            };
+        }
+        this.executor = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(Math.max(1, queueSize)), threadFactory);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @param artifactStore where finished bundles are put
+     * @return jobs configured from the environment
+     */
+    public static GenerationJobs fromEnvironment(ArtifactStore artifactStore) {
+        int workers = (int) Environment.getLong(WORKERS, Runtime.getRuntime().availableProcessors());
+        int queueSize = (int) Environment.getLong(QUEUE_SIZE, DEFAULT_QUEUE_SIZE);
+        long retryAfter = Environment.getLong(RETRY_AFTER_SECONDS, DEFAULT_RETRY_AFTER_SECONDS);
+        long ttl = TimeUnit.SECONDS.toMillis(Environment.getLong(TTL_SECONDS, DEFAULT_TTL_SECONDS));
+        boolean virtualThreads = Boolean.parseBoolean(System.getenv(VIRTUAL_THREADS));
+        return new GenerationJobs(Math.max(1, workers), queueSize, retryAfter, ttl, virtualThreads, artifactStore);
+    }
+
+    /**
+     * Queue a generation.
+     *
+     * @param language target language or framework
+     * @param type     client or server
+     * @param opts     generation input
+     * @return the queued job
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public Job submit(String language, Generator.Type type, GeneratorInput opts) {
+        removeExpired();
+        Job job = new Job(UUID.randomUUID().toString(), language, type, opts);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * @param id job id
+     * @return the job, or null if it is unknown or expired
+     */
+    public Job get(String id) {
+        removeExpired();
+        return id == null ? null : jobs.get(id);
+    }
+
+    /**
+     * @return delay suggested to clients whose job was rejected
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * @return number of jobs waiting for a worker
+     */
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return number of jobs being generated
+     */
+    public int getRunning() {
+        return executor.getActiveCount();
+    }
+
+    public void setArtifactStore(ArtifactStore artifactStore) {
+        this.artifactStore = artifactStore;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Generate the bundle of a job.
+     *
+     * @param job the job
+     * @return bundle file name
+     * @throws Exception if the generation fails
+     */
+    protected String generate(Job job) throws Exception {
+        return job.type == Generator.Type.CLIENT
+                ? Generator.generateClient(job.language, job.opts, job.metrics)
+                : Generator.generateServer(job.language, job.opts, job.metrics);
+    }
+
+    private void removeExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            Job job = iterator.next();
+            if (job.finishedAt != 0 && now - job.finishedAt > ttlMillis) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "swagger-generator-job-", 1L);
+            Method factory = builderClass.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    public class Job implements Runnable {
+        private final String id;
+        private final String language;
+        private final Generator.Type type;
+        private final GeneratorInput opts;
+        private final GenerationMetrics metrics = new GenerationMetrics();
+        private final long queuedAt = System.currentTimeMillis();
+        private volatile long startedAt;
+        private volatile long finishedAt;
+        private volatile JobStatus.State state = JobStatus.State.QUEUED;
+        private volatile String message;
+
+        Job(String id, String language, Generator.Type type, GeneratorInput opts) {
+            this.id = id;
+            this.language = language;
+            this.type = type;
+            this.opts = opts;
+        }
+
+        @Override
+        public void run() {
+            startedAt = System.currentTimeMillis();
+            state = JobStatus.State.RUNNING;
+            try {
+                String filename = generate(this);
+                Generated generated = new Generated();
+                generated.setFilename(filename);
+                generated.setFriendlyName(language + "-" + type.getTypeName());
+                artifactStore.put(id, generated);
+                state = JobStatus.State.DONE;
+            } catch (Exception e) {
+                message = e.getMessage();
+                state = JobStatus.State.FAILED;
+            } catch (Error e) {
+                // a deeply nested spec may overflow the stack, the job must not stay running
+                message = e.toString();
+                state = JobStatus.State.FAILED;
+                throw e;
+            } finally {
+                finishedAt = System.currentTimeMillis();
+                LOGGER.info(String.format("job %s (%s %s) %s after %d ms queued, %d ms running", id, language,
+                        type.getTypeName(), state, startedAt - queuedAt, finishedAt - startedAt));
+            }
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public JobStatus.State getState() {
+            return state;
+        }
+
+        /**
+         * @param statusLink   link to the status of this job
+         * @param downloadLink link to download the bundle of this job
+         * @return status of the job, with the download link once it is done
+         */
+        public JobStatus toStatus(String statusLink, String downloadLink) {
+            long now = System.currentTimeMillis();
+            long started = startedAt;
+            long finished = finishedAt;
+
+            JobStatus status = new JobStatus();
+            status.setId(id);
+            status.setLanguage(language);
+            status.setState(state);
+            status.setMessage(message);
+            status.setLink(state == JobStatus.State.DONE ? downloadLink : statusLink);
+            status.setQueuedMillis((started == 0 ? now : started) - queuedAt);
+            if (started != 0) {
+                status.setRunMillis((finished == 0 ? now : finished) - started);
+            }
+            if (state == JobStatus.State.DONE) {
+                status.setMetrics(metrics.toMap());
+            }
+            return status;
+        }
+    }
+}
@@ -2,19 +2,22 @@ package io.swagger.generator.online;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.codegen.*;
+import io.swagger.generator.cache.GenerationCache;
 import io.swagger.generator.exception.ApiException;
 import io.swagger.generator.exception.BadRequestException;
 import io.swagger.generator.model.GeneratorInput;
 import io.swagger.generator.model.InputOption;
-import io.swagger.generator.util.ZipUtil;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -23,16 +26,34 @@ import java.util.Map;
 public class Generator {
     static Logger LOGGER = LoggerFactory.getLogger(Generator.class);
 
+    private static GenerationCache cache = GenerationCache.fromEnvironment();
+
+    public static GenerationCache getCache() {
+        return cache;
+    }
+
+    /**
+     * @param cache cache for bundles generated from inline specs, null to disable caching
+     */
+    public static void setCache(GenerationCache cache) {
+        Generator.cache = cache;
+    }
+
     public static Map<String, CliOption> getOptions(String language) throws ApiException {
-        CodegenConfig config = null;
-        try {
-            config = CodegenConfigLoader.forName(language);
-        } catch (Exception e) {
-            throw new BadRequestException(String.format("Unsupported target %s supplied. %s",
-                    language, e));
+        List<CliOption> cliOptions;
+        CodegenConfigDescriptor descriptor = CodegenConfigLoader.getDescriptor(language);
+        if (descriptor != null) {
+            cliOptions = descriptor.getCliOptions();
+        } else {
+            try {
+                cliOptions = CodegenConfigLoader.forName(language).cliOptions();
+            } catch (Exception e) {
+                throw new BadRequestException(String.format("Unsupported target %s supplied. %s",
+                        language, e));
+            }
         }
         Map<String, CliOption> map = new LinkedHashMap<String, CliOption>();
-        for (CliOption option : config.cliOptions()) {
+        for (CliOption option : cliOptions) {
             map.put(option.getOpt(), option);
         }
         return map;
@@ -53,14 +74,30 @@ public class Generator {
     }
 
     public static String generateClient(String language, GeneratorInput opts) throws ApiException {
-        return generate(language, opts, Type.CLIENT);
+        return generate(language, opts, Type.CLIENT, new GenerationMetrics());
+    }
+
+    /**
+     * @param metrics where the timings and counts of the generation are recorded
+     */
+    public static String generateClient(String language, GeneratorInput opts, GenerationMetrics metrics)
+            throws ApiException {
+        return generate(language, opts, Type.CLIENT, metrics);
     }
 
     public static String generateServer(String language, GeneratorInput opts) throws ApiException {
-        return generate(language, opts, Type.SERVER);
+        return generate(language, opts, Type.SERVER, new GenerationMetrics());
+    }
+
+    /**
+     * @param metrics where the timings and counts of the generation are recorded
+     */
+    public static String generateServer(String language, GeneratorInput opts, GenerationMetrics metrics)
+            throws ApiException {
+        return generate(language, opts, Type.SERVER, metrics);
     }
 
-    private static String generate(String language, GeneratorInput opts, Type type)
+    private static String generate(String language, GeneratorInput opts, Type type, GenerationMetrics metrics)
             throws ApiException {
         LOGGER.debug(String.format("generate %s for %s", type.getTypeName(), language));
         if (opts == null) {
@@ -71,34 +108,6 @@ public class Generator {
             LOGGER.debug("ignoring empty spec");
             node = null;
         }
-        Swagger swagger;
-        if (node == null) {
-            if (opts.getSwaggerUrl() != null) {
-                if (opts.getAuthorizationValue() != null) {
-                    List<AuthorizationValue> authorizationValues =
-                            new ArrayList<AuthorizationValue>();
-                    authorizationValues.add(opts.getAuthorizationValue());
-
-                    swagger =
-                            new SwaggerParser().read(opts.getSwaggerUrl(), authorizationValues,
-                                    true);
-                } else {
-                    swagger = new SwaggerParser().read(opts.getSwaggerUrl());
-                }
-            } else {
-                throw new BadRequestException("No swagger specification was supplied");
-            }
-        } else if (opts.getAuthorizationValue() != null) {
-            List<AuthorizationValue> authorizationValues = new ArrayList<AuthorizationValue>();
-            authorizationValues.add(opts.getAuthorizationValue());
-            swagger = new SwaggerParser().read(node, authorizationValues, true);
-        } else {
-            swagger = new SwaggerParser().read(node, true);
-        }
-        if (swagger == null) {
-            throw new BadRequestException("The swagger specification supplied was not valid");
-        }
-
         String destPath = null;
 
         if (opts != null && opts.getOptions() != null) {
@@ -108,12 +117,40 @@ public class Generator {
             destPath = language + "-" + type.getTypeName();
         }
 
+        // only inline specs are cached, a spec behind a url may change
+        GenerationCache cache = Generator.cache;
+        String cacheKey = null;
+        // one folder per request, for the cached bundle or else the generation
+        File tmpFolder = null;
+        if (node != null && opts.getAuthorizationValue() == null && cache != null) {
+            cacheKey = GenerationCache.key(node, language, type.getTypeName(), opts.getOptions());
+            tmpFolder = getTmpFolder();
+            String cachedFilename = tmpFolder.getAbsolutePath() + File.separator + destPath + "-bundle.zip";
+            if (cache.get(cacheKey, new File(cachedFilename))) {
+                LOGGER.debug("returning cached bundle " + cacheKey + ", " + cache.getMetrics());
+                return cachedFilename;
+            }
+        }
+
+        Swagger swagger = null;
+        try {
+            swagger = parse(opts, node, metrics);
+        } finally {
+            if (swagger == null) {
+                // nothing is generated, don't leave the folder of the cache lookup behind
+                FileUtils.deleteQuietly(tmpFolder);
+            }
+        }
+        if (tmpFolder == null) {
+            tmpFolder = getTmpFolder();
+        }
+
         ClientOptInput clientOptInput = new ClientOptInput();
         ClientOpts clientOpts = new ClientOpts();
-        String outputFolder = getTmpFolder().getAbsolutePath() + File.separator + destPath;
+        String outputFolder = tmpFolder.getAbsolutePath() + File.separator + destPath;
         String outputFilename = outputFolder + "-bundle.zip";
 
-        clientOptInput.opts(clientOpts).swagger(swagger);
+        clientOptInput.opts(clientOpts).swagger(swagger).metrics(metrics);
 
         CodegenConfig codegenConfig = null;
         try {
@@ -133,36 +170,76 @@ public class Generator {
 
         clientOptInput.setConfig(codegenConfig);
 
+        File outputFile = new File(outputFilename);
         try {
-            List<File> files = new Codegen().opts(clientOptInput).generate();
-            if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<File>();
+            // render straight into the zip, only files that configs write themselves end up in the output folder
+            outputFile.getParentFile().mkdirs();
+            ZipGeneratorSink sink = new ZipGeneratorSink(new BufferedOutputStream(new FileOutputStream(outputFile)),
+                    new File(outputFolder), new File(outputFolder).getName());
+            List<File> files;
+            try {
                 LOGGER.debug("adding to " + outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
-            } else {
+                files = new Codegen().opts(clientOptInput.sink(sink)).generate();
+                int added = sink.addFiles(new File(outputFolder));
+                if (added > 0) {
+                    LOGGER.debug("added " + added + " files written to " + outputFolder);
+                }
+            } finally {
+                sink.close();
+                FileUtils.deleteQuietly(new File(outputFolder));
+            }
+            if (files.isEmpty()) {
                 throw new BadRequestException(
                         "A target generation was attempted, but no files were created!");
             }
-            for (File file : files) {
-                try {
-                    file.delete();
-                } catch (Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath());
-                }
-            }
+        } catch (Exception e) {
             try {
-                new File(outputFolder).delete();
-            } catch (Exception e) {
-                LOGGER.error("unable to delete output folder " + outputFolder);
+                FileUtils.deleteDirectory(outputFile.getParentFile());
+            } catch (Exception ex) {
+                LOGGER.error("unable to delete output folder " + outputFile.getParent());
             }
-        } catch (Exception e) {
             throw new BadRequestException("Unable to build target: " + e.getMessage());
         }
+        if (cacheKey != null) {
+            cache.put(cacheKey, outputFile);
+        }
         return outputFilename;
     }
 
+    private static Swagger parse(GeneratorInput opts, JsonNode node, GenerationMetrics metrics)
+            throws ApiException {
+        GenerationMetrics.Timer timer = metrics.start(GenerationMetrics.PARSE);
+        Swagger swagger;
+        if (node == null) {
+            if (opts.getSwaggerUrl() != null) {
+                if (opts.getAuthorizationValue() != null) {
+                    List<AuthorizationValue> authorizationValues =
+                            new ArrayList<AuthorizationValue>();
+                    authorizationValues.add(opts.getAuthorizationValue());
+
+                    swagger =
+                            new SwaggerParser().read(opts.getSwaggerUrl(), authorizationValues,
+                                    true);
+                } else {
+                    swagger = new SwaggerParser().read(opts.getSwaggerUrl());
+                }
+            } else {
+                throw new BadRequestException("No swagger specification was supplied");
+            }
+        } else if (opts.getAuthorizationValue() != null) {
+            List<AuthorizationValue> authorizationValues = new ArrayList<AuthorizationValue>();
+            authorizationValues.add(opts.getAuthorizationValue());
+            swagger = new SwaggerParser().read(node, authorizationValues, true);
+        } else {
+            swagger = new SwaggerParser().read(node, true);
+        }
+        timer.stop();
+        if (swagger == null) {
+            throw new BadRequestException("The swagger specification supplied was not valid");
+        }
+        return swagger;
+    }
+
     public static InputOption clientOptions(@SuppressWarnings("unused") String language) {
         return null;
     }
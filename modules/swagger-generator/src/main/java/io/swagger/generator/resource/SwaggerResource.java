@@ -4,14 +4,19 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.codegen.CliOption;
-import io.swagger.codegen.Codegen;
-import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigDescriptor;
+import io.swagger.codegen.CodegenConfigLoader;
 import io.swagger.codegen.CodegenType;
 import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.model.ApiResponse;
 import io.swagger.generator.model.Generated;
 import io.swagger.generator.model.GeneratorInput;
+import io.swagger.generator.model.JobStatus;
 import io.swagger.generator.model.ResponseCode;
+import io.swagger.generator.online.GenerationJobs;
 import io.swagger.generator.online.Generator;
+import io.swagger.generator.store.ArtifactStore;
+import io.swagger.generator.store.ArtifactStores;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -20,8 +25,12 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 @Path("/gen")
 @Api(value = "/gen", description = "Resource for generating swagger components")
@@ -29,11 +38,11 @@ import java.util.*;
 public class SwaggerResource {
     static List<String> clients = new ArrayList<String>();
     static List<String> servers = new ArrayList<String>();
-    private static Map<String, Generated> fileMap = new HashMap<String, Generated>();
+    private static ArtifactStore artifactStore = ArtifactStores.fromEnvironment();
+    private static GenerationJobs jobs = GenerationJobs.fromEnvironment(artifactStore);
 
     static {
-        List<CodegenConfig> extensions = Codegen.getExtensions();
-        for (CodegenConfig config : extensions) {
+        for (CodegenConfigDescriptor config : CodegenConfigLoader.getDescriptors()) {
             if (config.getTag().equals(CodegenType.CLIENT)
                     || config.getTag().equals(CodegenType.DOCUMENTATION)) {
                 clients.add(config.getName());
@@ -46,6 +55,29 @@ public class SwaggerResource {
         Collections.sort(servers, String.CASE_INSENSITIVE_ORDER);
     }
 
+    public static ArtifactStore getArtifactStore() {
+        return artifactStore;
+    }
+
+    /**
+     * @param artifactStore store for generated bundles waiting for download
+     */
+    public static void setArtifactStore(ArtifactStore artifactStore) {
+        SwaggerResource.artifactStore = artifactStore;
+        jobs.setArtifactStore(artifactStore);
+    }
+
+    public static GenerationJobs getJobs() {
+        return jobs;
+    }
+
+    /**
+     * @param jobs runs asynchronous generations
+     */
+    public static void setJobs(GenerationJobs jobs) {
+        SwaggerResource.jobs = jobs;
+    }
+
     @GET
     @Path("/download/{fileId}")
     @Produces({MediaType.APPLICATION_OCTET_STREAM})
@@ -55,24 +87,28 @@ public class SwaggerResource {
                     + "operations.  The fileId code can be used just once, after which a new `fileId` will need to "
                     + "be requested.", response = String.class, tags = {"clients", "servers"})
     public Response downloadFile(@PathParam("fileId") String fileId) throws Exception {
-        Generated g = fileMap.get(fileId);
+        final Generated g = artifactStore.take(fileId);
         System.out.println("looking for fileId " + fileId);
-        System.out.println("got filename " + g.getFilename());
-        if (g.getFilename() != null) {
-            File file = new java.io.File(g.getFilename());
-            byte[] bytes = org.apache.commons.io.FileUtils.readFileToByteArray(file);
-
-            try {
-                FileUtils.deleteDirectory(file.getParentFile());
-            } catch (Exception e) {
-                System.out.println("failed to delete file " + file.getAbsolutePath());
-            }
+        if (g != null && g.getFilename() != null) {
+            System.out.println("got filename " + g.getFilename());
+            final File file = new java.io.File(g.getFilename());
+
+            StreamingOutput stream = new StreamingOutput() {
+                @Override
+                public void write(OutputStream output) throws IOException {
+                    try {
+                        FileUtils.copyFile(file, output);
+                    } finally {
+                        artifactStore.delete(g);
+                    }
+                }
+            };
 
             return Response
-                    .ok(bytes, "application/zip")
+                    .ok(stream, "application/zip")
                     .header("Content-Disposition",
                             "attachment; filename=\"" + g.getFriendlyName() + "-generated.zip\"")
-                    .header("Accept-Range", "bytes").header("Content-Length", bytes.length).build();
+                    .header("Accept-Range", "bytes").header("Content-Length", file.length()).build();
         } else {
             return Response.status(404).build();
         }
@@ -91,26 +127,14 @@ public class SwaggerResource {
             throws Exception {
 
         String filename = Generator.generateClient(language, opts);
-        String host = System.getenv("GENERATOR_HOST");
-
-        if (StringUtils.isBlank(host)) {
-            String scheme = request.getHeader("X-SSL");
-            String port = "";
-            if ("1".equals(scheme)) {
-                scheme = "https";
-            } else {
-                scheme = request.getScheme();
-                port = ":" + request.getServerPort();
-            }
-            host = scheme + "://" + request.getServerName() + port;
-        }
+        String host = getHost(request);
 
         if (filename != null) {
             String code = String.valueOf(UUID.randomUUID().toString());
             Generated g = new Generated();
             g.setFilename(filename);
             g.setFriendlyName(language + "-client");
-            fileMap.put(code, g);
+            artifactStore.put(code, g);
             System.out.println(code + ", " + filename);
             String link = host + "/api/gen/download/" + code;
             return Response.ok().entity(new ResponseCode(code, link)).build();
@@ -201,7 +225,7 @@ public class SwaggerResource {
             Generated g = new Generated();
             g.setFilename(filename);
             g.setFriendlyName(framework + "-server");
-            fileMap.put(code, g);
+            artifactStore.put(code, g);
             System.out.println(code + ", " + filename);
             String link = host + "/api/gen/download/" + code;
             return Response.ok().entity(new ResponseCode(code, link)).build();
@@ -209,4 +233,87 @@ public class SwaggerResource {
             return Response.status(500).build();
         }
     }
+
+    @POST
+    @Path("/jobs/clients/{language}")
+    @ApiOperation(
+            value = "Queues the generation of a client library",
+            notes = "Accepts a `GeneratorInput` options map for spec location and generation options. Returns "
+                    + "right away with a job whose status can be polled; once it is done, its `link` downloads "
+                    + "the generated code. Responds with 429 when too many jobs are queued.",
+            response = JobStatus.class, tags = "clients")
+    public Response generateClientJob(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "The target language for the client library", required = true) @PathParam("language") String language,
+            @ApiParam(value = "Configuration for building the client library", required = true) GeneratorInput opts) {
+        return submitJob(request, language, Generator.Type.CLIENT, opts);
+    }
+
+    @POST
+    @Path("/jobs/servers/{framework}")
+    @ApiOperation(
+            value = "Queues the generation of a server library",
+            notes = "Accepts a `GeneratorInput` options map for spec location and generation options. Returns "
+                    + "right away with a job whose status can be polled; once it is done, its `link` downloads "
+                    + "the generated code. Responds with 429 when too many jobs are queued.",
+            response = JobStatus.class, tags = "servers")
+    public Response generateServerJob(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "framework", required = true) @PathParam("framework") String framework,
+            @ApiParam(value = "parameters", required = true) GeneratorInput opts) {
+        return submitJob(request, framework, Generator.Type.SERVER, opts);
+    }
+
+    @GET
+    @Path("/jobs/{jobId}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(value = "Returns the status of a generation job", response = JobStatus.class,
+            tags = {"clients", "servers"})
+    public Response getJob(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "Id of the job", required = true) @PathParam("jobId") String jobId) {
+        GenerationJobs.Job job = jobs.get(jobId);
+        if (job == null) {
+            return Response.status(404).build();
+        }
+        return Response.ok().entity(status(request, job)).build();
+    }
+
+    private static Response submitJob(HttpServletRequest request, String language, Generator.Type type,
+                                      GeneratorInput opts) {
+        GenerationJobs.Job job;
+        try {
+            job = jobs.submit(language, type, opts);
+        } catch (RejectedExecutionException e) {
+            return Response.status(429)
+                    .header("Retry-After", jobs.getRetryAfterSeconds())
+                    .entity(new ApiResponse(ApiResponse.TOO_BUSY, "Too many generations queued, retry later"))
+                    .build();
+        }
+        JobStatus status = status(request, job);
+        return Response.status(Response.Status.ACCEPTED).entity(status)
+                .header("Location", getHost(request) + "/api/gen/jobs/" + job.getId()).build();
+    }
+
+    private static JobStatus status(HttpServletRequest request, GenerationJobs.Job job) {
+        String host = getHost(request);
+        return job.toStatus(host + "/api/gen/jobs/" + job.getId(), host + "/api/gen/download/" + job.getId());
+    }
+
+    private static String getHost(HttpServletRequest request) {
+        String host = System.getenv("GENERATOR_HOST");
+
+        if (StringUtils.isBlank(host)) {
+            String scheme = request.getHeader("X-SSL");
+            String port = "";
+            if ("1".equals(scheme)) {
+                scheme = "https";
+            } else {
+                scheme = request.getScheme();
+                port = ":" + request.getServerPort();
+            }
+            host = scheme + "://" + request.getServerName() + port;
+        }
+        return host;
+    }
 }
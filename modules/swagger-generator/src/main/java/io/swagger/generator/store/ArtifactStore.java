@@ -0,0 +1,47 @@
+package io.swagger.generator.store;
+
+import io.swagger.generator.model.Generated;
+
+/**
+ * Keeps generated bundles between the generate request and their download.
+ *
+ * Implementations must be thread safe and bound the number and size of stored bundles, since bundles
+ * that are never downloaded would otherwise pile up.
+ */
+public interface ArtifactStore {
+
+    /**
+     * Register a generated bundle. May evict older bundles to stay within the limits of the store.
+     *
+     * @param fileId    id the bundle is downloaded with
+     * @param generated the bundle, its file is owned by the store from now on
+     */
+    void put(String fileId, Generated generated);
+
+    /**
+     * Remove a bundle from the store, as it can only be downloaded once. The caller deletes it with
+     * {@link #delete(Generated)} when done; if it never does, e.g. because the download was aborted,
+     * {@link #cleanup()} deletes the bundle once it expires.
+     *
+     * @param fileId id of the bundle
+     * @return the bundle, or null if it is unknown, expired or already taken
+     */
+    Generated take(String fileId);
+
+    /**
+     * Delete the files of a bundle that was taken from the store.
+     *
+     * @param generated the bundle
+     */
+    void delete(Generated generated);
+
+    /**
+     * Evict expired bundles, and the oldest ones while the store is over its limits.
+     */
+    void cleanup();
+
+    /**
+     * @return current number of bundles, their size and the number of evictions so far
+     */
+    ArtifactStoreMetrics getMetrics();
+}
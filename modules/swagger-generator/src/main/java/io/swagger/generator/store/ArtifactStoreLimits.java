@@ -0,0 +1,52 @@
+package io.swagger.generator.store;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits of an {@link ArtifactStore}: how many bundles it keeps, how much disk they may use and how long
+ * they stay available for download.
+ */
+public class ArtifactStoreLimits {
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_MAX_BYTES = 1024L * 1024L * 1024L;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlMillis;
+
+    public ArtifactStoreLimits() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_BYTES, DEFAULT_TTL_MILLIS);
+    }
+
+    public ArtifactStoreLimits(int maxEntries, long maxBytes, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    boolean isExpired(long created, long now) {
+        return now - created > ttlMillis;
+    }
+
+    boolean isExceeded(int entries, long bytes) {
+        return entries > maxEntries || bytes > maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "max entries: " + maxEntries + ", max bytes: " + maxBytes + ", ttl: " + ttlMillis + "ms";
+    }
+}
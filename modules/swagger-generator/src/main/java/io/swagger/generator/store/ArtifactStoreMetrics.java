@@ -0,0 +1,42 @@
+package io.swagger.generator.store;
+
+/**
+ * Snapshot of the state of an {@link ArtifactStore}.
+ */
+public class ArtifactStoreMetrics {
+    private final int entries;
+    private final long bytes;
+    private final long evictions;
+
+    public ArtifactStoreMetrics(int entries, long bytes, long evictions) {
+        this.entries = entries;
+        this.bytes = bytes;
+        this.evictions = evictions;
+    }
+
+    /**
+     * @return number of bundles waiting for download
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return total size of the bundles waiting for download
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return number of bundles removed because they expired or the store was full
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return "entries: " + entries + ", bytes: " + bytes + ", evictions: " + evictions;
+    }
+}
@@ -0,0 +1,83 @@
+package io.swagger.generator.store;
+
+import io.swagger.generator.util.Environment;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the {@link ArtifactStore} of the online generator from environment variables:
+ * <ul>
+ * <li>{@code GENERATOR_ARTIFACT_DIR}: directory shared by all generator nodes, bundles are only indexed in
+ * memory if not set</li>
+ * <li>{@code GENERATOR_ARTIFACT_MAX_ENTRIES}: maximum number of bundles waiting for download</li>
+ * <li>{@code GENERATOR_ARTIFACT_MAX_BYTES}: maximum total size of those bundles</li>
+ * <li>{@code GENERATOR_ARTIFACT_TTL_SECONDS}: how long a bundle can be downloaded</li>
+ * </ul>
+ */
+public class ArtifactStores {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactStores.class);
+
+    public static final String ARTIFACT_DIR = "GENERATOR_ARTIFACT_DIR";
+    public static final String MAX_ENTRIES = "GENERATOR_ARTIFACT_MAX_ENTRIES";
+    public static final String MAX_BYTES = "GENERATOR_ARTIFACT_MAX_BYTES";
+    public static final String TTL_SECONDS = "GENERATOR_ARTIFACT_TTL_SECONDS";
+
+    private static final long MAX_CLEANUP_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * @return a store configured from the environment, cleaned up periodically in the background
+     */
+    public static ArtifactStore fromEnvironment() {
+        ArtifactStoreLimits limits = new ArtifactStoreLimits(
+                (int) Environment.getLong(MAX_ENTRIES, ArtifactStoreLimits.DEFAULT_MAX_ENTRIES),
+                Environment.getLong(MAX_BYTES, ArtifactStoreLimits.DEFAULT_MAX_BYTES),
+                TimeUnit.SECONDS.toMillis(Environment.getLong(TTL_SECONDS, TimeUnit.MILLISECONDS.toSeconds(ArtifactStoreLimits.DEFAULT_TTL_MILLIS))));
+
+        String directory = System.getenv(ARTIFACT_DIR);
+        ArtifactStore store = StringUtils.isBlank(directory)
+                ? new MemoryArtifactStore(limits)
+                : new FileSystemArtifactStore(new File(directory), limits);
+        LOGGER.info("using " + store.getClass().getSimpleName() + " with " + limits);
+
+        scheduleCleanup(store, Math.min(limits.getTtlMillis(), MAX_CLEANUP_INTERVAL_MILLIS));
+        return store;
+    }
+
+    /**
+     * Run {@link ArtifactStore#cleanup()} at a fixed interval on a daemon thread.
+     *
+     * @param store          the store
+     * @param intervalMillis cleanup interval
+     * @return the executor running the cleanup
+     */
+    public static ScheduledExecutorService scheduleCleanup(final ArtifactStore store, long intervalMillis) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "swagger-generator-artifact-cleanup");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        long interval = Math.max(1, intervalMillis);
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    store.cleanup();
+                    LOGGER.debug("artifact store " + store.getMetrics());
+                } catch (RuntimeException e) {
+                    LOGGER.error("artifact store cleanup failed", e);
+                }
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+}
@@ -0,0 +1,278 @@
+package io.swagger.generator.store;
+
+import io.swagger.generator.model.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps generated bundles in a directory, so that generator nodes sharing the directory can serve each
+ * other's downloads.
+ *
+ * Each bundle is stored as {@code <fileId>.zip} next to a {@code <fileId>.properties} descriptor. The
+ * descriptor is written last and renamed away atomically when the bundle is taken, so a bundle is only
+ * handed out once even with several nodes. Any node may run {@link #cleanup()}; it only relies on the
+ * directory contents.
+ */
+public class FileSystemArtifactStore implements ArtifactStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemArtifactStore.class);
+
+    private static final Pattern FILE_ID = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final String BUNDLE = ".zip";
+    private static final String DESCRIPTOR = ".properties";
+    private static final String FRIENDLY_NAME = "friendlyName";
+    private static final String CREATED = "created";
+
+    private final File directory;
+    private final ArtifactStoreLimits limits;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public FileSystemArtifactStore(File directory) {
+        this(directory, new ArtifactStoreLimits());
+    }
+
+    public FileSystemArtifactStore(File directory, ArtifactStoreLimits limits) {
+        this.directory = directory;
+        this.limits = limits;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("unable to create artifact directory " + directory.getAbsolutePath());
+        }
+    }
+
+    @Override
+    public void put(String fileId, Generated generated) {
+        if (!isValid(fileId)) {
+            throw new IllegalArgumentException("invalid file id " + fileId);
+        }
+        File source = new File(generated.getFilename());
+        File bundle = new File(directory, fileId + BUNDLE);
+        File descriptor = new File(directory, fileId + DESCRIPTOR);
+        File pending = new File(directory, fileId + DESCRIPTOR + "." + UUID.randomUUID() + ".tmp");
+
+        Properties properties = new Properties();
+        properties.setProperty(FRIENDLY_NAME, generated.getFriendlyName());
+        properties.setProperty(CREATED, String.valueOf(currentTimeMillis()));
+        try {
+            Files.move(source.toPath(), bundle.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            OutputStream out = new FileOutputStream(pending);
+            try {
+                properties.store(out, null);
+            } finally {
+                out.close();
+            }
+            move(pending, descriptor);
+        } catch (IOException e) {
+            pending.delete();
+            bundle.delete();
+            throw new IllegalStateException("unable to store " + source.getAbsolutePath(), e);
+        } finally {
+            File folder = source.getParentFile();
+            String[] remaining = folder == null ? null : folder.list();
+            if (remaining != null && remaining.length == 0) {
+                folder.delete();
+            }
+        }
+
+        cleanup();
+    }
+
+    @Override
+    public Generated take(String fileId) {
+        if (!isValid(fileId)) {
+            return null;
+        }
+        Properties properties = claim(new File(directory, fileId + DESCRIPTOR));
+        if (properties == null) {
+            return null;
+        }
+        Generated generated = new Generated();
+        generated.setFilename(new File(directory, fileId + BUNDLE).getAbsolutePath());
+        generated.setFriendlyName(properties.getProperty(FRIENDLY_NAME));
+        if (limits.isExpired(created(properties), currentTimeMillis())) {
+            evictions.incrementAndGet();
+            delete(generated);
+            return null;
+        }
+        return generated;
+    }
+
+    @Override
+    public void delete(Generated generated) {
+        File file = new File(generated.getFilename());
+        if (file.exists() && !file.delete()) {
+            LOGGER.warn("unable to delete " + file.getAbsolutePath());
+        }
+    }
+
+    @Override
+    public synchronized void cleanup() {
+        long now = currentTimeMillis();
+        List<Stored> stored = new ArrayList<Stored>();
+        long bytes = 0;
+
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(DESCRIPTOR)) {
+                String fileId = name.substring(0, name.length() - DESCRIPTOR.length());
+                Properties properties = read(file);
+                if (properties == null) {
+                    continue;
+                }
+                Stored entry = new Stored(fileId, created(properties), new File(directory, fileId + BUNDLE).length());
+                if (limits.isExpired(entry.created, now)) {
+                    evict(entry);
+                } else {
+                    stored.add(entry);
+                    bytes += entry.size;
+                }
+            } else if (limits.isExpired(file.lastModified(), now)) {
+                // bundles whose descriptor is gone and leftovers of interrupted writes or downloads
+                String fileId = name.endsWith(BUNDLE) ? name.substring(0, name.length() - BUNDLE.length()) : null;
+                if (fileId == null || !new File(directory, fileId + DESCRIPTOR).exists()) {
+                    file.delete();
+                }
+            }
+        }
+
+        Collections.sort(stored, new Comparator<Stored>() {
+            @Override
+            public int compare(Stored a, Stored b) {
+                return a.created < b.created ? -1 : (a.created == b.created ? 0 : 1);
+            }
+        });
+        int entries = stored.size();
+        for (Stored entry : stored) {
+            if (!limits.isExceeded(entries, bytes)) {
+                break;
+            }
+            evict(entry);
+            entries--;
+            bytes -= entry.size;
+        }
+    }
+
+    @Override
+    public ArtifactStoreMetrics getMetrics() {
+        int entries = 0;
+        long bytes = 0;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(DESCRIPTOR)) {
+                    entries++;
+                    bytes += new File(directory, name.substring(0, name.length() - DESCRIPTOR.length()) + BUNDLE).length();
+                }
+            }
+        }
+        return new ArtifactStoreMetrics(entries, bytes, evictions.get());
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private void evict(Stored entry) {
+        if (claim(new File(directory, entry.fileId + DESCRIPTOR)) != null) {
+            LOGGER.debug("evicting " + entry.fileId);
+            evictions.incrementAndGet();
+            new File(directory, entry.fileId + BUNDLE).delete();
+        }
+    }
+
+    /**
+     * Atomically take a descriptor, so that no other thread or node can take the same bundle.
+     *
+     * @return the descriptor, or null if someone else took it first
+     */
+    private Properties claim(File descriptor) {
+        File claimed = new File(directory, descriptor.getName() + "." + UUID.randomUUID() + ".taken");
+        try {
+            move(descriptor, claimed);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.warn("unable to claim " + descriptor.getAbsolutePath(), e);
+            return null;
+        }
+        try {
+            return read(claimed);
+        } finally {
+            claimed.delete();
+        }
+    }
+
+    private static void move(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath());
+        }
+    }
+
+    private static Properties read(File file) {
+        Properties properties = new Properties();
+        try {
+            InputStream in = new FileInputStream(file);
+            try {
+                properties.load(in);
+            } finally {
+                in.close();
+            }
+            return properties;
+        } catch (IOException e) {
+            // taken or evicted concurrently
+            return null;
+        }
+    }
+
+    private static long created(Properties properties) {
+        try {
+            return Long.parseLong(properties.getProperty(CREATED));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static boolean isValid(String fileId) {
+        return fileId != null && FILE_ID.matcher(fileId).matches();
+    }
+
+    private static class Stored {
+        final String fileId;
+        final long created;
+        final long size;
+
+        Stored(String fileId, long created, long size) {
+            this.fileId = fileId;
+            this.created = created;
+            this.size = size;
+        }
+    }
+}
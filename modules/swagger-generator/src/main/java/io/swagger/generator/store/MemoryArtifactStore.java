@@ -0,0 +1,143 @@
+package io.swagger.generator.store;
+
+import io.swagger.generator.model.Generated;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the index of generated bundles in memory, while the bundles stay where the generator wrote them.
+ * Deleting a bundle deletes its file and, if then empty, the temp folder it was written to. Bundles that
+ * are taken but never deleted, e.g. because the download was aborted, are deleted by {@link #cleanup()}
+ * once they expire.
+ */
+public class MemoryArtifactStore implements ArtifactStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoryArtifactStore.class);
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    // bundles handed out by take and not deleted yet, by file name
+    private final ConcurrentMap<String, Entry> taken = new ConcurrentHashMap<String, Entry>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final ArtifactStoreLimits limits;
+
+    public MemoryArtifactStore() {
+        this(new ArtifactStoreLimits());
+    }
+
+    public MemoryArtifactStore(ArtifactStoreLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void put(String fileId, Generated generated) {
+        Entry entry = new Entry(generated, currentTimeMillis(), new File(generated.getFilename()).length());
+        bytes.addAndGet(entry.size);
+        Entry replaced = entries.put(fileId, entry);
+        if (replaced != null) {
+            release(replaced);
+        }
+        if (limits.isExceeded(entries.size(), bytes.get())) {
+            cleanup();
+        }
+    }
+
+    @Override
+    public Generated take(String fileId) {
+        Entry entry = entries.remove(fileId);
+        if (entry == null) {
+            return null;
+        }
+        bytes.addAndGet(-entry.size);
+        long now = currentTimeMillis();
+        if (limits.isExpired(entry.created, now)) {
+            evictions.incrementAndGet();
+            delete(entry.generated);
+            return null;
+        }
+        taken.put(entry.generated.getFilename(), new Entry(entry.generated, now, entry.size));
+        return entry.generated;
+    }
+
+    @Override
+    public void delete(Generated generated) {
+        taken.remove(generated.getFilename());
+        File file = new File(generated.getFilename());
+        if (file.exists() && !file.delete()) {
+            LOGGER.warn("unable to delete " + file.getAbsolutePath());
+        }
+        File folder = file.getParentFile();
+        String[] remaining = folder == null ? null : folder.list();
+        if (remaining != null && remaining.length == 0) {
+            folder.delete();
+        }
+    }
+
+    @Override
+    public synchronized void cleanup() {
+        long now = currentTimeMillis();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (limits.isExpired(entry.getValue().created, now)) {
+                evict(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Entry entry : taken.values()) {
+            if (limits.isExpired(entry.created, now)) {
+                LOGGER.debug("deleting " + entry.generated.getFilename() + ", taken but never deleted");
+                delete(entry.generated);
+            }
+        }
+
+        while (limits.isExceeded(entries.size(), bytes.get())) {
+            Map.Entry<String, Entry> oldest = null;
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                if (oldest == null || entry.getValue().created < oldest.getValue().created) {
+                    oldest = entry;
+                }
+            }
+            if (oldest == null) {
+                break;
+            }
+            evict(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    @Override
+    public ArtifactStoreMetrics getMetrics() {
+        return new ArtifactStoreMetrics(entries.size(), bytes.get(), evictions.get());
+    }
+
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private void evict(String fileId, Entry entry) {
+        if (entries.remove(fileId, entry)) {
+            LOGGER.debug("evicting " + fileId);
+            evictions.incrementAndGet();
+            release(entry);
+        }
+    }
+
+    private void release(Entry entry) {
+        bytes.addAndGet(-entry.size);
+        delete(entry.generated);
+    }
+
+    private static class Entry {
+        final Generated generated;
+        final long created;
+        final long size;
+
+        Entry(Generated generated, long created, long size) {
+            this.generated = generated;
+            this.created = created;
+            this.size = size;
+        }
+    }
+}
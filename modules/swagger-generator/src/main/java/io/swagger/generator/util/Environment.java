@@ -0,0 +1,30 @@
+package io.swagger.generator.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads settings of the online generator from environment variables.
+ */
+public class Environment {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Environment.class);
+
+    /**
+     * @param name         environment variable
+     * @param defaultValue value if the variable is not set or not a number
+     * @return the value of the variable
+     */
+    public static long getLong(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("ignoring invalid " + name + ": " + value);
+            return defaultValue;
+        }
+    }
+}
@@ -49,17 +49,19 @@ public class ZipUtil {
             throws FileNotFoundException, IOException {
 
         ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(destZipFile));
-
-        for (File file : listFiles) {
-            if (file.isDirectory()) {
-                addFolderToZip(file, file.getName(), zos);
-            } else {
-                addFileToZip(file, zos);
+        try {
+            for (File file : listFiles) {
+                if (file.isDirectory()) {
+                    addFolderToZip(file, file.getName(), zos);
+                } else {
+                    addFileToZip(file, zos);
+                }
             }
-        }
 
-        zos.flush();
-        zos.close();
+            zos.flush();
+        } finally {
+            zos.close();
+        }
     }
 
     /**
@@ -80,18 +82,7 @@ public class ZipUtil {
             }
 
             zos.putNextEntry(new ZipEntry(parentFolder + "/" + file.getName()));
-
-            BufferedInputStream bis = new BufferedInputStream(new FileInputStream(file));
-
-            long bytesRead = 0;
-            byte[] bytesIn = new byte[BUFFER_SIZE];
-            int read = 0;
-
-            while ((read = bis.read(bytesIn)) != -1) {
-                zos.write(bytesIn, 0, read);
-                bytesRead += read;
-            }
-
+            copy(file, zos);
             zos.closeEntry();
 
         }
@@ -108,16 +99,28 @@ public class ZipUtil {
     private static void addFileToZip(File file, ZipOutputStream zos) throws FileNotFoundException,
             IOException {
         zos.putNextEntry(new ZipEntry(file.getName()));
+        copy(file, zos);
+        zos.closeEntry();
+    }
 
+    /**
+     * Copies the content of a file to the current zip entry.
+     *
+     * @param file the file to be copied
+     * @param zos the current zip output stream
+     * @throws IOException if IO exception occurs
+     */
+    private static void copy(File file, ZipOutputStream zos) throws IOException {
         BufferedInputStream bis = new BufferedInputStream(new FileInputStream(file));
+        try {
+            byte[] bytesIn = new byte[BUFFER_SIZE];
+            int read = 0;
 
-        byte[] bytesIn = new byte[BUFFER_SIZE];
-        int read = 0;
-
-        while ((read = bis.read(bytesIn)) != -1) {
-            zos.write(bytesIn, 0, read);
+            while ((read = bis.read(bytesIn)) != -1) {
+                zos.write(bytesIn, 0, read);
+            }
+        } finally {
+            bis.close();
         }
-
-        zos.closeEntry();
     }
 }
@@ -0,0 +1,143 @@
+package io.swagger.generator.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.generator.model.GeneratorInput;
+import io.swagger.generator.online.Generator;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class GenerationCacheTest {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private File root;
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("generation-cache-test").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(root);
+    }
+
+    @Test(description = "the key ignores formatting and key order of the spec and options")
+    public void keyTest() throws IOException {
+        JsonNode spec = mapper.readTree("{\"swagger\": \"2.0\", \"info\": {\"title\": \"t\", \"version\": \"1\"}}");
+        JsonNode reordered = mapper.readTree("{\"info\":{\"version\":\"1\",\"title\":\"t\"},\"swagger\":\"2.0\"}");
+        Map<String, String> options = new HashMap<String, String>();
+        options.put("a", "1");
+        options.put("b", "2");
+        Map<String, String> sameOptions = new HashMap<String, String>();
+        sameOptions.put("b", "2");
+        sameOptions.put("a", "1");
+
+        String key = GenerationCache.key(spec, "java", "client", options);
+        assertEquals(GenerationCache.key(reordered, "java", "client", sameOptions), key);
+        assertNotEquals(GenerationCache.key(spec, "java", "server", options), key);
+        assertNotEquals(GenerationCache.key(spec, "ruby", "client", options), key);
+        assertNotEquals(GenerationCache.key(spec, "java", "client", Collections.singletonMap("a", "1")), key);
+        assertNotEquals(GenerationCache.key(mapper.readTree("{\"swagger\": \"2.0\"}"), "java", "client", options), key);
+    }
+
+    @Test(description = "least recently used bundles are evicted")
+    public void evictionTest() throws IOException {
+        GenerationCache cache = new GenerationCache(new File(root, "cache"), 2, 1000);
+        cache.put("a", bundle("a", 10));
+        cache.put("b", bundle("b", 10));
+        assertTrue(cache.get("a", new File(root, "out/a.zip")));
+        cache.put("c", bundle("c", 10));
+
+        assertFalse(cache.get("b", new File(root, "out/b.zip")));
+        assertTrue(cache.get("a", new File(root, "out/a2.zip")));
+        assertTrue(cache.get("c", new File(root, "out/c.zip")));
+        assertEquals(FileUtils.readFileToByteArray(new File(root, "out/c.zip")).length, 10);
+
+        GenerationCacheMetrics metrics = cache.getMetrics();
+        assertEquals(metrics.getHits(), 3);
+        assertEquals(metrics.getMisses(), 1);
+        assertEquals(metrics.getHitRatio(), 0.75);
+        assertEquals(metrics.getEntries(), 2);
+        assertEquals(metrics.getBytes(), 20);
+        assertEquals(metrics.getEvictions(), 1);
+    }
+
+    @Test(description = "a cache directory is reloaded")
+    public void persistenceTest() throws IOException {
+        File directory = new File(root, "cache");
+        new GenerationCache(directory, 10, 1000).put("a", bundle("a", 10));
+
+        GenerationCache reloaded = new GenerationCache(directory, 10, 1000);
+        assertEquals(reloaded.getMetrics().getEntries(), 1);
+        assertTrue(reloaded.get("a", new File(root, "out/a.zip")));
+    }
+
+    @Test(description = "generating the same inline spec twice runs the codegen once")
+    public void generatorTest() throws Exception {
+        GenerationCache previous = Generator.getCache();
+        GenerationCache cache = new GenerationCache(new File(root, "cache"), 10, Long.MAX_VALUE);
+        Generator.setCache(cache);
+        Set<String> tmpFolders = tmpFolders();
+        try {
+            GeneratorInput input = new GeneratorInput();
+            input.setSpec(mapper.readTree(getClass().getClassLoader().getResourceAsStream("petstore.json")));
+            File first = new File(Generator.generateClient("java", input));
+            File second = new File(Generator.generateClient("java", input));
+
+            assertEquals(cache.getMetrics().getMisses(), 1);
+            assertEquals(cache.getMetrics().getHits(), 1);
+            assertNotEquals(second.getAbsolutePath(), first.getAbsolutePath());
+            assertTrue(FileUtils.contentEquals(first, second));
+
+            FileUtils.deleteDirectory(first.getParentFile());
+            FileUtils.deleteDirectory(second.getParentFile());
+
+            GeneratorInput invalid = new GeneratorInput();
+            invalid.setSpec(mapper.readTree("{\"swagger\": \"2.0\", \"paths\": []}"));
+            try {
+                Generator.generateClient("java", invalid);
+                fail("an invalid spec must not be generated");
+            } catch (Exception e) {
+                // expected
+            }
+            // each request used one folder, none is left behind
+            assertEquals(tmpFolders(), tmpFolders);
+        } finally {
+            Generator.setCache(previous);
+        }
+    }
+
+    private static Set<String> tmpFolders() {
+        Set<String> names = new HashSet<String>();
+        String[] files = new File(System.getProperty("java.io.tmpdir")).list();
+        for (String name : files == null ? new String[0] : files) {
+            if (name.startsWith("codegen-") && name.endsWith("-tmp")) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private File bundle(String name, int size) throws IOException {
+        File file = new File(root, "bundles/" + name + ".zip");
+        FileUtils.writeByteArrayToFile(file, new byte[size]);
+        return file;
+    }
+}
@@ -0,0 +1,138 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.generator.model.Generated;
+import io.swagger.generator.model.GeneratorInput;
+import io.swagger.generator.model.JobStatus;
+import io.swagger.generator.store.MemoryArtifactStore;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class GenerationJobsTest {
+
+    @Test(description = "a job generates in the background and leaves its bundle in the artifact store")
+    public void generateTest() throws Exception {
+        MemoryArtifactStore store = new MemoryArtifactStore();
+        GenerationJobs jobs = new GenerationJobs(1, 1, 10, 60000, false, store);
+        try {
+            GeneratorInput input = new GeneratorInput();
+            input.setSpec(new ObjectMapper().readTree(getClass().getClassLoader().getResourceAsStream("petstore.json")));
+            GenerationJobs.Job job = jobs.submit("java", Generator.Type.CLIENT, input);
+            assertEquals(jobs.get(job.getId()), job);
+
+            JobStatus status = await(job);
+            assertEquals(status.getState(), JobStatus.State.DONE);
+            assertEquals(status.getLink(), "download");
+            assertNotNull(status.getQueuedMillis());
+            assertNotNull(status.getRunMillis());
+
+            Generated generated = store.take(job.getId());
+            assertNotNull(generated);
+            assertEquals(generated.getFriendlyName(), "java-client");
+            assertTrue(new File(generated.getFilename()).exists());
+            store.delete(generated);
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    @Test(description = "failures are reported in the job status")
+    public void failureTest() throws Exception {
+        GenerationJobs jobs = new GenerationJobs(1, 1, 10, 60000, false, new MemoryArtifactStore());
+        try {
+            JobStatus status = await(jobs.submit("java", Generator.Type.CLIENT, new GeneratorInput()));
+            assertEquals(status.getState(), JobStatus.State.FAILED);
+            assertEquals(status.getLink(), "status");
+            assertEquals(status.getMessage(), "No swagger specification was supplied");
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    @Test(description = "errors fail the job instead of leaving it running")
+    public void errorTest() throws Exception {
+        GenerationJobs jobs = new GenerationJobs(1, 1, 10, 60000, false, new MemoryArtifactStore()) {
+            @Override
+            protected String generate(Job job) throws Exception {
+                throw new StackOverflowError();
+            }
+        };
+        try {
+            JobStatus status = await(jobs.submit("java", Generator.Type.CLIENT, new GeneratorInput()));
+            assertEquals(status.getState(), JobStatus.State.FAILED);
+            assertEquals(status.getMessage(), "java.lang.StackOverflowError");
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    @Test(description = "finished jobs expire without further submissions")
+    public void expiryTest() throws Exception {
+        GenerationJobs jobs = new GenerationJobs(1, 1, 10, 0, false, new MemoryArtifactStore());
+        try {
+            GenerationJobs.Job job = jobs.submit("java", Generator.Type.CLIENT, new GeneratorInput());
+            await(job);
+            Thread.sleep(10);
+            assertNull(jobs.get(job.getId()));
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    @Test(description = "submissions beyond the queue size are rejected")
+    public void queueLimitTest() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        GenerationJobs jobs = new GenerationJobs(1, 1, 10, 60000, false, new MemoryArtifactStore()) {
+            @Override
+            protected String generate(Job job) throws Exception {
+                started.countDown();
+                release.await();
+                throw new IllegalStateException("not generated");
+            }
+        };
+        try {
+            GenerationJobs.Job running = jobs.submit("java", Generator.Type.CLIENT, new GeneratorInput());
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            GenerationJobs.Job queued = jobs.submit("java", Generator.Type.CLIENT, new GeneratorInput());
+            assertEquals(queued.getState(), JobStatus.State.QUEUED);
+            try {
+                jobs.submit("java", Generator.Type.CLIENT, new GeneratorInput());
+                fail("expected the job to be rejected");
+            } catch (RejectedExecutionException e) {
+                // expected
+            }
+            assertEquals(jobs.getQueued(), 1);
+            assertEquals(jobs.getRetryAfterSeconds(), 10);
+
+            release.countDown();
+            assertEquals(await(running).getState(), JobStatus.State.FAILED);
+            assertEquals(await(queued).getState(), JobStatus.State.FAILED);
+            assertNull(jobs.get("unknown"));
+        } finally {
+            jobs.shutdown();
+        }
+    }
+
+    private static JobStatus await(GenerationJobs.Job job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(2);
+        while (System.currentTimeMillis() < deadline) {
+            JobStatus status = job.toStatus("status", "download");
+            if (status.getState() == JobStatus.State.DONE || status.getState() == JobStatus.State.FAILED) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("job " + job.getId() + " did not finish");
+    }
+}
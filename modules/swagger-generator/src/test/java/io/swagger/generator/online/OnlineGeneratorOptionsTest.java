@@ -14,6 +14,7 @@ import io.swagger.generator.exception.ApiException;
 import io.swagger.generator.model.GeneratorInput;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -63,6 +64,12 @@ public class OnlineGeneratorOptionsTest {
                 {new TypeScriptNodeClientOptionsProvider()}, {new LumenServerOptionsProvider()}};
     }
 
+    @BeforeClass
+    public void disableCache() {
+        // a cached bundle would skip processing the options
+        Generator.setCache(null);
+    }
+
     @Test(dataProvider = OPTIONS_PROVIDER)
     public void generateOptionsTest(OptionsProvider provider) throws ApiException, IOException {
         final GeneratorInput input = new GeneratorInput();
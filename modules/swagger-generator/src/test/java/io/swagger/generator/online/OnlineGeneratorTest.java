@@ -0,0 +1,44 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.generator.model.GeneratorInput;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class OnlineGeneratorTest {
+
+    @Test(description = "files that a config writes to the output folder itself end up in the zip")
+    public void swaggerTest() throws Exception {
+        GeneratorInput input = new GeneratorInput();
+        input.setSpec(new ObjectMapper().readTree(getClass().getClassLoader().getResourceAsStream("petstore.json")));
+        File bundle = new File(Generator.generateClient("swagger", input));
+        File folder = bundle.getParentFile();
+        try {
+            List<String> entries = new ArrayList<String>();
+            ZipFile zip = new ZipFile(bundle);
+            try {
+                for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements(); ) {
+                    entries.add(e.nextElement().getName());
+                }
+            } finally {
+                zip.close();
+            }
+            assertTrue(entries.contains("swagger-client/swagger.json"), entries.toString());
+            assertTrue(entries.contains("swagger-client/README.md"), entries.toString());
+            // nothing is left behind but the zip
+            assertEquals(folder.list(), new String[]{bundle.getName()});
+        } finally {
+            FileUtils.deleteDirectory(folder);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package io.swagger.generator.store;
+
+import io.swagger.generator.model.Generated;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ArtifactStoreTest {
+    private File root;
+    private final AtomicLong now = new AtomicLong(1000);
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("artifact-store-test").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(root);
+    }
+
+    @Test(description = "bundles can be downloaded once")
+    public void takeOnceTest() throws IOException {
+        for (ArtifactStore store : stores(new ArtifactStoreLimits())) {
+            Generated generated = bundle("java-client", 10);
+            store.put("a", generated);
+            assertEquals(store.getMetrics().getEntries(), 1);
+            assertEquals(store.getMetrics().getBytes(), 10);
+
+            Generated taken = store.take("a");
+            assertNotNull(taken);
+            assertEquals(taken.getFriendlyName(), "java-client");
+            assertEquals(new File(taken.getFilename()).length(), 10);
+            assertNull(store.take("a"));
+            assertEquals(store.getMetrics().getEntries(), 0);
+
+            store.delete(taken);
+            assertFalse(new File(taken.getFilename()).exists());
+        }
+    }
+
+    @Test(description = "oldest bundles are evicted when the store is full")
+    public void evictOldestTest() throws IOException {
+        for (ArtifactStore store : stores(new ArtifactStoreLimits(2, 25, 60000))) {
+            Generated first = bundle("first", 10);
+            store.put("first", first);
+            now.incrementAndGet();
+            store.put("second", bundle("second", 10));
+            now.incrementAndGet();
+            store.put("third", bundle("third", 10));
+
+            assertEquals(store.getMetrics().getEntries(), 2);
+            assertEquals(store.getMetrics().getEvictions(), 1);
+            assertNull(store.take("first"));
+            assertNotNull(store.take("third"));
+
+            now.incrementAndGet();
+            store.put("large", bundle("large", 20));
+            assertNull(store.take("second"));
+            assertNotNull(store.take("large"));
+            assertEquals(store.getMetrics().getEvictions(), 2);
+        }
+    }
+
+    @Test(description = "expired bundles are removed by cleanup")
+    public void expireTest() throws IOException {
+        for (ArtifactStore store : stores(new ArtifactStoreLimits(10, 1000, 100))) {
+            Generated generated = bundle("expired", 10);
+            store.put("expired", generated);
+            now.addAndGet(50);
+            store.put("fresh", bundle("fresh", 10));
+            now.addAndGet(60);
+
+            store.cleanup();
+            assertEquals(store.getMetrics().getEntries(), 1);
+            assertEquals(store.getMetrics().getEvictions(), 1);
+            assertNull(store.take("expired"));
+            assertNotNull(store.take("fresh"));
+        }
+    }
+
+    @Test(description = "bundles taken but never deleted are removed by cleanup")
+    public void abortedDownloadTest() throws IOException {
+        ArtifactStore store = stores(new ArtifactStoreLimits(10, 1000, 100))[0];
+        store.put("aborted", bundle("aborted", 10));
+        now.addAndGet(50);
+        Generated taken = store.take("aborted");
+        assertNotNull(taken);
+
+        now.addAndGet(60);
+        store.cleanup();
+        assertTrue(new File(taken.getFilename()).exists());
+        now.addAndGet(50);
+        store.cleanup();
+        assertFalse(new File(taken.getFilename()).exists());
+    }
+
+    @Test(description = "nodes sharing a directory serve each other's bundles")
+    public void sharedDirectoryTest() throws IOException {
+        File shared = new File(root, "shared");
+        ArtifactStore node1 = new FileSystemArtifactStore(shared);
+        ArtifactStore node2 = new FileSystemArtifactStore(shared);
+
+        node1.put("a", bundle("java-client", 10));
+        assertNotNull(node2.take("a"));
+        assertNull(node1.take("a"));
+        assertNull(node2.take("../a"));
+    }
+
+    private ArtifactStore[] stores(ArtifactStoreLimits limits) {
+        now.set(1000);
+        return new ArtifactStore[]{
+                new MemoryArtifactStore(limits) {
+                    @Override
+                    protected long currentTimeMillis() {
+                        return now.get();
+                    }
+                },
+                new FileSystemArtifactStore(new File(root, "store-" + System.nanoTime()), limits) {
+                    @Override
+                    protected long currentTimeMillis() {
+                        return now.get();
+                    }
+                }
+        };
+    }
+
+    private Generated bundle(String name, int size) throws IOException {
+        File folder = Files.createTempDirectory(root.toPath(), "codegen-").toFile();
+        File file = new File(folder, name + "-bundle.zip");
+        FileUtils.writeByteArrayToFile(file, new byte[size]);
+        assertTrue(file.exists());
+
+        Generated generated = new Generated();
+        generated.setFilename(file.getAbsolutePath());
+        generated.setFriendlyName(name);
+        return generated;
+    }
+}